@@ -0,0 +1,209 @@
+package com.vectorForJ.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.collection.CollectionManager;
+import com.vectorForJ.collection.VectorCollection;
+import com.vectorForJ.constants.ApplicationConstants.Api;
+import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.constants.ApplicationConstants.Validation;
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.CollectionConfig;
+import com.vectorForJ.model.CollectionInfo;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.SearchQuery;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for named collections and the vectors inside them.
+ */
+@RestController
+@RequestMapping(Api.COLLECTIONS_PATH)
+@Validated
+@Tag(name = Api.COLLECTION_OPERATIONS_TAG, description = Api.COLLECTION_OPERATIONS_DESC)
+public class CollectionController {
+
+    private final CollectionManager collectionManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CollectionController(CollectionManager collectionManager, ObjectMapper objectMapper) {
+        this.collectionManager = collectionManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates a collection; unset settings fall back to the global index defaults.
+     */
+    @Operation(summary = "Create a collection", description = "Creates a named collection with its own dimension, similarity, engine and index settings")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Collection created"),
+        @ApiResponse(responseCode = "400", description = "Invalid name or settings, or the collection already exists")
+    })
+    @PostMapping
+    public ResponseEntity<CollectionInfo> createCollection(
+            @Parameter(description = "Collection definition")
+            @RequestBody CollectionConfig config) {
+        return ResponseEntity.ok(collectionManager.create(config));
+    }
+
+    @Operation(summary = "List collections", description = "Returns every collection with its settings and size")
+    @GetMapping
+    public ResponseEntity<List<CollectionInfo>> listCollections() {
+        return ResponseEntity.ok(collectionManager.list());
+    }
+
+    @Operation(summary = "Get a collection", description = "Returns a collection's settings and size")
+    @GetMapping("/{name}")
+    public ResponseEntity<CollectionInfo> getCollection(@PathVariable String name) {
+        return ResponseEntity.ok(collectionManager.use(name, VectorCollection::getInfo));
+    }
+
+    @Operation(summary = "Get collection index stats", description = "Returns refresh, commit and merge statistics of a collection's index")
+    @GetMapping("/{name}/stats")
+    public ResponseEntity<Map<String, Object>> getCollectionStats(@PathVariable String name) {
+        return ResponseEntity.ok(collectionManager.use(name, VectorCollection::getIndexStats));
+    }
+
+    /**
+     * Drops a collection and deletes its data.
+     */
+    @Operation(summary = "Drop a collection", description = "Closes a collection and deletes all of its vectors")
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> dropCollection(@PathVariable String name) {
+        collectionManager.drop(name);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Create a vector in a collection")
+    @PostMapping("/{name}/vectors")
+    public ResponseEntity<Vector> createVector(
+            @PathVariable String name,
+            @Valid @RequestBody Vector vector) {
+        return ResponseEntity.ok(collectionManager.use(name,
+            collection -> collection.getService().createVector(vector)));
+    }
+
+    @Operation(summary = "Create vectors in a collection in bulk", description = "Creates a batch of vectors and reports a status for each item")
+    @PostMapping("/{name}/vectors/batch")
+    public ResponseEntity<BatchResult> createVectors(
+            @PathVariable String name,
+            @RequestBody List<Vector> vectors) {
+        return ResponseEntity.ok(collectionManager.use(name,
+            collection -> collection.getService().createVectors(vectors)));
+    }
+
+    @Operation(summary = "Get a vector from a collection by ID")
+    @GetMapping("/{name}/vectors/{id}")
+    public ResponseEntity<Vector> getVector(@PathVariable String name, @PathVariable String id) {
+        return collectionManager.use(name, collection -> collection.getService().getVector(id))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "List vectors of a collection", description = "Returns a page of vectors and the cursor of the next page")
+    @GetMapping("/{name}/vectors")
+    public ResponseEntity<VectorPage> getVectors(
+            @PathVariable String name,
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of vectors to return")
+            @RequestParam(defaultValue = Defaults.DEFAULT_PAGE_SIZE) @Min(1) @Max(Defaults.MAX_PAGE_SIZE) int limit,
+            @Parameter(description = "Whether to include the embeddings")
+            @RequestParam(defaultValue = "true") boolean includeEmbeddings) {
+        return ResponseEntity.ok(collectionManager.use(name,
+            collection -> collection.getService().getVectors(cursor, limit, includeEmbeddings)));
+    }
+
+    @Operation(summary = "Export all vectors of a collection", description = "Streams every vector as newline-delimited JSON")
+    @GetMapping(value = "/{name}/vectors" + Api.EXPORT_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportVectors(
+            @PathVariable String name,
+            @Parameter(description = "Whether to include the embeddings")
+            @RequestParam(defaultValue = "true") boolean includeEmbeddings) {
+        // Answers 404 before the response starts; the stream holds the collection while it writes
+        collectionManager.get(name);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> {
+                VectorCollection collection = collectionManager.acquire(name);
+                try {
+                    NdjsonVectorExport.write(collection.getService(), objectMapper, includeEmbeddings, out);
+                } finally {
+                    collection.release();
+                }
+            });
+    }
+
+    @Operation(summary = "Delete a vector from a collection")
+    @DeleteMapping("/{name}/vectors/{id}")
+    public ResponseEntity<Void> deleteVector(@PathVariable String name, @PathVariable String id) {
+        collectionManager.use(name, collection -> {
+            collection.getService().deleteVector(id);
+            return null;
+        });
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Finds the most similar vectors within a collection.
+     */
+    @Operation(summary = "Find similar vectors in a collection", description = "Finds k most similar vectors to the query vector, with their similarity scores")
+    @PostMapping("/{name}/vectors/search")
+    public ResponseEntity<List<ScoredVector>> findSimilarVectors(
+            @PathVariable String name,
+            @Parameter(description = "Query vector")
+            @RequestBody double[] queryVector,
+            @Parameter(description = "Number of similar vectors to return")
+            @RequestParam(defaultValue = Defaults.DEFAULT_K_VALUE) @Min(1) @Max(Defaults.MAX_K) int k,
+            @Parameter(description = "Candidates to collect from the HNSW graph before trimming to k (defaults to k)")
+            @RequestParam(required = false) @Min(1) @Max(Defaults.MAX_K) Integer numCandidates,
+            @Parameter(description = "Metadata filter, e.g. source = \"arxiv\" AND year >= 2020")
+            @RequestParam(required = false) String filter) {
+        return ResponseEntity.ok(collectionManager.use(name, collection -> collection.getService()
+            .findSimilarVectors(queryVector, new SearchOptions(k, numCandidates, filter))));
+    }
+
+    /**
+     * Runs many searches within a collection against the same point-in-time view of its index.
+     */
+    @Operation(summary = "Find similar vectors in a collection for many queries", description = "Runs each query with its own k, candidates and filter, concurrently, and returns the results in query order")
+    @PostMapping("/{name}/vectors" + Api.BATCH_SEARCH_PATH)
+    public ResponseEntity<List<List<ScoredVector>>> findSimilarVectorsBatch(
+            @PathVariable String name,
+            @Parameter(description = "Queries, each with a vector and optional k, numCandidates and filter")
+            @Valid @RequestBody @Size(max = Defaults.MAX_BATCH_QUERIES, message = Validation.TOO_MANY_QUERIES)
+            List<@NotNull(message = Validation.QUERY_NOT_NULL) SearchQuery> queries,
+            @Parameter(description = "Number of similar vectors for queries without their own k")
+            @RequestParam(defaultValue = Defaults.DEFAULT_K_VALUE) @Min(1) @Max(Defaults.MAX_K) int k) {
+        return ResponseEntity.ok(collectionManager.use(name, collection -> collection.getService().findSimilarVectors(
+            queries.stream().map(SearchQuery::getVector).toList(),
+            queries.stream().map(query -> query.toOptions(k)).toList())));
+    }
+
+    @Operation(summary = "Get the vector count of a collection")
+    @GetMapping("/{name}/vectors/count")
+    public ResponseEntity<Integer> getVectorCount(@PathVariable String name) {
+        return ResponseEntity.ok(collectionManager.use(name, collection -> collection.getService().getVectorCount()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.vectorForJ.api;
+
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.Vector;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary wire format for embeddings, an alternative to JSON number arrays for clients that send or receive
+ * many high-dimensional vectors.
+ *
+ * <p>All values are little-endian. A message is a 16-byte header followed by {@code count} records:
+ * <pre>
+ * header:  int32 magic "VF32" | uint8 kind | 3 bytes reserved | int32 dimension | int32 count
+ * record:  int16 idLength (-1 for no id) | idLength bytes UTF-8 id | [float32 score, kind SCORED only]
+ *          | dimension x float32 embedding
+ * </pre>
+ * Metadata and attributes are not carried; use JSON for vectors that have them.
+ */
+public final class Float32VectorCodec {
+    /** "VF32" read as a little-endian int */
+    public static final int MAGIC = 0x32334656;
+    /** Records carry an id and an embedding */
+    public static final byte KIND_VECTORS = 1;
+    /** Records carry an id, a similarity score and an embedding */
+    public static final byte KIND_SCORED = 2;
+
+    private static final int HEADER_BYTES = 16;
+
+    private Float32VectorCodec() {}
+
+    public static byte[] encodeVectors(List<Vector> vectors) {
+        return encode(KIND_VECTORS, vectors, null);
+    }
+
+    public static byte[] encodeScored(List<ScoredVector> results) {
+        List<Vector> vectors = new ArrayList<>(results.size());
+        double[] scores = new double[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            vectors.add(results.get(i).getVector());
+            scores[i] = results.get(i).getScore();
+        }
+        return encode(KIND_SCORED, vectors, scores);
+    }
+
+    /**
+     * Encodes a search query as a single record without an id.
+     */
+    public static byte[] encodeQuery(double[] query) {
+        return encodeVectors(List.of(new Vector(null, query, null, query.length)));
+    }
+
+    public static List<Vector> decodeVectors(byte[] body) {
+        List<Vector> vectors = new ArrayList<>();
+        decode(body, KIND_VECTORS, (id, score, embedding) -> vectors.add(new Vector(id, embedding, null, embedding.length)));
+        return vectors;
+    }
+
+    public static List<ScoredVector> decodeScored(byte[] body) {
+        List<ScoredVector> results = new ArrayList<>();
+        decode(body, KIND_SCORED, (id, score, embedding) ->
+            results.add(new ScoredVector(new Vector(id, embedding, null, embedding.length), score)));
+        return results;
+    }
+
+    /**
+     * Decodes a message holding exactly one record, such as a single vector or a search query.
+     */
+    public static Vector decodeSingle(byte[] body) {
+        List<Vector> vectors = decodeVectors(body);
+        if (vectors.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one vector but the message holds " + vectors.size());
+        }
+        return vectors.get(0);
+    }
+
+    private static byte[] encode(byte kind, List<Vector> vectors, double[] scores) {
+        int dimension = vectors.isEmpty() ? 0 : vectors.get(0).getEmbedding().length;
+        byte[][] ids = new byte[vectors.size()][];
+        int size = HEADER_BYTES;
+        for (int i = 0; i < vectors.size(); i++) {
+            Vector vector = vectors.get(i);
+            if (vector.getEmbedding().length != dimension) {
+                throw new IllegalArgumentException("All vectors in a binary message must have dimension " + dimension);
+            }
+            ids[i] = vector.getId() == null ? null : vector.getId().getBytes(StandardCharsets.UTF_8);
+            if (ids[i] != null && ids[i].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Vector id is too long for the binary format");
+            }
+            size += Short.BYTES + (ids[i] == null ? 0 : ids[i].length)
+                + (scores == null ? 0 : Float.BYTES) + dimension * Float.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).put(kind).put((byte) 0).putShort((short) 0).putInt(dimension).putInt(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            if (ids[i] == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) ids[i].length).put(ids[i]);
+            }
+            if (scores != null) {
+                buffer.putFloat((float) scores[i]);
+            }
+            for (double value : vectors.get(i).getEmbedding()) {
+                buffer.putFloat((float) value);
+            }
+        }
+        return buffer.array();
+    }
+
+    private interface RecordConsumer {
+        void accept(String id, double score, double[] embedding);
+    }
+
+    private static void decode(byte[] body, byte expectedKind, RecordConsumer consumer) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a float32 vector message");
+        }
+        byte kind = buffer.get();
+        if (kind != expectedKind) {
+            throw new IllegalArgumentException("Unexpected float32 message kind " + kind);
+        }
+        buffer.position(buffer.position() + 3);
+        int dimension = buffer.getInt();
+        int count = buffer.getInt();
+        long fixedRecordBytes = Short.BYTES + (kind == KIND_SCORED ? Float.BYTES : 0) + (long) dimension * Float.BYTES;
+        // Reject counts the body cannot hold before allocating anything for them
+        if (dimension < 0 || count < 0 || count * fixedRecordBytes > buffer.remaining()) {
+            throw new IllegalArgumentException("Float32 message is truncated");
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                String id = null;
+                short idLength = buffer.getShort();
+                if (idLength >= 0) {
+                    if (idLength > buffer.remaining() - fixedRecordBytes + Short.BYTES) {
+                        throw new IllegalArgumentException("Float32 message is truncated");
+                    }
+                    id = new String(body, buffer.position(), idLength, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + idLength);
+                }
+                double score = kind == KIND_SCORED ? buffer.getFloat() : 0.0;
+                double[] embedding = new double[dimension];
+                for (int d = 0; d < dimension; d++) {
+                    embedding[d] = buffer.getFloat();
+                }
+                consumer.accept(id, score, embedding);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Float32 message is truncated");
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected trailing bytes after float32 message");
+        }
+    }
+}
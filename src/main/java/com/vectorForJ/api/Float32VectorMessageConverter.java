@@ -0,0 +1,91 @@
+package com.vectorForJ.api;
+
+import com.vectorForJ.constants.ApplicationConstants.Api;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.Vector;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@link Float32VectorCodec} bodies for the vector endpoints: a {@link Vector} or
+ * {@code List<Vector>} to ingest, a {@code double[]} search query, and {@link Vector} or
+ * {@code List<ScoredVector>} responses.
+ */
+public class Float32VectorMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType FLOAT32_VECTORS = MediaType.valueOf(Api.FLOAT32_VECTORS_VALUE);
+
+    public Float32VectorMessageConverter() {
+        super(FLOAT32_VECTORS);
+    }
+
+    /**
+     * Coarse check used when listing producible media types; list element types are checked by the
+     * generic {@code canRead} and {@code canWrite}.
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Vector.class || clazz == double[].class || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> clazz = resolved.toClass();
+        return (clazz == Vector.class || clazz == double[].class || isListOf(resolved, Vector.class)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        return (resolved.toClass() == Vector.class || isListOf(resolved, ScoredVector.class)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(ResolvableType.forType(type).toClass(), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            if (clazz == double[].class) {
+                return Float32VectorCodec.decodeSingle(body).getEmbedding();
+            }
+            if (clazz == Vector.class) {
+                return Float32VectorCodec.decodeSingle(body);
+            }
+            return Float32VectorCodec.decodeVectors(body);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body;
+        try {
+            body = value instanceof Vector vector
+                ? Float32VectorCodec.encodeVectors(List.of(vector))
+                : Float32VectorCodec.encodeScored((List<ScoredVector>) value);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException(e.getMessage(), e);
+        }
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    private static boolean isListOf(ResolvableType type, Class<?> elementType) {
+        return List.class.isAssignableFrom(type.toClass()) && type.getGeneric(0).toClass() == elementType;
+    }
+}
@@ -5,6 +5,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,6 +22,9 @@ import com.vectorForJ.constants.ApplicationConstants.Api;
 import com.vectorForJ.constants.ApplicationConstants.Messages;
 import com.vectorForJ.constants.ApplicationConstants.ResponseFields;
 import com.vectorForJ.constants.ApplicationConstants.MemoryStats;
+import com.vectorForJ.collection.CollectionManager;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.service.DocumentProcessingService;
 
 /**
  * Controller for health check and heartbeat endpoints.
@@ -29,6 +35,18 @@ import com.vectorForJ.constants.ApplicationConstants.MemoryStats;
 public class HealthController {
     private static final Logger logger = LoggerFactory.getLogger(HealthController.class);
     private final LocalDateTime startTime = LocalDateTime.now();
+    /** Absent for the exact engine, which keeps no index */
+    private final ObjectProvider<VectorIndexManager> indexManager;
+    private final CollectionManager collectionManager;
+    private final DocumentProcessingService documentProcessingService;
+
+    @Autowired
+    public HealthController(ObjectProvider<VectorIndexManager> indexManager, CollectionManager collectionManager,
+                            DocumentProcessingService documentProcessingService) {
+        this.indexManager = indexManager;
+        this.collectionManager = collectionManager;
+        this.documentProcessingService = documentProcessingService;
+    }
 
     /**
      * Simple health check endpoint.
@@ -47,12 +65,35 @@ public class HealthController {
         return ResponseEntity.ok(Messages.SERVER_RUNNING);
     }
 
+    /**
+     * Readiness check; succeeds only once the embedding models are loaded.
+     */
+    @Operation(
+        summary = "Readiness check",
+        description = "Returns 200 once the embedding models are loaded and 503 while they are loading"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Server is ready to serve requests"
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Embedding models are still loading or failed to load"
+    )
+    @GetMapping(Api.READY_PATH)
+    public ResponseEntity<String> readiness() {
+        if (!documentProcessingService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Messages.MODELS_LOADING);
+        }
+        return ResponseEntity.ok(Messages.SERVER_READY);
+    }
+
     /**
      * Detailed heartbeat endpoint with server stats.
      */
     @Operation(
         summary = "Detailed health check",
-        description = "Returns detailed system statistics including memory usage and uptime"
+        description = "Returns detailed system statistics including memory usage, uptime, index refresh and embedding cache stats"
     )
     @ApiResponse(
         responseCode = "200",
@@ -64,11 +105,15 @@ public class HealthController {
         
         Map<String, Object> status = new HashMap<>();
         status.put(ResponseFields.STATUS, Messages.SERVER_STATUS_UP);
+        status.put(ResponseFields.READY, documentProcessingService.isReady());
         status.put(ResponseFields.TIMESTAMP, LocalDateTime.now());
         status.put(ResponseFields.START_TIME, startTime);
         status.put(ResponseFields.UPTIME, String.format("%s seconds", 
             Duration.between(startTime, LocalDateTime.now()).getSeconds()));
         status.put(ResponseFields.MEMORY, getMemoryStats());
+        indexManager.ifAvailable(manager -> status.put(ResponseFields.INDEX, manager.getStats()));
+        status.put(ResponseFields.COLLECTIONS, collectionManager.list().size());
+        status.put(ResponseFields.EMBEDDING, documentProcessingService.getStats());
         
         return ResponseEntity.ok(status);
     }
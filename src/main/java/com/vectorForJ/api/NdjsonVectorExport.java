@@ -0,0 +1,47 @@
+package com.vectorForJ.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.service.VectorService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams every vector of a service as newline-delimited JSON, one page at a time, so memory use does not
+ * grow with the collection. Vectors added or removed during the export may or may not be included.
+ */
+final class NdjsonVectorExport {
+    private NdjsonVectorExport() {}
+
+    /**
+     * Writes the export and returns the number of vectors written. The stream is flushed after each page and left open.
+     */
+    static long write(VectorService vectorService, ObjectMapper objectMapper, boolean includeEmbeddings,
+                      OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly instead of by the default space between root values
+            generator.setRootValueSeparator(null);
+            String cursor = null;
+            do {
+                VectorPage page = vectorService.getVectors(cursor, Defaults.EXPORT_PAGE_SIZE, includeEmbeddings);
+                for (Vector vector : page.getVectors()) {
+                    writer.writeValue(generator, vector);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                written += page.getVectors().size();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        }
+        return written;
+    }
+}
@@ -1,9 +1,16 @@
 package com.vectorForJ.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vectorForJ.constants.ApplicationConstants.Api;
 import com.vectorForJ.constants.ApplicationConstants.File;
 import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.constants.ApplicationConstants.Validation;
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.SearchQuery;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
 import com.vectorForJ.service.DocumentProcessingService;
 import com.vectorForJ.service.VectorService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,13 +21,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -35,11 +46,14 @@ public class VectorController {
 
     private final VectorService vectorService;
     private final DocumentProcessingService documentProcessingService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public VectorController(VectorService vectorService, DocumentProcessingService documentProcessingService) {
+    public VectorController(VectorService vectorService, DocumentProcessingService documentProcessingService,
+                            ObjectMapper objectMapper) {
         this.vectorService = vectorService;
         this.documentProcessingService = documentProcessingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -82,6 +96,17 @@ public class VectorController {
         return ResponseEntity.ok(vectorService.createVector(vector));
     }
 
+    /**
+     * Creates many vectors in one request, with a single index commit.
+     */
+    @Operation(summary = "Create vectors in bulk", description = "Creates a batch of vectors and reports a status for each item")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createVectors(
+            @Parameter(description = "Vectors to create")
+            @RequestBody List<Vector> vectors) {
+        return ResponseEntity.ok(vectorService.createVectors(vectors));
+    }
+
     /**
      * Retrieves a vector by its ID.
      */
@@ -100,12 +125,31 @@ public class VectorController {
     }
 
     /**
-     * Retrieves all vectors in the database.
+     * Retrieves one page of vectors; pass the returned {@code nextCursor} to get the next one.
      */
-    @Operation(summary = "Get all vectors", description = "Retrieves all vectors from the database")
+    @Operation(summary = "List vectors", description = "Returns a page of vectors and the cursor of the next page")
     @GetMapping
-    public ResponseEntity<List<Vector>> getAllVectors() {
-        return ResponseEntity.ok(vectorService.getAllVectors());
+    public ResponseEntity<VectorPage> getVectors(
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of vectors to return")
+            @RequestParam(defaultValue = Defaults.DEFAULT_PAGE_SIZE) @Min(1) @Max(Defaults.MAX_PAGE_SIZE) int limit,
+            @Parameter(description = "Whether to include the embeddings")
+            @RequestParam(defaultValue = "true") boolean includeEmbeddings) {
+        return ResponseEntity.ok(vectorService.getVectors(cursor, limit, includeEmbeddings));
+    }
+
+    /**
+     * Streams all vectors as newline-delimited JSON with constant server memory.
+     */
+    @Operation(summary = "Export all vectors", description = "Streams every vector as newline-delimited JSON")
+    @GetMapping(value = Api.EXPORT_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportVectors(
+            @Parameter(description = "Whether to include the embeddings")
+            @RequestParam(defaultValue = "true") boolean includeEmbeddings) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> NdjsonVectorExport.write(vectorService, objectMapper, includeEmbeddings, out));
     }
 
     /**
@@ -123,15 +167,38 @@ public class VectorController {
     /**
      * Finds similar vectors using cosine similarity.
      * @param k Number of similar vectors to return
+     * @param numCandidates HNSW candidates to collect before trimming to k; higher trades latency for recall
+     * @param filter Metadata filter expression, e.g. {@code source = "arxiv" AND year >= 2020}
      */
-    @Operation(summary = "Find similar vectors", description = "Finds k most similar vectors to the query vector")
+    @Operation(summary = "Find similar vectors", description = "Finds k most similar vectors to the query vector, with their similarity scores")
     @PostMapping("/search")
-    public ResponseEntity<List<Vector>> findSimilarVectors(
+    public ResponseEntity<List<ScoredVector>> findSimilarVectors(
             @Parameter(description = "Query vector")
             @RequestBody double[] queryVector,
             @Parameter(description = "Number of similar vectors to return")
-            @RequestParam(defaultValue = Defaults.DEFAULT_K_VALUE) @Min(1) int k) {
-        return ResponseEntity.ok(vectorService.findSimilarVectors(queryVector, k));
+            @RequestParam(defaultValue = Defaults.DEFAULT_K_VALUE) @Min(1) @Max(Defaults.MAX_K) int k,
+            @Parameter(description = "Candidates to collect from the HNSW graph before trimming to k (defaults to k)")
+            @RequestParam(required = false) @Min(1) @Max(Defaults.MAX_K) Integer numCandidates,
+            @Parameter(description = "Metadata filter, e.g. source = \"arxiv\" AND year >= 2020")
+            @RequestParam(required = false) String filter) {
+        return ResponseEntity.ok(vectorService.findSimilarVectors(queryVector, new SearchOptions(k, numCandidates, filter)));
+    }
+
+    /**
+     * Runs many searches in one request against the same point-in-time view of the index.
+     * @param k Number of results for queries that do not set their own
+     */
+    @Operation(summary = "Find similar vectors for many queries", description = "Runs each query with its own k, candidates and filter, concurrently, and returns the results in query order")
+    @PostMapping(Api.BATCH_SEARCH_PATH)
+    public ResponseEntity<List<List<ScoredVector>>> findSimilarVectorsBatch(
+            @Parameter(description = "Queries, each with a vector and optional k, numCandidates and filter")
+            @Valid @RequestBody @Size(max = Defaults.MAX_BATCH_QUERIES, message = Validation.TOO_MANY_QUERIES)
+            List<@NotNull(message = Validation.QUERY_NOT_NULL) SearchQuery> queries,
+            @Parameter(description = "Number of similar vectors for queries without their own k")
+            @RequestParam(defaultValue = Defaults.DEFAULT_K_VALUE) @Min(1) @Max(Defaults.MAX_K) int k) {
+        return ResponseEntity.ok(vectorService.findSimilarVectors(
+            queries.stream().map(SearchQuery::getVector).toList(),
+            queries.stream().map(query -> query.toOptions(k)).toList()));
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.vectorForJ.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU map whose entries are tagged with the generation of the source they were computed from, such as
+ * an index write generation or a model load.
+ *
+ * <p>An entry is only returned while it is looked up under its own generation; otherwise it is dropped, so a
+ * change of source never has to flush the cache. Callers state what each entry costs, and the least recently used
+ * entries are evicted while the cache holds more entries or bytes than allowed. Counts hits, evictions and stale
+ * drops; what counts as a miss is left to the caller. Thread-safe.
+ *
+ * @param <K> key type, with value equality
+ * @param <V> cached value, never modified once cached
+ */
+public final class GenerationalLruCache<K, V> {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleDrops = new LongAdder();
+
+    /**
+     * @param settingsPrefix property prefix of the limits, named when they are not positive
+     */
+    public GenerationalLruCache(int maxEntries, long maxBytes, String settingsPrefix) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalStateException(settingsPrefix + " limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the value cached for {@code key} at {@code generation}, or null. An entry of another generation
+     * is dropped.
+     */
+    public synchronized V get(K key, long generation) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation == generation) {
+            hits.increment();
+            return entry.value;
+        }
+        entries.remove(key);
+        bytes -= entry.bytes;
+        staleDrops.increment();
+        return null;
+    }
+
+    /**
+     * Caches {@code value} as computed at {@code generation}, unless an entry of a later generation is already
+     * cached, and evicts the least recently used entries beyond the limits.
+     */
+    public synchronized void put(K key, long generation, V value, long valueBytes) {
+        Entry<V> previous = entries.get(key);
+        if (previous != null) {
+            if (previous.generation > generation) {
+                return;
+            }
+            bytes -= previous.bytes;
+        }
+        entries.put(key, new Entry<>(generation, value, valueBytes));
+        bytes += valueBytes;
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getStaleDrops() {
+        return staleDrops.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    private static final class Entry<V> {
+        private final long generation;
+        private final V value;
+        private final long bytes;
+
+        Entry(long generation, V value, long bytes) {
+            this.generation = generation;
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.vectorForJ.collection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.exception.CollectionNotFoundException;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.CollectionConfig;
+import com.vectorForJ.model.CollectionInfo;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.ExactVectorStorage;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+import com.vectorForJ.storage.OffHeapVectorStorage;
+import com.vectorForJ.storage.VectorStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Creates, opens and drops named collections at runtime.
+ *
+ * <p>Each collection lives under {@code vector.collections.path/<name>}: its resolved configuration in
+ * {@code collection.json} and its Lucene index in {@code index}. Collections with an on-disk index are reopened
+ * on start; in-memory and exact-engine collections only last until shutdown.
+ */
+@Component
+public class CollectionManager {
+    private static final Logger logger = LoggerFactory.getLogger(CollectionManager.class);
+    private static final String CONFIG_FILE = "collection.json";
+    private static final String INDEX_DIRECTORY = "index";
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final IndexSettings defaults;
+    private final DedupeSettings dedupeDefaults;
+    private final ObjectMapper objectMapper;
+    private final Map<String, VectorCollection> collections = new ConcurrentHashMap<>();
+    /** Names whose drop is still draining, closing or deleting; guarded by this */
+    private final Set<String> dropping = new HashSet<>();
+
+    @Value("${vector.collections.path:data/collections}")
+    private String basePath;
+
+    @Value("${vector.similarity.threshold:0.95}")
+    private double similarityThreshold;
+
+    @Autowired
+    public CollectionManager(IndexSettings defaults, DedupeSettings dedupeDefaults, ObjectMapper objectMapper) {
+        this.defaults = defaults;
+        this.dedupeDefaults = dedupeDefaults;
+        this.objectMapper = objectMapper;
+    }
+
+    public CollectionManager(IndexSettings defaults, DedupeSettings dedupeDefaults, ObjectMapper objectMapper,
+                             String basePath, double similarityThreshold) {
+        this(defaults, dedupeDefaults, objectMapper);
+        this.basePath = basePath;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Reopens every persisted collection found under the base path.
+     */
+    @PostConstruct
+    public void load() {
+        Path root = Paths.get(basePath);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path configFile : entries.map(dir -> dir.resolve(CONFIG_FILE)).filter(Files::isRegularFile).toList()) {
+                CollectionConfig config = objectMapper.readValue(configFile.toFile(), CollectionConfig.class);
+                collections.put(config.getName(), open(config));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load collections from {}", root, e);
+            throw new RuntimeException("Failed to load collections", e);
+        }
+        logger.info("Loaded {} collection(s) from {}", collections.size(), root);
+    }
+
+    /**
+     * Creates and opens a collection, filling unset settings from the global defaults.
+     */
+    public synchronized CollectionInfo create(CollectionConfig request) {
+        if (request.getName() == null || !NAME_PATTERN.matcher(request.getName()).matches()) {
+            throw new IllegalArgumentException("Collection name must be 1-64 letters, digits, '-' or '_'");
+        }
+        if (request.getDimension() <= 0) {
+            throw new IllegalArgumentException("Collection dimension must be positive");
+        }
+        if (collections.containsKey(request.getName())) {
+            throw new IllegalArgumentException("Collection already exists: " + request.getName());
+        }
+        if (dropping.contains(request.getName())) {
+            throw new IllegalArgumentException("Collection is still being dropped: " + request.getName());
+        }
+        CollectionConfig config = resolve(request);
+        if (config.getEngine() != CollectionConfig.Engine.EXACT) {
+            if (config.getDimension() > VectorIndexManager.MAX_DIMENSIONS) {
+                throw new IllegalArgumentException(
+                    "Collection dimension must be at most " + VectorIndexManager.MAX_DIMENSIONS);
+            }
+            if (config.getShards() <= 0) {
+                throw new IllegalArgumentException("Collection shards must be positive");
+            }
+        }
+        dedupeSettings(config).checkSupports(config.getSimilarity());
+        VectorCollection collection = open(config);
+        if (isPersistent(config)) {
+            try {
+                objectMapper.writeValue(collectionPath(config.getName()).resolve(CONFIG_FILE).toFile(), config);
+            } catch (IOException e) {
+                collection.close();
+                logger.error("Failed to persist collection {}", config.getName(), e);
+                throw new RuntimeException("Failed to persist collection " + config.getName(), e);
+            }
+        }
+        collections.put(config.getName(), collection);
+        logger.info("Created collection {}", config);
+        return collection.getInfo();
+    }
+
+    /**
+     * Runs an operation against a collection. A drop that starts meanwhile waits for the operation to return
+     * before it closes the collection.
+     */
+    public <T> T use(String name, Function<VectorCollection, T> operation) {
+        VectorCollection collection = acquire(name);
+        try {
+            return operation.apply(collection);
+        } finally {
+            collection.release();
+        }
+    }
+
+    /**
+     * Holds a collection open for use that outlives one call, such as a streamed response. The caller must
+     * {@link VectorCollection#release() release} it, since a drop waits until it does.
+     */
+    public VectorCollection acquire(String name) {
+        VectorCollection collection = collections.get(name);
+        if (collection == null || !collection.acquire()) {
+            throw new CollectionNotFoundException(name);
+        }
+        return collection;
+    }
+
+    public VectorCollection get(String name) {
+        VectorCollection collection = collections.get(name);
+        if (collection == null) {
+            throw new CollectionNotFoundException(name);
+        }
+        return collection;
+    }
+
+    public List<CollectionInfo> list() {
+        return collections.values().stream()
+            .map(VectorCollection::getInfo)
+            .sorted(Comparator.comparing(info -> info.getConfig().getName()))
+            .toList();
+    }
+
+    /**
+     * Closes a collection and deletes everything it stored on disk. The collection is unlisted at once, so new
+     * calls fail as not found, but it is only closed after the calls already using it return. Other collections
+     * can be created and dropped meanwhile; the name itself cannot be reused until the drop has finished.
+     */
+    public void drop(String name) {
+        VectorCollection collection;
+        synchronized (this) {
+            collection = collections.remove(name);
+            if (collection == null) {
+                throw new CollectionNotFoundException(name);
+            }
+            dropping.add(name);
+        }
+        try {
+            try {
+                collection.awaitDrained();
+            } catch (InterruptedException e) {
+                // Closing under the remaining calls beats leaving the index open until shutdown
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for calls on collection {}; closing it anyway", name);
+            }
+            collection.close();
+            try {
+                FileSystemUtils.deleteRecursively(collectionPath(name));
+            } catch (IOException e) {
+                logger.error("Failed to delete files of collection {}", name, e);
+                throw new RuntimeException("Failed to delete files of collection " + name, e);
+            }
+        } finally {
+            synchronized (this) {
+                dropping.remove(name);
+            }
+        }
+        logger.info("Dropped collection {}", name);
+    }
+
+    private CollectionConfig resolve(CollectionConfig request) {
+        CollectionConfig config = new CollectionConfig(request.getName(), request.getDimension());
+        config.setSimilarity(request.getSimilarity() != null ? request.getSimilarity() : defaults.getSimilarity());
+        config.setEngine(request.getEngine() != null ? request.getEngine() : CollectionConfig.Engine.LUCENE);
+        config.setDedupe(request.getDedupe() != null ? request.getDedupe() : dedupeDefaults.getMode());
+        if (config.getEngine() != CollectionConfig.Engine.EXACT) {
+            config.setDirectoryType(request.getDirectoryType() != null
+                ? request.getDirectoryType() : defaults.getDirectoryType());
+            config.setShards(request.getShards() != null ? request.getShards() : defaults.getShards());
+            config.setDurability(request.getDurability() != null
+                ? request.getDurability() : defaults.getCommit().getDurability());
+        }
+        return config;
+    }
+
+    private VectorCollection open(CollectionConfig config) {
+        VectorIndexManager indexManager = null;
+        VectorStorage storage;
+        if (config.getEngine() == CollectionConfig.Engine.EXACT) {
+            storage = new ExactVectorStorage(config.getSimilarity());
+        } else {
+            IndexSettings settings = defaults.copy();
+            settings.setSimilarity(config.getSimilarity());
+            settings.setDirectoryType(config.getDirectoryType());
+            settings.setShards(config.getShards());
+            settings.getCommit().setDurability(config.getDurability());
+            settings.setPath(collectionPath(config.getName()).resolve(INDEX_DIRECTORY).toString());
+            indexManager = new VectorIndexManager(settings);
+            indexManager.init();
+            try {
+                if (config.getEngine() == CollectionConfig.Engine.OFF_HEAP) {
+                    OffHeapVectorStorage offHeapStorage = new OffHeapVectorStorage(indexManager);
+                    offHeapStorage.load();
+                    storage = offHeapStorage;
+                } else {
+                    InMemoryVectorStorage indexedStorage = new InMemoryVectorStorage(indexManager);
+                    indexedStorage.load();
+                    storage = indexedStorage;
+                }
+            } catch (RuntimeException e) {
+                // Releases the index write lock, so the collection can be opened again
+                indexManager.cleanup();
+                throw e;
+            }
+        }
+        return new VectorCollection(config, indexManager, storage,
+            new VectorServiceImpl(storage, config.getDimension(), similarityThreshold, dedupeSettings(config)));
+    }
+
+    private DedupeSettings dedupeSettings(CollectionConfig config) {
+        DedupeSettings settings = dedupeDefaults.copy();
+        // Collections persisted before the setting existed keep the global mode
+        if (config.getDedupe() != null) {
+            settings.setMode(config.getDedupe());
+        }
+        return settings;
+    }
+
+    private static boolean isPersistent(CollectionConfig config) {
+        return config.getEngine() != CollectionConfig.Engine.EXACT
+            && config.getDirectoryType() != IndexSettings.DirectoryType.MEMORY;
+    }
+
+    private Path collectionPath(String name) {
+        return Paths.get(basePath, name);
+    }
+
+    @PreDestroy
+    public void close() {
+        collections.values().forEach(VectorCollection::close);
+        collections.clear();
+    }
+}
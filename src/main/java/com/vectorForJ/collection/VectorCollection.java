@@ -0,0 +1,91 @@
+package com.vectorForJ.collection;
+
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.CollectionConfig;
+import com.vectorForJ.model.CollectionInfo;
+import com.vectorForJ.service.VectorService;
+import com.vectorForJ.storage.VectorStorage;
+
+import java.util.Map;
+
+/**
+ * A named collection with its own index, storage and service. Nothing is shared with other collections,
+ * so writes and commits in one never wait on another.
+ *
+ * <p>Callers that may still be using the collection when it is dropped hold it between {@link #acquire()} and
+ * {@link #release()}; a dropped collection is only closed once all of them have released it.
+ */
+public class VectorCollection {
+    private final CollectionConfig config;
+    private final VectorIndexManager indexManager;
+    private final VectorStorage storage;
+    private final VectorService service;
+    /** Calls holding the collection; guarded by this */
+    private int users;
+    /** Set once the collection is dropped, after which it can no longer be acquired; guarded by this */
+    private boolean dropped;
+
+    VectorCollection(CollectionConfig config, VectorIndexManager indexManager, VectorStorage storage,
+                     VectorService service) {
+        this.config = config;
+        this.indexManager = indexManager;
+        this.storage = storage;
+        this.service = service;
+    }
+
+    public CollectionConfig getConfig() {
+        return config;
+    }
+
+    public VectorService getService() {
+        return service;
+    }
+
+    public CollectionInfo getInfo() {
+        return new CollectionInfo(config, storage.size());
+    }
+
+    /**
+     * Returns index statistics, or an empty map for collections without a Lucene index.
+     */
+    public Map<String, Object> getIndexStats() {
+        return indexManager == null ? Map.of() : indexManager.getStats();
+    }
+
+    /**
+     * Holds the collection open for a call, or returns false when it has been dropped.
+     */
+    synchronized boolean acquire() {
+        if (dropped) {
+            return false;
+        }
+        users++;
+        return true;
+    }
+
+    /**
+     * Ends a call started with {@link CollectionManager#acquire(String)}.
+     */
+    public synchronized void release() {
+        if (--users == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Stops new calls from acquiring the collection and waits until the running ones have released it.
+     */
+    synchronized void awaitDrained() throws InterruptedException {
+        dropped = true;
+        while (users > 0) {
+            wait();
+        }
+    }
+
+    void close() {
+        storage.close();
+        if (indexManager != null) {
+            indexManager.cleanup();
+        }
+    }
+}
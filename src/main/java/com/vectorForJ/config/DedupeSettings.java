@@ -0,0 +1,69 @@
+package com.vectorForJ.config;
+
+import lombok.Data;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the near-duplicate check run on every insert, bound from {@code vector.dedupe.*} properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "vector.dedupe")
+public class DedupeSettings {
+
+    /**
+     * How an insert is checked against {@code vector.similarity.threshold}.
+     */
+    public enum Mode {
+        /** Nearest-neighbor query against the storage; exact for the exact engine, approximate for HNSW */
+        KNN,
+        /** Random-hyperplane LSH candidates verified exactly; needs cosine or dot-product similarity */
+        LSH,
+        /** No duplicate check */
+        NONE
+    }
+
+    /** Duplicate check used on insert */
+    private Mode mode = Mode.KNN;
+
+    /**
+     * HNSW candidates the KNN check collects before keeping the nearest (ef). With a single candidate the
+     * greedy walk stops at a local optimum and misses most near-duplicates in a large graph.
+     */
+    private int candidates = 100;
+
+    /**
+     * Signature bands. A near-duplicate is found if it shares any band with the insert,
+     * so more bands lower the false-negative rate at the cost of more candidates.
+     */
+    private int bands = 16;
+
+    /**
+     * Hyperplanes per band, at most 16. More bits make buckets more selective but make near-duplicates
+     * less likely to share a band. Each band takes {@code 4 * 2^bitsPerBand} bytes of bucket heads.
+     */
+    private int bitsPerBand = 12;
+
+    /** Seed of the random hyperplanes */
+    private long seed = 42;
+
+    /**
+     * Fails fast when the mode cannot honour the similarity; LSH signatures only preserve angles.
+     */
+    public void checkSupports(IndexSettings.Similarity similarity) {
+        if (mode == Mode.LSH && similarity == IndexSettings.Similarity.EUCLIDEAN) {
+            throw new IllegalArgumentException("LSH duplicate detection requires COSINE or DOT_PRODUCT similarity");
+        }
+    }
+
+    /**
+     * Returns a copy, used as the starting point for per-collection settings.
+     */
+    public DedupeSettings copy() {
+        DedupeSettings copy = new DedupeSettings();
+        BeanUtils.copyProperties(this, copy);
+        return copy;
+    }
+}
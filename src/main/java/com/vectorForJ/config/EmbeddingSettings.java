@@ -0,0 +1,54 @@
+package com.vectorForJ.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for text-to-embedding generation, bound from {@code vector.embedding.*} properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "vector.embedding")
+public class EmbeddingSettings {
+
+    /**
+     * word2vec model, memory-mapped when it is a binary word vector file ending in {@code .w2vb} (see
+     * {@code WordVectorFile}) and otherwise read with DL4J's word2vec loader
+     */
+    private String modelPath = "src/test/resources/test-model.txt";
+
+    /**
+     * Load the models on background threads so startup does not wait for them; requests wait until they are
+     * loaded and the readiness endpoint reports when they are. Otherwise they load during startup.
+     */
+    private boolean loadInBackground = true;
+
+    /** Build the Stanford CoreNLP pipeline (tokenize, ssplit, pos, lemma); embedding generation does not use it */
+    private boolean coreNlpPipeline = false;
+
+    /**
+     * Most OpenNLP tokenizer and POS tagger instances, which are not thread-safe, used by concurrent requests;
+     * further requests wait for a free one
+     */
+    private int taggerPoolSize = Runtime.getRuntime().availableProcessors();
+
+    /** Cache of generated embeddings */
+    private Cache cache = new Cache();
+
+    /**
+     * Bounded cache of embeddings keyed by a hash of the normalized text. Entries are tagged with the model they
+     * were computed with and are not served once a different model is loaded.
+     */
+    @Data
+    public static class Cache {
+        /** Whether generated embeddings are cached */
+        private boolean enabled = true;
+
+        /** Most cached embeddings; the least recently used are evicted first */
+        private int maxEntries = 10_000;
+
+        /** Estimated memory the cached embeddings may take */
+        private double maxMemoryMb = 32;
+    }
+}
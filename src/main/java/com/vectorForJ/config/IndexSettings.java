@@ -0,0 +1,185 @@
+package com.vectorForJ.config;
+
+import lombok.Data;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the Lucene vector index, bound from {@code vector.index.*} properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "vector.index")
+public class IndexSettings {
+
+    /**
+     * Where the index segments live.
+     */
+    public enum DirectoryType {
+        /** Heap-resident index, rebuilt from scratch on every start */
+        MEMORY,
+        /** Memory-mapped on-disk index, reopened from the last commit on start */
+        MMAP,
+        /** On-disk index using the platform's preferred {@code FSDirectory} */
+        FS
+    }
+
+    /** Directory implementation backing the index */
+    private DirectoryType directoryType = DirectoryType.MEMORY;
+
+    /** Filesystem location of the index, used by the on-disk directory types */
+    private String path = "data/vector-index";
+
+    /** Number of in-process shards; vectors are routed by id hash, so changing it requires a reindex */
+    private int shards = 1;
+
+    /**
+     * How vectors are compared. Scores are reported so that higher always means closer.
+     */
+    public enum Similarity {
+        /** Cosine similarity; vectors are normalized at ingest and their original norm is stored alongside */
+        COSINE,
+        /** Dot product of unit vectors; vectors are normalized at ingest and their original norm is stored alongside */
+        DOT_PRODUCT,
+        /** Euclidean distance, scored as {@code 1 / (1 + d^2)} */
+        EUCLIDEAN
+    }
+
+    /** Similarity function of the index; an on-disk index keeps the function it was created with */
+    private Similarity similarity = Similarity.COSINE;
+
+    /** Near-real-time searcher refresh settings */
+    private Refresh refresh = new Refresh();
+
+    /** Commit batching and durability settings */
+    private Commit commit = new Commit();
+
+    /** HNSW graph construction settings */
+    private Hnsw hnsw = new Hnsw();
+
+    /** Segment merge and compaction settings */
+    private Merge merge = new Merge();
+
+    /** Search result cache settings */
+    private QueryCache queryCache = new QueryCache();
+
+    /** Filtered searches matching at most this many documents are scored exactly instead of walking the graph */
+    private int exactSearchThreshold = 1000;
+
+    /** Threads running the queries of a batch search concurrently */
+    private int searchThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Returns a deep copy, used as the starting point for per-collection settings.
+     */
+    public IndexSettings copy() {
+        IndexSettings copy = new IndexSettings();
+        BeanUtils.copyProperties(this, copy, "refresh", "commit", "hnsw", "merge", "queryCache");
+        BeanUtils.copyProperties(refresh, copy.refresh);
+        BeanUtils.copyProperties(commit, copy.commit);
+        BeanUtils.copyProperties(hnsw, copy.hnsw);
+        BeanUtils.copyProperties(merge, copy.merge);
+        BeanUtils.copyProperties(queryCache, copy.queryCache);
+        return copy;
+    }
+
+    /**
+     * Controls how stale the shared searcher may get before the background refresher reopens it.
+     */
+    @Data
+    public static class Refresh {
+        /** Longest a write may stay invisible to searches when nobody is waiting for it */
+        private long maxStaleMs = 1000;
+
+        /** Shortest interval between reopens when a writer is waiting for its change to become visible */
+        private long minStaleMs = 10;
+    }
+
+    /**
+     * When a mutation has to be durable before the write call returns.
+     */
+    public enum Durability {
+        /** Each write waits for a commit; concurrent writes share one group commit */
+        REQUEST,
+        /** Writes return immediately and are committed every interval or once enough are pending */
+        INTERVAL,
+        /** Writes return immediately and a background commit is started right away */
+        ASYNC
+    }
+
+    /**
+     * Controls how index mutations are grouped into commits.
+     */
+    @Data
+    public static class Commit {
+        /** Durability guarantee given to writers */
+        private Durability durability = Durability.REQUEST;
+
+        /** Commit period used by {@link Durability#INTERVAL} */
+        private long intervalMs = 1000;
+
+        /** Pending mutations that trigger an early commit under {@link Durability#INTERVAL} */
+        private int maxPendingOps = 10000;
+    }
+
+    /**
+     * HNSW graph parameters, applied through the per-field vectors format of the index codec.
+     * Changing them only affects segments written afterwards.
+     */
+    @Data
+    public static class Hnsw {
+        /** Maximum neighbors per node (M); more improves recall at the cost of memory and build time */
+        private int maxConn = 16;
+
+        /** Candidate list size while inserting (efConstruction); more improves graph quality and slows ingest */
+        private int beamWidth = 100;
+    }
+
+    /**
+     * Segment merging and the scheduled compaction that reclaims deleted documents and collapses small segments.
+     * Merge threads and forced-merge I/O are capped so compaction does not compete with queries.
+     */
+    @Data
+    public static class Merge {
+        /** Segments allowed per tier before the merge policy merges them */
+        private double segmentsPerTier = 10;
+
+        /** Share of deleted documents the merge policy tolerates before favouring merges that reclaim them */
+        private double deletesPctAllowed = 20;
+
+        /** Segments smaller than this are treated as this size, so tiny NRT segments get merged eagerly */
+        private double floorSegmentMb = 2;
+
+        /** Concurrent merge threads per shard */
+        private int maxThreads = 1;
+
+        /** Write rate limit, in MB/s, for the merges a compaction starts, including expunging deletes */
+        private double compactionMbPerSec = 20;
+
+        /** How often each shard is checked for compaction; 0 disables the scheduled task */
+        private long compactionIntervalMs = 60_000;
+
+        /** Deleted-document percentage that triggers expunging deletes */
+        private double compactDeletesPct = 20;
+
+        /** Segment count that triggers merging a shard down to half as many segments */
+        private int compactMaxSegments = 40;
+    }
+
+    /**
+     * Bounded cache of search results. Entries are tagged with the index write generation they were computed at
+     * and are only served until the next write, and identical searches running at the same time share one execution.
+     */
+    @Data
+    public static class QueryCache {
+        /** Whether single searches are cached; batch searches always run */
+        private boolean enabled = true;
+
+        /** Most cached searches; the least recently used are evicted first */
+        private int maxEntries = 10_000;
+
+        /** Estimated memory the cached queries and their hits may take */
+        private double maxMemoryMb = 64;
+    }
+}
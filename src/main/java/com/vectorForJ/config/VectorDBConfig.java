@@ -1,9 +1,13 @@
 package com.vectorForJ.config;
 
+import com.vectorForJ.api.Float32VectorMessageConverter;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class VectorDBConfig implements WebMvcConfigurer {
 
@@ -14,4 +18,9 @@ public class VectorDBConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*");
     }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new Float32VectorMessageConverter());
+    }
 } 
\ No newline at end of file
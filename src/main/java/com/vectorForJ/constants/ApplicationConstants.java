@@ -15,8 +15,15 @@ public final class ApplicationConstants {
         
         public static final String API_BASE_PATH = "/api";
         public static final String VECTORS_PATH = API_BASE_PATH + "/vectors";
+        public static final String COLLECTIONS_PATH = API_BASE_PATH + "/collections";
         public static final String HEALTH_PATH = API_BASE_PATH + "/health";
         public static final String HEARTBEAT_PATH = "/heartbeat";
+        public static final String READY_PATH = "/ready";
+        public static final String EXPORT_PATH = "/export";
+        public static final String BATCH_SEARCH_PATH = "/search/batch";
+
+        /** Little-endian float32 vector bodies, see {@code Float32VectorCodec} */
+        public static final String FLOAT32_VECTORS_VALUE = "application/x-vector-float32";
         
         // API Documentation
         public static final String API_TITLE = "VectorForJ API";
@@ -26,6 +33,8 @@ public final class ApplicationConstants {
         // API Tags
         public static final String VECTOR_OPERATIONS_TAG = "Vector Operations";
         public static final String VECTOR_OPERATIONS_DESC = "API endpoints for vector database operations";
+        public static final String COLLECTION_OPERATIONS_TAG = "Collection Operations";
+        public static final String COLLECTION_OPERATIONS_DESC = "API endpoints for named vector collections";
         public static final String HEALTH_CHECK_TAG = "Health Check";
         public static final String HEALTH_CHECK_DESC = "API endpoints for monitoring system health";
     }
@@ -37,9 +46,12 @@ public final class ApplicationConstants {
         // Health Check Messages
         public static final String SERVER_RUNNING = "Server is running";
         public static final String SERVER_STATUS_UP = "UP";
+        public static final String SERVER_READY = "Server is ready";
+        public static final String MODELS_LOADING = "Embedding models are not loaded";
         
         // Error Messages
         public static final String VECTOR_NOT_FOUND = "Vector not found with id: %s";
+        public static final String COLLECTION_NOT_FOUND = "Collection not found: %s";
         public static final String MALFORMED_JSON = "Malformed JSON request";
         public static final String VALIDATION_FAILED = "Validation failed";
         public static final String MISSING_PARAMETER = "Missing Parameter";
@@ -59,6 +71,12 @@ public final class ApplicationConstants {
         
         public static final String EMBEDDING_NOT_NULL = "Embedding cannot be null";
         public static final String DIMENSION_POSITIVE = "Dimension must be a positive number";
+        public static final String QUERY_NOT_NULL = "Query cannot be null";
+        public static final String TOO_MANY_QUERIES = "A batch search may hold at most {max} queries";
+        public static final String K_POSITIVE = "k must be a positive number";
+        public static final String K_TOO_LARGE = "k must be at most {value}";
+        public static final String CANDIDATES_POSITIVE = "numCandidates must be a positive number";
+        public static final String CANDIDATES_TOO_LARGE = "numCandidates must be at most {value}";
     }
 
     // Response Fields
@@ -74,6 +92,10 @@ public final class ApplicationConstants {
         public static final String MEMORY = "memory";
         public static final String UPTIME = "uptime";
         public static final String START_TIME = "startTime";
+        public static final String INDEX = "index";
+        public static final String COLLECTIONS = "collections";
+        public static final String EMBEDDING = "embedding";
+        public static final String READY = "ready";
     }
 
     // Memory Stats Fields
@@ -86,6 +108,56 @@ public final class ApplicationConstants {
         public static final String MAX = "max";
     }
 
+    // Index Stats Fields
+    public static final class IndexStats {
+        private IndexStats() {}
+        
+        public static final String DOCUMENTS = "documents";
+        public static final String SHARDS = "shards";
+        public static final String READER_OPENS = "readerOpens";
+        public static final String MILLIS_SINCE_REFRESH = "millisSinceRefresh";
+        public static final String LAST_REFRESH_LAG_MS = "lastRefreshLagMs";
+        public static final String MAX_REFRESH_LAG_MS = "maxRefreshLagMs";
+        public static final String DURABILITY = "durability";
+        public static final String COMMITS = "commits";
+        public static final String PENDING_COMMIT_OPS = "pendingCommitOps";
+        public static final String LAST_COMMIT_MS = "lastCommitMs";
+        public static final String SEGMENTS = "segments";
+        public static final String DELETED_DOCS_RATIO = "deletedDocsRatio";
+        public static final String MERGES_RUNNING = "mergesRunning";
+        public static final String MERGES_COMPLETED = "mergesCompleted";
+        public static final String MERGE_TIME_MS = "mergeTimeMs";
+        public static final String COMPACTIONS = "compactions";
+        public static final String QUERY_CACHE_ENTRIES = "queryCacheEntries";
+        public static final String QUERY_CACHE_BYTES = "queryCacheBytes";
+        public static final String QUERY_CACHE_HITS = "queryCacheHits";
+        public static final String QUERY_CACHE_MISSES = "queryCacheMisses";
+        public static final String QUERY_CACHE_COALESCED = "queryCacheCoalesced";
+        public static final String QUERY_CACHE_HIT_RATE = "queryCacheHitRate";
+        public static final String QUERY_CACHE_EVICTIONS = "queryCacheEvictions";
+        public static final String QUERY_CACHE_STALE_DROPS = "queryCacheStaleDrops";
+    }
+
+    // Embedding Stats Fields
+    public static final class EmbeddingStats {
+        private EmbeddingStats() {}
+
+        public static final String READY = "ready";
+        public static final String MODEL_LOAD_MS = "modelLoadMs";
+        public static final String DIMENSION = "dimension";
+        public static final String VOCABULARY = "vocabulary";
+        public static final String CACHE_ENTRIES = "cacheEntries";
+        public static final String CACHE_BYTES = "cacheBytes";
+        public static final String CACHE_HITS = "cacheHits";
+        public static final String CACHE_MISSES = "cacheMisses";
+        public static final String CACHE_HIT_RATE = "cacheHitRate";
+        public static final String CACHE_EVICTIONS = "cacheEvictions";
+        public static final String CACHE_STALE_DROPS = "cacheStaleDrops";
+        public static final String CACHE_SAVED_MS = "cacheSavedMs";
+        public static final String TAGGERS = "taggers";
+        public static final String TAGGER_WAITS = "taggerWaits";
+    }
+
     // File Related
     public static final class File {
         private File() {}
@@ -100,5 +172,13 @@ public final class ApplicationConstants {
         private Defaults() {}
         
         public static final String DEFAULT_K_VALUE = "10";
+        public static final String DEFAULT_PAGE_SIZE = "100";
+        public static final int MAX_PAGE_SIZE = 10_000;
+        /** Vectors fetched per page while streaming an export */
+        public static final int EXPORT_PAGE_SIZE = 1000;
+        /** Most queries accepted by one batch search request */
+        public static final int MAX_BATCH_QUERIES = 1000;
+        /** Most results, and HNSW candidates, one search may ask for */
+        public static final int MAX_K = 10_000;
     }
 } 
\ No newline at end of file
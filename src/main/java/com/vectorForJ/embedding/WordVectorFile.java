@@ -0,0 +1,208 @@
+package com.vectorForJ.embedding;
+
+import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes word vector tables in a compact binary format that is memory-mapped rather than parsed.
+ *
+ * <p>All numbers are little-endian. A 24-byte header holds the magic number, the format version, the word count,
+ * the dimension and the byte length of the vocabulary section. The vocabulary section follows with each word as
+ * an int byte length and its UTF-8 bytes, in row order. The weights start at the next multiple of 64 bytes, as
+ * {@code words x dimension} float32 values in row-major order.
+ *
+ * <p>{@link #read} decodes the vocabulary onto the heap and serves the weights straight from the mapped file, so
+ * they are paged in by the OS on first use, shared between processes mapping the same file and never copied onto
+ * the heap. Weights beyond the 2 GB one mapping can hold are mapped in several chunks of whole rows.
+ */
+public final class WordVectorFile {
+
+    /** File extension that selects this format for {@code vector.embedding.model-path} */
+    public static final String EXTENSION = ".w2vb";
+
+    private static final int MAGIC = 0x42563257; // "W2VB" read as little-endian bytes
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int WEIGHTS_ALIGNMENT = 64;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    /** Most bytes one mapping can hold */
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+
+    private WordVectorFile() {}
+
+    /**
+     * Memory-maps a table written by {@link #write}.
+     */
+    public static WordVectorTable read(Path file) throws IOException {
+        return read(file, MAX_CHUNK_BYTES);
+    }
+
+    /**
+     * Memory-maps a table, with the weights split into mappings of at most {@code maxChunkBytes} each.
+     */
+    static WordVectorTable read(Path file, long maxChunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a binary word vector file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary word vector file version " + version + ": " + file);
+            }
+            int wordCount = header.getInt();
+            int dimension = header.getInt();
+            long vocabularyBytes = header.getLong();
+            long weightsOffset = align(HEADER_BYTES + vocabularyBytes);
+            long weightBytes = (long) wordCount * dimension * Float.BYTES;
+            if (wordCount < 0 || dimension < 1 || vocabularyBytes < 0 || vocabularyBytes > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt binary word vector file header: " + file);
+            }
+            long rowBytes = (long) dimension * Float.BYTES;
+            if (rowBytes > maxChunkBytes) {
+                throw new IOException(String.format("Rows of dimension %d exceed the %d bytes that can be mapped: %s",
+                    dimension, maxChunkBytes, file));
+            }
+            if (channel.size() < weightsOffset + weightBytes) {
+                throw new IOException("Truncated binary word vector file: " + file);
+            }
+
+            String[] words = readVocabulary(
+                channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, vocabularyBytes), wordCount, file);
+            int rowsPerChunk = (int) Math.min(Math.max(1, wordCount), maxChunkBytes / rowBytes);
+            FloatBuffer[] chunks = new FloatBuffer[(int) (((long) wordCount + rowsPerChunk - 1) / rowsPerChunk)];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                long firstRow = (long) chunk * rowsPerChunk;
+                long rows = Math.min(rowsPerChunk, wordCount - firstRow);
+                MappedByteBuffer weights = channel.map(FileChannel.MapMode.READ_ONLY,
+                    weightsOffset + firstRow * rowBytes, rows * rowBytes);
+                chunks[chunk] = weights.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            }
+            // The mappings stay valid after the channel is closed
+            return new WordVectorTable(words, chunks, rowsPerChunk, dimension);
+        }
+    }
+
+    private static String[] readVocabulary(ByteBuffer section, int wordCount, Path file) throws IOException {
+        section.order(ByteOrder.LITTLE_ENDIAN);
+        String[] words = new String[wordCount];
+        byte[] scratch = new byte[64];
+        try {
+            for (int row = 0; row < wordCount; row++) {
+                int length = section.getInt();
+                if (length < 0 || length > section.remaining()) {
+                    throw new IOException("Corrupt vocabulary in binary word vector file: " + file);
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                section.get(scratch, 0, length);
+                words[row] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated vocabulary in binary word vector file: " + file, e);
+        }
+        return words;
+    }
+
+    /**
+     * Writes the table's vocabulary and vectors to {@code file}, replacing it.
+     */
+    public static void write(WordVectorTable table, Path file) throws IOException {
+        int dimension = table.dimension();
+        byte[][] encoded = new byte[table.size()][];
+        long vocabularyBytes = 0;
+        for (int row = 0; row < encoded.length; row++) {
+            encoded[row] = table.word(row).getBytes(StandardCharsets.UTF_8);
+            vocabularyBytes += Integer.BYTES + encoded[row].length;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(encoded.length).putInt(dimension).putLong(vocabularyBytes);
+            for (byte[] word : encoded) {
+                ensureRemaining(channel, buffer, Integer.BYTES + word.length);
+                buffer.putInt(word.length);
+                for (int offset = 0; offset < word.length; ) {
+                    int chunk = Math.min(word.length - offset, buffer.remaining());
+                    buffer.put(word, offset, chunk);
+                    offset += chunk;
+                    ensureRemaining(channel, buffer, 1);
+                }
+            }
+            long padding = align(HEADER_BYTES + vocabularyBytes) - (HEADER_BYTES + vocabularyBytes);
+            ensureRemaining(channel, buffer, (int) padding);
+            buffer.put(new byte[(int) padding]);
+
+            float[] row = new float[dimension];
+            for (int r = 0; r < encoded.length; r++) {
+                table.copyRow(r, row);
+                for (float weight : row) {
+                    ensureRemaining(channel, buffer, Float.BYTES);
+                    buffer.putFloat(weight);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads a word2vec model in any format {@link WordVectorSerializer#readWord2VecModel} understands, including
+     * the text and original binary word2vec formats, and writes it to {@code target} in this format.
+     */
+    public static WordVectorTable convert(Path source, Path target) throws IOException {
+        WordVectorTable table = WordVectorTable.fromWord2Vec(WordVectorSerializer.readWord2VecModel(source.toFile()));
+        write(table, target);
+        return table;
+    }
+
+    /**
+     * Converts a word2vec model: {@code WordVectorFile <source model> <target.w2vb>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: WordVectorFile <word2vec model> <output" + EXTENSION + ">");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        WordVectorTable table = convert(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.printf("Converted %d words of dimension %d in %d ms%n",
+            table.size(), table.dimension(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long align(long offset) {
+        return (offset + WEIGHTS_ALIGNMENT - 1) / WEIGHTS_ALIGNMENT * WEIGHTS_ALIGNMENT;
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,173 @@
+package com.vectorForJ.embedding;
+
+import org.deeplearning4j.models.word2vec.Word2Vec;
+
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+/**
+ * Word vectors packed row-major into one float32 matrix, with an open-addressing index from word to row.
+ *
+ * <p>Lookups probe an {@code int[]} of row numbers with linear probing and compare against the word array,
+ * so finding a word and adding its weighted vector into an accumulator allocate nothing. Words outside the
+ * vocabulary get a deterministic pseudo-random vector derived from their hash, generated on the fly. The matrix
+ * may be split into chunks of whole rows, so it can span several mappings of at most 2 GB each.
+ * Immutable and thread-safe.
+ */
+public final class WordVectorTable {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final String[] words;
+    /** Row {@code r} is at row {@code r % rowsPerChunk} of chunk {@code r / rowsPerChunk} */
+    private final FloatBuffer[] chunks;
+    private final int rowsPerChunk;
+    private final int dimension;
+    /** Row number plus one per slot, zero for an empty slot */
+    private final int[] slots;
+    private final int mask;
+
+    /**
+     * Creates a table over {@code words.length} rows of {@code dimension} floats each, read from
+     * {@code chunks} at absolute positions. Every chunk but the last holds {@code rowsPerChunk} rows, and no row
+     * spans two chunks. Later occurrences of a duplicated word are unreachable.
+     */
+    public WordVectorTable(String[] words, FloatBuffer[] chunks, int rowsPerChunk, int dimension) {
+        if (dimension < 1 || rowsPerChunk < 1) {
+            throw new IllegalArgumentException("Word vector dimension and rows per chunk must be positive");
+        }
+        int chunkCount = (int) (((long) words.length + rowsPerChunk - 1) / rowsPerChunk);
+        if (chunks.length != chunkCount) {
+            throw new IllegalArgumentException(String.format(
+                "%d words in chunks of %d rows need %d chunks but %d were given",
+                words.length, rowsPerChunk, chunkCount, chunks.length));
+        }
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            long rows = Math.min(rowsPerChunk, words.length - (long) chunk * rowsPerChunk);
+            if (rows * dimension > chunks[chunk].limit()) {
+                throw new IllegalArgumentException(String.format(
+                    "%d words of dimension %d need %d weights but %d were given",
+                    rows, dimension, rows * dimension, chunks[chunk].limit()));
+            }
+        }
+        this.words = words;
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+        this.dimension = dimension;
+        int capacity = Integer.highestOneBit(Math.max(2, words.length * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        for (int row = 0; row < words.length; row++) {
+            int slot = slotOf(words[row]);
+            while (slots[slot] != 0 && !words[slots[slot] - 1].equals(words[row])) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = row + 1;
+            }
+        }
+    }
+
+    /**
+     * Creates a table over rows read from one buffer.
+     */
+    public WordVectorTable(String[] words, FloatBuffer weights, int dimension) {
+        this(words, words.length == 0 ? new FloatBuffer[0] : new FloatBuffer[]{weights}, Math.max(1, words.length),
+            dimension);
+    }
+
+    public WordVectorTable(String[] words, float[] weights, int dimension) {
+        this(words, FloatBuffer.wrap(weights), dimension);
+    }
+
+    /**
+     * Copies the vocabulary and vectors of a loaded word2vec model into a packed table.
+     */
+    public static WordVectorTable fromWord2Vec(Word2Vec word2Vec) {
+        Collection<String> vocabulary = word2Vec.getVocab().words();
+        int dimension = word2Vec.getLayerSize();
+        String[] words = new String[vocabulary.size()];
+        float[] weights = new float[words.length * dimension];
+        int row = 0;
+        for (String word : vocabulary) {
+            double[] vector = word2Vec.getWordVector(word);
+            words[row] = word;
+            for (int i = 0; i < dimension; i++) {
+                weights[row * dimension + i] = (float) vector[i];
+            }
+            row++;
+        }
+        return new WordVectorTable(words, weights, dimension);
+    }
+
+    private int slotOf(String word) {
+        int hash = word.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the row of the word, or -1 when it is not in the vocabulary.
+     */
+    public int row(String word) {
+        int slot = slotOf(word);
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (words[entry - 1].equals(word)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds {@code weight} times the vector at {@code row} into {@code target}.
+     */
+    public void addRow(int row, double weight, double[] target) {
+        FloatBuffer chunk = chunks[row / rowsPerChunk];
+        int offset = (row % rowsPerChunk) * dimension;
+        for (int i = 0; i < dimension; i++) {
+            target[i] += chunk.get(offset + i) * weight;
+        }
+    }
+
+    /**
+     * Copies the vector at {@code row} into {@code target}.
+     */
+    public void copyRow(int row, float[] target) {
+        chunks[row / rowsPerChunk].get((row % rowsPerChunk) * dimension, target, 0, dimension);
+    }
+
+    /**
+     * Adds {@code weight} times the word's hashed vector into {@code target}. Its components are uniform in
+     * [-1, 1) and depend only on the word, so an unknown word always contributes the same direction.
+     */
+    public void addHashed(String word, double weight, double[] target) {
+        long seed = word.hashCode() * GOLDEN_GAMMA;
+        for (int i = 0; i < dimension; i++) {
+            target[i] += hashedComponent(seed, i) * weight;
+        }
+    }
+
+    private static double hashedComponent(long seed, int i) {
+        long z = seed + (i + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-52 - 1.0;
+    }
+
+    /**
+     * Returns the word stored at {@code row}.
+     */
+    public String word(int row) {
+        return words[row];
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+}
@@ -0,0 +1,9 @@
+package com.vectorForJ.exception;
+
+import com.vectorForJ.constants.ApplicationConstants.Messages;
+
+public class CollectionNotFoundException extends RuntimeException {
+    public CollectionNotFoundException(String name) {
+        super(String.format(Messages.COLLECTION_NOT_FOUND, name));
+    }
+}
@@ -18,6 +18,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(createErrorResponse(ex), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(CollectionNotFoundException.class)
+    public ResponseEntity<Object> handleCollectionNotFoundException(
+            CollectionNotFoundException ex, WebRequest request) {
+        return new ResponseEntity<>(createErrorResponse(ex), HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(DocumentProcessingException.class)
     public ResponseEntity<Object> handleDocumentProcessingException(
             DocumentProcessingException ex, WebRequest request) {
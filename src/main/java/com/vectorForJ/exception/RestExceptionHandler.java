@@ -2,6 +2,7 @@ package com.vectorForJ.exception;
 
 import com.vectorForJ.constants.ApplicationConstants.Messages;
 import com.vectorForJ.constants.ApplicationConstants.ResponseFields;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -67,6 +68,20 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, body);
     }
 
+    /**
+     * Handles validation failures of request parameters and of the elements of request bodies.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<Object> handleConstraintViolation(
+            ConstraintViolationException ex) {
+        List<String> errors = ex.getConstraintViolations()
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, Messages.VALIDATION_FAILED, errors);
+    }
+
     /**
      * Handles missing request parameters.
      */
@@ -0,0 +1,44 @@
+package com.vectorForJ.indexing;
+
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.KnnVectorsReader;
+import org.apache.lucene.codecs.KnnVectorsWriter;
+import org.apache.lucene.index.SegmentReadState;
+import org.apache.lucene.index.SegmentWriteState;
+
+import java.io.IOException;
+
+/**
+ * Wraps a vectors format to raise Lucene's default 1024 dimension limit.
+ * It reuses the delegate's SPI name, so segments it writes are read back by the stock format.
+ */
+class HighDimensionVectorsFormat extends KnnVectorsFormat {
+    static final int MAX_DIMENSIONS = 4096;
+
+    private final KnnVectorsFormat delegate;
+
+    HighDimensionVectorsFormat(KnnVectorsFormat delegate) {
+        super(delegate.getName());
+        this.delegate = delegate;
+    }
+
+    @Override
+    public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
+        return delegate.fieldsWriter(state);
+    }
+
+    @Override
+    public KnnVectorsReader fieldsReader(SegmentReadState state) throws IOException {
+        return delegate.fieldsReader(state);
+    }
+
+    @Override
+    public int getMaxDimensions(String fieldName) {
+        return MAX_DIMENSIONS;
+    }
+
+    @Override
+    public String toString() {
+        return "HighDimensionVectorsFormat(" + delegate + ")";
+    }
+}
@@ -0,0 +1,136 @@
+package com.vectorForJ.indexing;
+
+import com.vectorForJ.config.IndexSettings;
+import org.apache.lucene.index.IndexWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group-commits index mutations on a single background thread.
+ * Every mutation registers a future that completes once a commit covering it has finished,
+ * so many concurrent writers share one fsync instead of paying for their own.
+ */
+class IndexCommitter {
+    private static final Logger logger = LoggerFactory.getLogger(IndexCommitter.class);
+
+    private final IndexWriter indexWriter;
+    private final IndexSettings.Commit settings;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentLinkedQueue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingOps = new AtomicInteger();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong lastCommitNanos = new AtomicLong();
+
+    IndexCommitter(IndexWriter indexWriter, IndexSettings.Commit settings, String threadName) {
+        this.indexWriter = indexWriter;
+        this.settings = settings;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (settings.getDurability() == IndexSettings.Durability.INTERVAL) {
+            executor.scheduleWithFixedDelay(this::commitIfPending,
+                settings.getIntervalMs(), settings.getIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Registers {@code count} applied mutations and returns a future completed by the commit that makes them durable.
+     */
+    CompletableFuture<Void> onMutation(int count) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        waiters.add(future);
+        int pending = pendingOps.addAndGet(count);
+        if (settings.getDurability() != IndexSettings.Durability.INTERVAL || pending >= settings.getMaxPendingOps()) {
+            scheduleCommit();
+        }
+        return future;
+    }
+
+    /**
+     * Returns a future completed by the next commit, scheduling one immediately.
+     */
+    CompletableFuture<Void> flush() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        waiters.add(future);
+        scheduleCommit();
+        return future;
+    }
+
+    /**
+     * Whether writers should block on the commit future before returning.
+     */
+    boolean isSynchronous() {
+        return settings.getDurability() == IndexSettings.Durability.REQUEST;
+    }
+
+    int getPendingOps() {
+        return pendingOps.get();
+    }
+
+    long getCommitCount() {
+        return commitCount.get();
+    }
+
+    long getLastCommitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastCommitNanos.get());
+    }
+
+    private void scheduleCommit() {
+        if (commitScheduled.compareAndSet(false, true)) {
+            executor.execute(this::commitIfPending);
+        }
+    }
+
+    private void commitIfPending() {
+        // Clear the flag first so mutations arriving during this commit schedule the next one
+        commitScheduled.set(false);
+        List<CompletableFuture<Void>> batch = new ArrayList<>();
+        for (CompletableFuture<Void> waiter; (waiter = waiters.poll()) != null; ) {
+            batch.add(waiter);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingOps.set(0);
+        try {
+            long start = System.nanoTime();
+            indexWriter.commit();
+            lastCommitNanos.set(System.nanoTime() - start);
+            commitCount.incrementAndGet();
+            batch.forEach(waiter -> waiter.complete(null));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to commit Lucene index", e);
+            batch.forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Commits anything still pending and stops the commit thread.
+     */
+    void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for pending index commits");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitIfPending();
+    }
+}
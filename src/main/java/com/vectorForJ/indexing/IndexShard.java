@@ -0,0 +1,568 @@
+package com.vectorForJ.indexing;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.similarity.VectorKernels;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene95.Lucene95Codec;
+import org.apache.lucene.codecs.lucene95.Lucene95HnswVectorsFormat;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One Lucene index with its own writer, near-real-time searcher and group committer.
+ * {@link VectorIndexManager} routes each vector to a single shard and fans searches out to all of them.
+ */
+class IndexShard {
+    private static final Logger logger = LoggerFactory.getLogger(IndexShard.class);
+    private static final String VECTOR_FIELD = "embedding";
+    private static final String ID_FIELD = "id";
+    private static final String METADATA_FIELD = "metadata";
+    private static final String NORM_FIELD = "embedding_norm";
+
+    private final int number;
+    private final Path path;
+    private final IndexSettings settings;
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private IndexCommitter committer;
+    private TrackingMergeScheduler mergeScheduler;
+    private VectorSimilarityFunction indexFunction;
+    private boolean normalize;
+    private boolean idDocValues;
+
+    private final AtomicLong readerOpens = new AtomicLong();
+    private final AtomicLong pendingSinceNanos = new AtomicLong();
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastRefreshLagNanos = new AtomicLong();
+    private final AtomicLong maxRefreshLagNanos = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+
+    /**
+     * @param path on-disk location of the shard; ignored for the in-memory directory type
+     */
+    IndexShard(int number, Path path, IndexSettings settings) {
+        this.number = number;
+        this.path = path;
+        this.settings = settings;
+    }
+
+    void open() throws IOException {
+        this.directory = openDirectory();
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        KnnVectorsFormat vectorsFormat = new HighDimensionVectorsFormat(new Lucene95HnswVectorsFormat(
+            settings.getHnsw().getMaxConn(), settings.getHnsw().getBeamWidth()));
+        config.setCodec(new Lucene95Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                return vectorsFormat;
+            }
+        });
+        IndexSettings.Merge merge = settings.getMerge();
+        TieredMergePolicy mergePolicy = new TieredMergePolicy();
+        mergePolicy.setSegmentsPerTier(merge.getSegmentsPerTier());
+        mergePolicy.setDeletesPctAllowed(merge.getDeletesPctAllowed());
+        mergePolicy.setFloorSegmentMB(merge.getFloorSegmentMb());
+        config.setMergePolicy(mergePolicy);
+        this.mergeScheduler = new TrackingMergeScheduler(merge.getCompactionMbPerSec());
+        mergeScheduler.setMaxMergesAndThreads(merge.getMaxThreads() + 1, merge.getMaxThreads());
+        config.setMergeScheduler(mergeScheduler);
+        this.indexWriter = new IndexWriter(directory, config);
+        resolveSchema();
+        this.committer = new IndexCommitter(indexWriter, settings.getCommit(), "vector-index-committer-" + number);
+        this.searcherManager = new SearcherManager(indexWriter, null);
+        searcherManager.addListener(new RefreshTracker());
+        this.reopenThread = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager,
+            settings.getRefresh().getMaxStaleMs() / 1000.0, settings.getRefresh().getMinStaleMs() / 1000.0);
+        reopenThread.setName("vector-index-refresher-" + number);
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /**
+     * Cosine and dot-product indexes store unit vectors, with the original norm as a stored field, and are
+     * searched with Lucene's dot product, so no comparison has to compute a norm. Indexes created before that
+     * keep their raw cosine field, and indexes created before ids had doc values keep writing ids without them.
+     * Dot-product documents written before norms were stored for them load back as unit vectors.
+     */
+    private void resolveSchema() throws IOException {
+        IndexSettings.Similarity similarity = settings.getSimilarity();
+        VectorSimilarityFunction configured = similarity == IndexSettings.Similarity.EUCLIDEAN
+            ? VectorSimilarityFunction.EUCLIDEAN : VectorSimilarityFunction.DOT_PRODUCT;
+        VectorSimilarityFunction existing = null;
+        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
+            FieldInfos fieldInfos = FieldInfos.getMergedFieldInfos(reader);
+            FieldInfo vectorInfo = fieldInfos.fieldInfo(VECTOR_FIELD);
+            if (vectorInfo != null) {
+                existing = vectorInfo.getVectorSimilarityFunction();
+            }
+            FieldInfo idInfo = fieldInfos.fieldInfo(ID_FIELD);
+            this.idDocValues = idInfo == null || idInfo.getDocValuesType() == DocValuesType.SORTED;
+        }
+        if (existing == VectorSimilarityFunction.COSINE && similarity == IndexSettings.Similarity.COSINE) {
+            configured = VectorSimilarityFunction.COSINE;
+        } else if (existing != null && existing != configured) {
+            throw new IllegalStateException(String.format(
+                "Index shard %d was created with %s similarity and cannot be opened as %s; reindex to change it",
+                number, existing, similarity));
+        }
+        this.indexFunction = configured;
+        this.normalize = configured == VectorSimilarityFunction.DOT_PRODUCT;
+    }
+
+    /**
+     * Converts a query to the representation stored in the index, normalizing it when the index holds unit vectors.
+     */
+    float[] prepareQuery(double[] queryVector) {
+        float[] query = new float[queryVector.length];
+        for (int i = 0; i < queryVector.length; i++) query[i] = (float) queryVector[i];
+        if (normalize) {
+            normalizeInPlace(query);
+        }
+        return query;
+    }
+
+    private static float normalizeInPlace(float[] vector) {
+        float norm = VectorKernels.norm(vector, 0, vector.length);
+        if (norm > 0f) {
+            for (int i = 0; i < vector.length; i++) vector[i] /= norm;
+        }
+        return norm;
+    }
+
+    private Directory openDirectory() throws IOException {
+        if (settings.getDirectoryType() == IndexSettings.DirectoryType.MEMORY) {
+            return new ByteBuffersDirectory();
+        }
+        Files.createDirectories(path);
+        if (settings.getDirectoryType() == IndexSettings.DirectoryType.MMAP) {
+            return new MMapDirectory(path);
+        }
+        return FSDirectory.open(path);
+    }
+
+    /**
+     * Records how long writes waited to become searchable and how many readers were opened.
+     */
+    private class RefreshTracker implements ReferenceManager.RefreshListener {
+        private long refreshedPendingSince;
+
+        @Override
+        public void beforeRefresh() {
+            refreshedPendingSince = pendingSinceNanos.getAndSet(0);
+        }
+
+        @Override
+        public void afterRefresh(boolean didRefresh) {
+            long now = System.nanoTime();
+            if (didRefresh) {
+                readerOpens.incrementAndGet();
+                lastRefreshNanos.set(now);
+            }
+            if (refreshedPendingSince != 0) {
+                long lag = now - refreshedPendingSince;
+                lastRefreshLagNanos.set(lag);
+                maxRefreshLagNanos.accumulateAndGet(lag, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Indexes a metadata attribute: numbers as points, everything else as a keyword, both stored.
+     * Collections are indexed as multi-valued attributes.
+     */
+    private static void addAttribute(Document doc, String key, Object value) {
+        String field = MetadataFilterParser.FIELD_PREFIX + key;
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(element -> addAttribute(doc, key, element));
+        } else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            doc.add(new DoublePoint(field, number));
+            doc.add(new StoredField(field, number));
+        } else if (value != null) {
+            doc.add(new KeywordField(field, value.toString(), Field.Store.YES));
+        }
+    }
+
+    private static Map<String, Object> readAttributes(Document doc) {
+        Map<String, Object> attributes = null;
+        for (IndexableField field : doc) {
+            if (!field.name().startsWith(MetadataFilterParser.FIELD_PREFIX)) {
+                continue;
+            }
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            String key = field.name().substring(MetadataFilterParser.FIELD_PREFIX.length());
+            Object value = field.numericValue() != null ? field.numericValue() : field.stringValue();
+            attributes.merge(key, value, (existing, added) -> {
+                List<Object> values = existing instanceof List ? castList(existing) : new ArrayList<>(List.of(existing));
+                values.add(added);
+                return values;
+            });
+        }
+        return attributes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> castList(Object value) {
+        return (List<Object>) value;
+    }
+
+    @FunctionalInterface
+    private interface SearcherCallback<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    /**
+     * Runs the callback against the shared near-real-time searcher, holding a reference
+     * to its reader for the duration of the call.
+     */
+    private <T> T withSearcher(SearcherCallback<T> callback) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return callback.apply(searcher);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Acquires the current near-real-time searcher; every call must be paired with {@link #releaseSearcher}.
+     */
+    IndexSearcher acquireSearcher() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    void releaseSearcher(IndexSearcher searcher) throws IOException {
+        searcherManager.release(searcher);
+    }
+
+    /**
+     * Blocks until the write with the given sequence number is visible to searches,
+     * so callers observe their own writes without reopening a reader per request.
+     */
+    void awaitSearchable(long sequenceNumber) {
+        pendingSinceNanos.compareAndSet(0, System.nanoTime());
+        try {
+            reopenThread.waitForGeneration(sequenceNumber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for index refresh", e);
+        }
+    }
+
+    boolean isSynchronous() {
+        return committer.isSynchronous();
+    }
+
+    CompletableFuture<Void> flush() {
+        return committer.flush();
+    }
+
+    /**
+     * Adds or replaces a vector once it is searchable, returning the future of the commit covering it.
+     */
+    CompletableFuture<Void> addVector(Vector vector) throws IOException {
+        long sequenceNumber = indexWriter.updateDocument(new Term(ID_FIELD, vector.getId()), toDocument(vector)); // Replaces if exists
+        awaitSearchable(sequenceNumber);
+        return committer.onMutation(1);
+    }
+
+    /**
+     * Adds or replaces a batch of vectors with one delete and one {@code addDocuments} call, without waiting
+     * for them to become searchable, so the caller can overlap the refresh waits of several shards.
+     *
+     * @return the sequence number to pass to {@link #awaitSearchable(long)}
+     */
+    long writeVectors(List<Vector> vectors) throws IOException {
+        Term[] ids = new Term[vectors.size()];
+        List<Document> docs = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            ids[i] = new Term(ID_FIELD, vectors.get(i).getId());
+            docs.add(toDocument(vectors.get(i)));
+        }
+        indexWriter.deleteDocuments(ids); // Replaces if exists
+        return indexWriter.addDocuments(docs);
+    }
+
+    /**
+     * Registers applied mutations with the group committer.
+     */
+    CompletableFuture<Void> onMutation(int count) {
+        return committer.onMutation(count);
+    }
+
+    CompletableFuture<Void> removeVector(String id) throws IOException {
+        long sequenceNumber = indexWriter.deleteDocuments(new Term(ID_FIELD, id));
+        awaitSearchable(sequenceNumber);
+        return committer.onMutation(1);
+    }
+
+    private Document toDocument(Vector vector) {
+        Document doc = new Document();
+        doc.add(new StringField(ID_FIELD, vector.getId(), Field.Store.YES));
+        if (idDocValues) {
+            doc.add(new SortedDocValuesField(ID_FIELD, new BytesRef(vector.getId())));
+        }
+        if (vector.getMetadata() != null) {
+            doc.add(new StoredField(METADATA_FIELD, vector.getMetadata()));
+        }
+        if (vector.getAttributes() != null) {
+            vector.getAttributes().forEach((key, value) -> addAttribute(doc, key, value));
+        }
+        double[] embedding = vector.getEmbedding();
+        float[] floatEmbedding = new float[embedding.length];
+        for (int i = 0; i < embedding.length; i++) floatEmbedding[i] = (float) embedding[i];
+        if (normalize) {
+            // The norm restores the original embedding on load, as the storages return it before a restart
+            doc.add(new StoredField(NORM_FIELD, normalizeInPlace(floatEmbedding)));
+        }
+        doc.add(new KnnFloatVectorField(VECTOR_FIELD, floatEmbedding, indexFunction));
+        return doc;
+    }
+
+    void forEachVector(Consumer<Vector> consumer) throws IOException {
+        withSearcher(searcher -> {
+            visitVectors(searcher.getIndexReader(), consumer);
+            return null;
+        });
+    }
+
+    private void visitVectors(IndexReader reader, Consumer<Vector> consumer) throws IOException {
+        for (LeafReaderContext leaf : reader.leaves()) {
+            LeafReader leafReader = leaf.reader();
+            FloatVectorValues values = leafReader.getFloatVectorValues(VECTOR_FIELD);
+            if (values == null) {
+                continue;
+            }
+            Bits liveDocs = leafReader.getLiveDocs();
+            StoredFields storedFields = leafReader.storedFields();
+            for (int docId = values.nextDoc(); docId != DocIdSetIterator.NO_MORE_DOCS; docId = values.nextDoc()) {
+                if (liveDocs != null && !liveDocs.get(docId)) {
+                    continue;
+                }
+                Document doc = storedFields.document(docId);
+                float[] floatEmbedding = values.vectorValue();
+                IndexableField normField = doc.getField(NORM_FIELD);
+                double norm = normField == null ? 1.0 : normField.numericValue().doubleValue();
+                double[] embedding = new double[floatEmbedding.length];
+                for (int i = 0; i < floatEmbedding.length; i++) embedding[i] = floatEmbedding[i] * norm;
+                consumer.accept(new Vector(doc.get(ID_FIELD), embedding, doc.get(METADATA_FIELD), embedding.length,
+                    readAttributes(doc)));
+            }
+        }
+    }
+
+    /**
+     * Returns this shard's best k hits, ordered by descending similarity.
+     *
+     * @param query a query prepared by {@link #prepareQuery(double[])}
+     */
+    List<SearchHit> search(float[] query, Query filter, SearchOptions options) throws IOException {
+        return withSearcher(searcher -> search(searcher, query, filter, options));
+    }
+
+    /**
+     * Searches a searcher obtained from {@link #acquireSearcher()}, so several queries see the same point in time.
+     */
+    List<SearchHit> search(IndexSearcher searcher, float[] query, Query filter, SearchOptions options)
+            throws IOException {
+        TopDocs topDocs;
+        if (filter != null && searcher.count(filter) <= settings.getExactSearchThreshold()) {
+            topDocs = exactSearch(searcher, query, filter, options.getK());
+        } else {
+            // The filter is applied inside the graph walk, so only matching docs are collected
+            Query knnQuery = new KnnFloatVectorQuery(VECTOR_FIELD, query, options.candidatesToCollect(), filter);
+            topDocs = searcher.search(knnQuery, options.getK());
+        }
+
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        List<SearchHit> result = new ArrayList<>(topDocs.scoreDocs.length);
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            result.add(new SearchHit(resolveId(leaves, scoreDoc.doc), toSimilarity(scoreDoc.score)));
+        }
+        return result;
+    }
+
+    /**
+     * Scores every document matching a selective filter against the query, keeping the top k in a heap.
+     * Cheaper than a graph walk that would have to skip past almost every node.
+     */
+    private TopDocs exactSearch(IndexSearcher searcher, float[] query, Query filter, int k) throws IOException {
+        Weight weight = searcher.createWeight(searcher.rewrite(filter), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        PriorityQueue<ScoreDoc> topK = new PriorityQueue<>(k + 1, Comparator.comparingDouble(hit -> hit.score));
+        for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+            Scorer scorer = weight.scorer(leaf);
+            FloatVectorValues values = leaf.reader().getFloatVectorValues(VECTOR_FIELD);
+            if (scorer == null || values == null) {
+                continue;
+            }
+            Bits liveDocs = leaf.reader().getLiveDocs();
+            DocIdSetIterator matches = scorer.iterator();
+            for (int doc = matches.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = matches.nextDoc()) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                int vectorDoc = values.docID() < doc ? values.advance(doc) : values.docID();
+                if (vectorDoc != doc) {
+                    continue;
+                }
+                float score = indexFunction.compare(query, values.vectorValue());
+                if (topK.size() < k) {
+                    topK.add(new ScoreDoc(leaf.docBase + doc, score));
+                } else if (score > topK.peek().score) {
+                    topK.poll();
+                    topK.add(new ScoreDoc(leaf.docBase + doc, score));
+                }
+            }
+        }
+        ScoreDoc[] hits = new ScoreDoc[topK.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            hits[i] = topK.poll();
+        }
+        return new TopDocs(new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), hits);
+    }
+
+    /**
+     * Resolves a hit's id from the per-segment id doc values, falling back to stored fields
+     * for segments written before the doc values existed.
+     */
+    private String resolveId(List<LeafReaderContext> leaves, int doc) throws IOException {
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        int segmentDoc = doc - leaf.docBase;
+        SortedDocValues ids = leaf.reader().getSortedDocValues(ID_FIELD);
+        if (ids != null && ids.advanceExact(segmentDoc)) {
+            return ids.lookupOrd(ids.ordValue()).utf8ToString();
+        }
+        return leaf.reader().storedFields().document(segmentDoc).get(ID_FIELD);
+    }
+
+    /**
+     * Converts Lucene's cosine and dot product score, {@code (1 + cos) / 2}, back to the cosine similarity.
+     * Euclidean scores, {@code 1 / (1 + d^2)}, are already higher-is-closer and are returned as is.
+     */
+    private double toSimilarity(float score) {
+        return indexFunction == VectorSimilarityFunction.EUCLIDEAN ? score : 2.0 * score - 1.0;
+    }
+
+    boolean containsVector(String id) throws IOException {
+        Query query = new TermQuery(new Term(ID_FIELD, id));
+        return withSearcher(searcher -> searcher.count(query) > 0);
+    }
+
+    int size() throws IOException {
+        return withSearcher(searcher -> searcher.getIndexReader().numDocs());
+    }
+
+    /**
+     * Expunges deletes when they exceed the configured share of documents, or merges the shard down to half
+     * its segment limit when it has too many segments, then refreshes the searcher and commits the result. The
+     * merges write at most {@code compaction-mb-per-sec}. Blocks until the merge is done, so it should run on a
+     * background thread.
+     *
+     * @return whether a merge was requested
+     */
+    boolean compact() throws IOException {
+        IndexSettings.Merge merge = settings.getMerge();
+        IndexWriter.DocStats docStats = indexWriter.getDocStats();
+        double deletedPct = docStats.maxDoc == 0 ? 0 : 100.0 * (docStats.maxDoc - docStats.numDocs) / docStats.maxDoc;
+        int segments = segmentCount();
+        boolean tooManySegments = segments > merge.getCompactMaxSegments();
+        if (!tooManySegments && deletedPct <= merge.getCompactDeletesPct()) {
+            return false;
+        }
+        mergeScheduler.setCompacting(true);
+        try {
+            if (tooManySegments) {
+                logger.info("Compacting shard {}: {} segments", number, segments);
+                indexWriter.forceMerge(Math.max(1, merge.getCompactMaxSegments() / 2));
+            } else {
+                logger.info("Compacting shard {}: {}% deleted documents", number, Math.round(deletedPct));
+                indexWriter.forceMergeDeletes();
+            }
+        } finally {
+            mergeScheduler.setCompacting(false);
+        }
+        compactions.incrementAndGet();
+        // Swap searches onto the merged segments so the old ones can be released
+        searcherManager.maybeRefreshBlocking();
+        committer.flush().join();
+        return true;
+    }
+
+    int segmentCount() throws IOException {
+        return withSearcher(searcher -> searcher.getIndexReader().leaves().size());
+    }
+
+    IndexWriter.DocStats docStats() {
+        return indexWriter.getDocStats();
+    }
+
+    TrackingMergeScheduler getMergeScheduler() {
+        return mergeScheduler;
+    }
+
+    long getCompactions() {
+        return compactions.get();
+    }
+
+    int numDocsAtOpen() {
+        return indexWriter.getDocStats().numDocs;
+    }
+
+    long getReaderOpens() {
+        return readerOpens.get();
+    }
+
+    long getLastRefreshNanos() {
+        return lastRefreshNanos.get();
+    }
+
+    long getLastRefreshLagNanos() {
+        return lastRefreshLagNanos.get();
+    }
+
+    long getMaxRefreshLagNanos() {
+        return maxRefreshLagNanos.get();
+    }
+
+    IndexCommitter getCommitter() {
+        return committer;
+    }
+
+    void close() {
+        try {
+            reopenThread.close();
+            committer.close();
+            searcherManager.close();
+            indexWriter.close();
+            directory.close();
+        } catch (IOException e) {
+            logger.error("Failed to close Lucene index shard {} during cleanup", number, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.vectorForJ.indexing;
+
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.KeywordField;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses metadata filter expressions into Lucene queries over the indexed vector attributes.
+ *
+ * <p>Grammar: comparisons {@code key op value} with {@code = != > >= < <=}, combined with
+ * {@code AND}, {@code OR}, {@code NOT} and parentheses ({@code AND} binds tighter than {@code OR}).
+ * Unquoted numeric values match numeric attributes; quoted or non-numeric values match string attributes.
+ * Example: {@code source = "arxiv" AND year >= 2020}.
+ */
+final class MetadataFilterParser {
+    static final String FIELD_PREFIX = "attr.";
+
+    private static final Pattern TOKEN = Pattern.compile(
+        "\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^'\\\\]|\\\\.)*'|>=|<=|!=|=|>|<|\\(|\\)|[^\\s()=!<>\"']+)");
+
+    private final List<String> tokens;
+    private int position;
+
+    private MetadataFilterParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses the expression, throwing {@link IllegalArgumentException} when it is malformed.
+     */
+    static Query parse(String expression) {
+        MetadataFilterParser parser = new MetadataFilterParser(tokenize(expression));
+        Query query = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected token in filter: " + parser.tokens.get(parser.position));
+        }
+        return query;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(expression);
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            tokens.add(matcher.group(1));
+            end = matcher.end();
+        }
+        if (!expression.substring(end).isBlank()) {
+            throw new IllegalArgumentException("Invalid filter near: " + expression.substring(end).trim());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Filter expression cannot be empty");
+        }
+        return tokens;
+    }
+
+    private Query parseOr() {
+        List<Query> clauses = new ArrayList<>();
+        clauses.add(parseAnd());
+        while (acceptKeyword("OR")) {
+            clauses.add(parseAnd());
+        }
+        return combine(clauses, BooleanClause.Occur.SHOULD);
+    }
+
+    private Query parseAnd() {
+        List<Query> clauses = new ArrayList<>();
+        clauses.add(parseUnary());
+        while (acceptKeyword("AND")) {
+            clauses.add(parseUnary());
+        }
+        return combine(clauses, BooleanClause.Occur.FILTER);
+    }
+
+    private Query parseUnary() {
+        if (acceptKeyword("NOT")) {
+            return negate(parseUnary());
+        }
+        if (accept("(")) {
+            Query query = parseOr();
+            if (!accept(")")) {
+                throw new IllegalArgumentException("Missing closing parenthesis in filter");
+            }
+            return query;
+        }
+        return parseComparison();
+    }
+
+    private Query parseComparison() {
+        String key = next("attribute name");
+        String operator = next("operator");
+        String value = next("value");
+        String field = FIELD_PREFIX + key;
+
+        boolean quoted = value.startsWith("\"") || value.startsWith("'");
+        Double number = quoted ? null : parseNumber(value);
+        if (number == null) {
+            String text = quoted ? unquote(value) : value;
+            switch (operator) {
+                case "=": return KeywordField.newExactQuery(field, text);
+                case "!=": return negate(KeywordField.newExactQuery(field, text));
+                default: throw new IllegalArgumentException(
+                    String.format("Operator '%s' requires a numeric value for attribute '%s'", operator, key));
+            }
+        }
+        double v = number;
+        switch (operator) {
+            case "=": return DoublePoint.newExactQuery(field, v);
+            case "!=": return negate(DoublePoint.newExactQuery(field, v));
+            case ">": return DoublePoint.newRangeQuery(field, DoublePoint.nextUp(v), Double.POSITIVE_INFINITY);
+            case ">=": return DoublePoint.newRangeQuery(field, v, Double.POSITIVE_INFINITY);
+            case "<": return DoublePoint.newRangeQuery(field, Double.NEGATIVE_INFINITY, DoublePoint.nextDown(v));
+            case "<=": return DoublePoint.newRangeQuery(field, Double.NEGATIVE_INFINITY, v);
+            default: throw new IllegalArgumentException("Unknown filter operator: " + operator);
+        }
+    }
+
+    private static Query combine(List<Query> clauses, BooleanClause.Occur occur) {
+        if (clauses.size() == 1) {
+            return clauses.get(0);
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        clauses.forEach(clause -> builder.add(clause, occur));
+        return builder.build();
+    }
+
+    private static Query negate(Query query) {
+        return new BooleanQuery.Builder()
+            .add(new MatchAllDocsQuery(), BooleanClause.Occur.FILTER)
+            .add(query, BooleanClause.Occur.MUST_NOT)
+            .build();
+    }
+
+    private static Double parseNumber(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String value) {
+        return value.substring(1, value.length() - 1).replaceAll("\\\\(.)", "$1");
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw new IllegalArgumentException("Filter ended early, expected " + expected);
+        }
+        return tokens.get(position++);
+    }
+}
@@ -0,0 +1,172 @@
+package com.vectorForJ.indexing;
+
+import com.vectorForJ.cache.GenerationalLruCache;
+import com.vectorForJ.model.SearchOptions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search hits keyed by the query vector, k, candidate count and filter.
+ *
+ * <p>Entries live in a {@link GenerationalLruCache} tagged with the index write generation they were computed at,
+ * so they are only served until the next write and a write never has to flush the cache. A lookup that misses while an identical search of the same or a later generation is running waits
+ * for that search instead of starting another. Memory use is estimated from array and string sizes.
+ * Thread-safe.
+ */
+final class QueryResultCache {
+    /** Map node, key, entry and list headers of one entry */
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+    /** SearchHit and its id String, without the id characters */
+    private static final long HIT_OVERHEAD_BYTES = 72;
+
+    private final GenerationalLruCache<Key, List<SearchHit>> entries;
+    private final ConcurrentHashMap<Key, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    QueryResultCache(int maxEntries, long maxBytes) {
+        this.entries = new GenerationalLruCache<>(maxEntries, maxBytes, "vector.index.query-cache");
+    }
+
+    /**
+     * Returns the cached hits for the query at {@code generation}, or runs {@code search} and caches its hits.
+     * The generation must be read before the search starts, so a result never outlives a write it missed.
+     */
+    List<SearchHit> get(double[] query, SearchOptions options, long generation, Supplier<List<SearchHit>> search) {
+        Key key = new Key(query, options);
+        List<SearchHit> cached = entries.get(key, generation);
+        if (cached != null) {
+            return cached;
+        }
+
+        Flight flight = new Flight(generation);
+        Flight running = inFlight.putIfAbsent(key, flight);
+        if (running != null && running.generation >= generation) {
+            coalesced.increment();
+            return await(running.result);
+        }
+        misses.increment();
+        if (running != null) {
+            // An identical search of an older generation is still running; its result would be stale
+            return search.get();
+        }
+        try {
+            List<SearchHit> result = Collections.unmodifiableList(search.get());
+            flight.result.complete(result);
+            entries.put(key, generation, result, estimateBytes(key, result));
+            return result;
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static List<SearchHit> await(CompletableFuture<List<SearchHit>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long estimateBytes(Key key, List<SearchHit> result) {
+        long size = ENTRY_OVERHEAD_BYTES + 16 + 8L * key.query.length;
+        if (key.filter != null) {
+            size += key.filter.length();
+        }
+        for (SearchHit hit : result) {
+            size += HIT_OVERHEAD_BYTES + hit.getId().length();
+        }
+        return size;
+    }
+
+    long getHits() {
+        return entries.getHits();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    long getStaleDrops() {
+        return entries.getStaleDrops();
+    }
+
+    /**
+     * Share of lookups answered without running a search of their own, from the cache or a coalesced search.
+     */
+    double getHitRate() {
+        long served = getHits() + getCoalesced();
+        long total = served + getMisses();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getBytes() {
+        return entries.getBytes();
+    }
+
+    private static final class Key {
+        private final double[] query;
+        private final int k;
+        private final int candidates;
+        private final String filter;
+        private final int hash;
+
+        Key(double[] query, SearchOptions options) {
+            this.query = query.clone();
+            this.k = options.getK();
+            this.candidates = options.candidatesToCollect();
+            this.filter = options.getFilter();
+            this.hash = 31 * (31 * (31 * Arrays.hashCode(this.query) + k) + candidates) + Objects.hashCode(filter);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hash == other.hash && k == other.k && candidates == other.candidates
+                && Objects.equals(filter, other.filter) && Arrays.equals(query, other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Flight {
+        private final long generation;
+        private final CompletableFuture<List<SearchHit>> result = new CompletableFuture<>();
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+}
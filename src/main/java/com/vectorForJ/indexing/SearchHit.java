@@ -0,0 +1,17 @@
+package com.vectorForJ.indexing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A vector id returned by the index together with its similarity to the query.
+ */
+@Data
+@AllArgsConstructor
+public class SearchHit {
+    /** Identifier of the matching vector */
+    private String id;
+
+    /** Similarity to the query (cosine similarity, higher is closer) */
+    private double score;
+}
@@ -0,0 +1,97 @@
+package com.vectorForJ.indexing;
+
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.RateLimitedIndexOutput;
+import org.apache.lucene.store.RateLimiter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent merge scheduler that records how many merges are running and how long completed merges took.
+ *
+ * <p>Merges started while a compaction runs, whether it forces a segment count or expunges deletes, run on
+ * low-priority threads and write through a limiter capped at the compaction rate. Lucene's own forced-merge
+ * rate only covers merges to a segment count, so expunging deletes would otherwise write at the automatic rate.
+ */
+class TrackingMergeScheduler extends ConcurrentMergeScheduler {
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    /** Shared by all compaction merges, so together they stay under the rate; null when unlimited */
+    private final RateLimiter compactionLimiter;
+    private final Set<MergePolicy.OneMerge> compactionMerges = ConcurrentHashMap.newKeySet();
+    private volatile boolean compacting;
+
+    TrackingMergeScheduler(double compactionMbPerSec) {
+        this.compactionLimiter = Double.isFinite(compactionMbPerSec)
+            ? new RateLimiter.SimpleRateLimiter(compactionMbPerSec) : null;
+    }
+
+    /**
+     * Marks the merges started from now on as compaction merges, until called with false.
+     */
+    void setCompacting(boolean compacting) {
+        this.compacting = compacting;
+    }
+
+    @Override
+    protected synchronized MergeThread getMergeThread(MergeSource mergeSource, MergePolicy.OneMerge merge)
+            throws IOException {
+        MergeThread thread = super.getMergeThread(mergeSource, merge);
+        if (compacting) {
+            compactionMerges.add(merge);
+            thread.setPriority(Thread.MIN_PRIORITY);
+        }
+        return thread;
+    }
+
+    @Override
+    public Directory wrapForMerge(MergePolicy.OneMerge merge, Directory in) {
+        Directory wrapped = super.wrapForMerge(merge, in);
+        if (compactionLimiter == null || !compactionMerges.contains(merge)) {
+            return wrapped;
+        }
+        return new FilterDirectory(wrapped) {
+            @Override
+            public IndexOutput createOutput(String name, IOContext context) throws IOException {
+                return new RateLimitedIndexOutput(compactionLimiter, super.createOutput(name, context));
+            }
+        };
+    }
+
+    @Override
+    protected void doMerge(MergeSource mergeSource, MergePolicy.OneMerge merge) throws IOException {
+        running.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            super.doMerge(mergeSource, merge);
+            completed.incrementAndGet();
+        } finally {
+            compactionMerges.remove(merge);
+            totalNanos.addAndGet(System.nanoTime() - start);
+            running.decrementAndGet();
+        }
+    }
+
+    int getRunningMerges() {
+        return running.get();
+    }
+
+    long getCompletedMerges() {
+        return completed.get();
+    }
+
+    long getTotalMergeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+    }
+}
@@ -1,136 +1,521 @@
 package com.vectorForJ.indexing;
 
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.IndexStats;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.similarity.VectorKernels;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.document.*;
-import org.apache.lucene.index.*;
-import org.apache.lucene.search.*;
-import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Lucene vector index split into {@code vector.index.shards} independent shards.
+ * Vectors are routed to a shard by a hash of their id; searches run on every shard in parallel
+ * and the per-shard top-k lists are merged into one. No bean is created for the exact engine, which keeps
+ * no index; collections create their own.
+ */
 @Component
+@ConditionalOnExpression("'${vector.storage.engine:lucene}' != 'exact'")
 public class VectorIndexManager {
     private static final Logger logger = LoggerFactory.getLogger(VectorIndexManager.class);
-    private static final String VECTOR_FIELD = "embedding";
-    private static final String ID_FIELD = "id";
-    private static final String INDEX_FILE = "vector_index.dat";
-    private static final int VECTOR_DIMENSION = 1536;
+    private static final String SHARD_DIRECTORY_PREFIX = "shard-";
+    /** Most dimensions a vector may have to be indexed */
+    public static final int MAX_DIMENSIONS = HighDimensionVectorsFormat.MAX_DIMENSIONS;
+    private final IndexSettings settings;
+    private IndexShard[] shards;
+    private ExecutorService searchExecutor;
+    private ExecutorService batchSearchExecutor;
+    /** Bumped after every mutation becomes searchable; cached results of an older generation are not served */
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private QueryResultCache queryCache;
+    private ScheduledExecutorService compactionExecutor;
 
-    private String indexFile = INDEX_FILE;
-    private int vectorDimension = VECTOR_DIMENSION;
-
-    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
-    private final StandardAnalyzer analyzer = new StandardAnalyzer();
-    private IndexWriter indexWriter;
-
-    public VectorIndexManager() {
-        try {
-            IndexWriterConfig config = new IndexWriterConfig(analyzer);
-            this.indexWriter = new IndexWriter(directory, config);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to initialize Lucene index", e);
-        }
+    @Autowired
+    public VectorIndexManager(IndexSettings settings) {
+        this.settings = settings;
     }
 
     @PostConstruct
     public void init() {
+        int shardCount = settings.getShards();
+        if (shardCount < 1) {
+            throw new IllegalStateException("vector.index.shards must be at least 1");
+        }
+        if (settings.getSearchThreads() < 1) {
+            throw new IllegalStateException("vector.index.search-threads must be at least 1");
+        }
         try {
-            File indexFileObj = new File(indexFile);
-            if (indexFileObj.exists()) {
-                // Load vectors
-                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(indexFile))) {
-                    Map<Integer, double[]> loadedVectors = (Map<Integer, double[]>) ois.readObject();
-                    for (Map.Entry<Integer, double[]> entry : loadedVectors.entrySet()) {
-                        double[] embedding = entry.getValue();
-                        addVector(new com.vectorForJ.model.Vector(entry.getKey().toString(), embedding, "", embedding.length));
-                    }
-                }
+            List<Path> paths = shardPaths(shardCount);
+            this.shards = new IndexShard[shardCount];
+            int documents = 0;
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new IndexShard(i, paths.get(i), settings);
+                shards[i].open();
+                documents += shards[i].numDocsAtOpen();
+            }
+            if (shardCount > 1) {
+                AtomicInteger threadNumber = new AtomicInteger();
+                this.searchExecutor = Executors.newFixedThreadPool(shardCount, runnable -> {
+                    Thread thread = new Thread(runnable, "vector-index-search-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            // Threads are started on demand, so indexes that never serve a batch search never create any
+            AtomicInteger batchThreadNumber = new AtomicInteger();
+            this.batchSearchExecutor = Executors.newFixedThreadPool(settings.getSearchThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "vector-index-batch-search-" + batchThreadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            IndexSettings.QueryCache cacheSettings = settings.getQueryCache();
+            if (cacheSettings.isEnabled()) {
+                this.queryCache = new QueryResultCache(cacheSettings.getMaxEntries(),
+                    (long) (cacheSettings.getMaxMemoryMb() * 1024 * 1024));
             }
-        } catch (IOException | ClassNotFoundException e) {
+            long compactionInterval = settings.getMerge().getCompactionIntervalMs();
+            if (compactionInterval > 0) {
+                this.compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "vector-index-compactor");
+                    // Only waits for the merges, which run on the merge scheduler's threads
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                compactionExecutor.scheduleWithFixedDelay(this::compactQuietly,
+                    compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+            }
+            logger.info("Opened {} vector index with {} shard(s), {} documents, {} similarity, {} durability, HNSW maxConn={} beamWidth={}",
+                settings.getDirectoryType(), shardCount, documents, settings.getSimilarity(), settings.getCommit().getDurability(),
+                settings.getHnsw().getMaxConn(), settings.getHnsw().getBeamWidth());
+        } catch (IOException e) {
             logger.error("Failed to initialize vector index", e);
             throw new RuntimeException("Failed to initialize vector index", e);
         }
     }
 
-    public void addVector(Vector vector) {
+    /**
+     * A single shard lives directly under the index path; multiple shards live in {@code shard-N} sub-directories.
+     * Refuses to open an on-disk index written with a different shard count, since its vectors would be
+     * routed to the wrong shards.
+     */
+    private List<Path> shardPaths(int shardCount) throws IOException {
+        Path indexPath = Paths.get(settings.getPath());
+        List<Path> paths = new ArrayList<>(shardCount);
+        if (settings.getDirectoryType() == IndexSettings.DirectoryType.MEMORY) {
+            for (int i = 0; i < shardCount; i++) paths.add(null);
+            return paths;
+        }
+        if (Files.isDirectory(indexPath)) {
+            long existingShards;
+            boolean unsharded;
+            try (Stream<Path> entries = Files.list(indexPath)) {
+                List<String> names = entries.map(entry -> entry.getFileName().toString()).toList();
+                existingShards = names.stream().filter(name -> name.startsWith(SHARD_DIRECTORY_PREFIX)).count();
+                unsharded = names.stream().anyMatch(name -> name.startsWith("segments"));
+            }
+            int existing = unsharded ? 1 : (int) existingShards;
+            if (existing > 0 && existing != shardCount) {
+                throw new IllegalStateException(String.format(
+                    "Index at %s was written with %d shard(s) but vector.index.shards is %d; reindex to change it",
+                    indexPath, existing, shardCount));
+            }
+        }
+        for (int i = 0; i < shardCount; i++) {
+            paths.add(shardCount == 1 ? indexPath : indexPath.resolve(SHARD_DIRECTORY_PREFIX + i));
+        }
+        return paths;
+    }
+
+    private IndexShard shardFor(String id) {
+        return shards[Math.floorMod(id.hashCode(), shards.length)];
+    }
+
+    /**
+     * Blocks on the commit future when durability is per request.
+     */
+    private CompletableFuture<Void> commitMutations(CompletableFuture<Void> commit) {
+        if (shards[0].isSynchronous()) {
+            try {
+                commit.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("Failed to commit Lucene index", e.getCause());
+            }
+        }
+        return commit;
+    }
+
+    /**
+     * Returns a future completed once every mutation applied so far has been committed on every shard.
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.allOf(Arrays.stream(shards).map(IndexShard::flush).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Adds or replaces a vector. The returned future completes when the change is committed;
+     * with per-request durability it is already complete on return.
+     */
+    public CompletableFuture<Void> addVector(Vector vector) {
         try {
-            removeVector(vector.getId()); // Remove if exists
-            Document doc = new Document();
-            doc.add(new StringField(ID_FIELD, vector.getId(), Field.Store.YES));
-            double[] embedding = vector.getEmbedding();
-            float[] floatEmbedding = new float[embedding.length];
-            for (int i = 0; i < embedding.length; i++) floatEmbedding[i] = (float) embedding[i];
-            doc.add(new KnnVectorField(VECTOR_FIELD, floatEmbedding));
-            indexWriter.addDocument(doc);
-            indexWriter.commit();
+            return commitMutations(shardFor(vector.getId()).addVector(vector));
         } catch (IOException e) {
             logger.error("Failed to add vector to Lucene index", e);
             throw new RuntimeException("Failed to add vector to Lucene index", e);
+        } finally {
+            writeGeneration.incrementAndGet();
         }
     }
 
-    public void removeVector(String id) {
+    /**
+     * Adds or replaces a batch of vectors with one delete and one {@code addDocuments} call per shard.
+     * All shards are written before waiting on any of them, so their refreshes and commits overlap.
+     */
+    public CompletableFuture<Void> addVectors(List<Vector> vectors) {
         try {
-            indexWriter.deleteDocuments(new Term(ID_FIELD, id));
-            indexWriter.commit();
+            List<List<Vector>> perShard = new ArrayList<>(shards.length);
+            for (int i = 0; i < shards.length; i++) perShard.add(new ArrayList<>());
+            for (Vector vector : vectors) {
+                perShard.get(Math.floorMod(vector.getId().hashCode(), shards.length)).add(vector);
+            }
+            long[] sequenceNumbers = new long[shards.length];
+            for (int i = 0; i < shards.length; i++) {
+                if (!perShard.get(i).isEmpty()) {
+                    sequenceNumbers[i] = shards[i].writeVectors(perShard.get(i));
+                }
+            }
+            List<CompletableFuture<Void>> commits = new ArrayList<>();
+            for (int i = 0; i < shards.length; i++) {
+                if (!perShard.get(i).isEmpty()) {
+                    shards[i].awaitSearchable(sequenceNumbers[i]);
+                    commits.add(shards[i].onMutation(perShard.get(i).size()));
+                }
+            }
+            return commitMutations(CompletableFuture.allOf(commits.toArray(CompletableFuture[]::new)));
+        } catch (IOException e) {
+            logger.error("Failed to add vector batch to Lucene index", e);
+            throw new RuntimeException("Failed to add vector batch to Lucene index", e);
+        } finally {
+            writeGeneration.incrementAndGet();
+        }
+    }
+
+    public CompletableFuture<Void> removeVector(String id) {
+        try {
+            return commitMutations(shardFor(id).removeVector(id));
         } catch (IOException e) {
             logger.error("Failed to remove vector from Lucene index", e);
             throw new RuntimeException("Failed to remove vector from Lucene index", e);
+        } finally {
+            writeGeneration.incrementAndGet();
+        }
+    }
+
+    /**
+     * Streams every live vector in the index to the consumer, reading the embedding
+     * straight from the committed vector values so storage can be rehydrated on start.
+     */
+    public void forEachVector(Consumer<Vector> consumer) {
+        try {
+            for (IndexShard shard : shards) {
+                shard.forEachVector(consumer);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read vectors from Lucene index", e);
+            throw new RuntimeException("Failed to read vectors from Lucene index", e);
+        }
+    }
+
+    public List<SearchHit> findNearestNeighbors(double[] queryVector, int k) {
+        return findNearestNeighbors(queryVector, SearchOptions.of(k));
+    }
+
+    /**
+     * Collects {@code numCandidates} nearest candidates from the HNSW graph of every shard and returns
+     * the best k overall with their similarity scores. Served from the query cache when the same search
+     * already ran since the last write.
+     */
+    public List<SearchHit> findNearestNeighbors(double[] queryVector, SearchOptions options) {
+        if (queryCache == null) {
+            return searchShards(queryVector, options);
+        }
+        return queryCache.get(queryVector, options, writeGeneration.get(), () -> searchShards(queryVector, options));
+    }
+
+    private List<SearchHit> searchShards(double[] queryVector, SearchOptions options) {
+        float[] floatQuery = shards[0].prepareQuery(queryVector);
+        Query filter = options.getFilter() == null ? null : MetadataFilterParser.parse(options.getFilter());
+        try {
+            if (shards.length == 1) {
+                return shards[0].search(floatQuery, filter, options);
+            }
+            List<Future<List<SearchHit>>> shardHits = new ArrayList<>(shards.length);
+            for (IndexShard shard : shards) {
+                shardHits.add(searchExecutor.submit(() -> shard.search(floatQuery, filter, options)));
+            }
+            return mergeTopK(shardHits, options.getK());
+        } catch (IOException e) {
+            logger.error("Failed to search Lucene index", e);
+            throw new RuntimeException("Failed to search Lucene index", e);
         }
     }
 
-    public List<String> findNearestNeighbors(double[] queryVector, int k) {
-        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
-            float[] floatQuery = new float[queryVector.length];
-            for (int i = 0; i < queryVector.length; i++) floatQuery[i] = (float) queryVector[i];
-            Query knnQuery = new KnnVectorQuery(VECTOR_FIELD, floatQuery, k);
-            TopDocs topDocs = searcher.search(knnQuery, k);
-            List<String> result = new ArrayList<>();
-            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-                Document doc = searcher.doc(scoreDoc.doc);
-                result.add(doc.get(ID_FIELD));
+    /**
+     * Runs several searches against one point-in-time searcher per shard, spreading every (query, shard) pair
+     * over the {@code vector.index.search-threads} batch search threads. Results are in query order.
+     */
+    public List<List<SearchHit>> findNearestNeighbors(List<double[]> queryVectors, List<SearchOptions> options) {
+        int queryCount = queryVectors.size();
+        float[][] floatQueries = new float[queryCount][];
+        Query[] filters = new Query[queryCount];
+        for (int q = 0; q < queryCount; q++) {
+            floatQueries[q] = shards[0].prepareQuery(queryVectors.get(q));
+            String filter = options.get(q).getFilter();
+            filters[q] = filter == null ? null : MetadataFilterParser.parse(filter);
+        }
+
+        IndexSearcher[] searchers = new IndexSearcher[shards.length];
+        try {
+            for (int s = 0; s < shards.length; s++) {
+                searchers[s] = shards[s].acquireSearcher();
+            }
+            List<CompletableFuture<List<SearchHit>>> tasks = new ArrayList<>(queryCount * shards.length);
+            for (int q = 0; q < queryCount; q++) {
+                for (int s = 0; s < shards.length; s++) {
+                    int query = q;
+                    IndexShard shard = shards[s];
+                    IndexSearcher searcher = searchers[s];
+                    tasks.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return shard.search(searcher, floatQueries[query], filters[query], options.get(query));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, batchSearchExecutor));
+                }
             }
-            return result;
+            // Every task has to finish before the searchers are released, failed ones included
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+            List<List<SearchHit>> results = new ArrayList<>(queryCount);
+            for (int q = 0; q < queryCount; q++) {
+                results.add(mergeTopK(tasks.subList(q * shards.length, (q + 1) * shards.length), options.get(q).getK()));
+            }
+            return results;
         } catch (IOException e) {
             logger.error("Failed to search Lucene index", e);
             throw new RuntimeException("Failed to search Lucene index", e);
+        } finally {
+            for (int s = 0; s < shards.length; s++) {
+                if (searchers[s] != null) {
+                    try {
+                        shards[s].releaseSearcher(searchers[s]);
+                    } catch (IOException e) {
+                        logger.warn("Failed to release searcher of shard {}", s, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges per-shard hit lists through a bounded min-heap, returning the best k by descending similarity.
+     */
+    private static List<SearchHit> mergeTopK(List<? extends Future<List<SearchHit>>> shardHits, int k) {
+        PriorityQueue<SearchHit> topK = new PriorityQueue<>(k + 1, Comparator.comparingDouble(SearchHit::getScore));
+        try {
+            for (Future<List<SearchHit>> future : shardHits) {
+                for (SearchHit hit : future.get()) {
+                    if (topK.size() < k) {
+                        topK.add(hit);
+                    } else if (hit.getScore() > topK.peek().getScore()) {
+                        topK.poll();
+                        topK.add(hit);
+                    } else {
+                        break; // Shard hits are sorted, the rest cannot make it either
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while searching Lucene index", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to search Lucene index shard", e.getCause());
+            throw new RuntimeException("Failed to search Lucene index", e.getCause());
+        }
+        SearchHit[] hits = new SearchHit[topK.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            hits[i] = topK.poll();
+        }
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * Checks every shard against the compaction thresholds and merges those that exceed them, one shard at a time.
+     *
+     * @return the number of shards that were compacted
+     */
+    public int compact() {
+        int compacted = 0;
+        try {
+            for (IndexShard shard : shards) {
+                if (shard.compact()) {
+                    compacted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to compact Lucene index", e);
+            throw new RuntimeException("Failed to compact Lucene index", e);
+        }
+        return compacted;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // Already logged; keep the schedule alive for the next run
         }
     }
 
     public boolean containsVector(String id) {
-        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
-            Query query = new TermQuery(new Term(ID_FIELD, id));
-            TopDocs topDocs = searcher.search(query, 1);
-            return topDocs.totalHits.value > 0;
+        try {
+            return shardFor(id).containsVector(id);
         } catch (IOException e) {
             logger.error("Failed to check vector existence in Lucene index", e);
             throw new RuntimeException("Failed to check vector existence in Lucene index", e);
         }
     }
 
+    public IndexSettings.Similarity getSimilarity() {
+        return settings.getSimilarity();
+    }
+
+    /**
+     * Converts an embedding into the form {@link #similarity} compares, normalized for the configured similarity.
+     */
+    public float[] prepare(double[] embedding) {
+        return VectorKernels.prepare(settings.getSimilarity(), embedding);
+    }
+
+    /**
+     * Scores two prepared embeddings with the configured similarity, on the scale of the search hit scores.
+     */
+    public double similarity(float[] a, float[] b) {
+        return VectorKernels.similarity(settings.getSimilarity(), a, b);
+    }
+
     public int getIndexSize() {
-        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
-            return reader.numDocs();
+        try {
+            int size = 0;
+            for (IndexShard shard : shards) {
+                size += shard.size();
+            }
+            return size;
         } catch (IOException e) {
             logger.error("Failed to get Lucene index size", e);
             throw new RuntimeException("Failed to get Lucene index size", e);
         }
     }
 
+    /**
+     * Returns refresh, reader, commit and merge statistics summed or maxed over all shards.
+     */
+    public Map<String, Object> getStats() {
+        long readerOpens = 0, lastRefreshNanos = Long.MAX_VALUE, lastRefreshLag = 0, maxRefreshLag = 0;
+        long commits = 0, lastCommitMs = 0;
+        int pendingOps = 0;
+        int segments = 0, mergesRunning = 0;
+        long maxDoc = 0, liveDocs = 0, mergesCompleted = 0, mergeMillis = 0, compactions = 0;
+        for (IndexShard shard : shards) {
+            try {
+                segments += shard.segmentCount();
+            } catch (IOException e) {
+                logger.error("Failed to read Lucene segment count", e);
+                throw new RuntimeException("Failed to read Lucene segment count", e);
+            }
+            IndexWriter.DocStats docStats = shard.docStats();
+            maxDoc += docStats.maxDoc;
+            liveDocs += docStats.numDocs;
+            mergesRunning += shard.getMergeScheduler().getRunningMerges();
+            mergesCompleted += shard.getMergeScheduler().getCompletedMerges();
+            mergeMillis += shard.getMergeScheduler().getTotalMergeMillis();
+            compactions += shard.getCompactions();
+            readerOpens += shard.getReaderOpens();
+            lastRefreshNanos = Math.min(lastRefreshNanos, shard.getLastRefreshNanos());
+            lastRefreshLag = Math.max(lastRefreshLag, shard.getLastRefreshLagNanos());
+            maxRefreshLag = Math.max(maxRefreshLag, shard.getMaxRefreshLagNanos());
+            commits += shard.getCommitter().getCommitCount();
+            pendingOps += shard.getCommitter().getPendingOps();
+            lastCommitMs = Math.max(lastCommitMs, shard.getCommitter().getLastCommitMillis());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(IndexStats.DOCUMENTS, getIndexSize());
+        stats.put(IndexStats.SHARDS, shards.length);
+        stats.put(IndexStats.READER_OPENS, readerOpens);
+        stats.put(IndexStats.MILLIS_SINCE_REFRESH, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRefreshNanos));
+        stats.put(IndexStats.LAST_REFRESH_LAG_MS, TimeUnit.NANOSECONDS.toMillis(lastRefreshLag));
+        stats.put(IndexStats.MAX_REFRESH_LAG_MS, TimeUnit.NANOSECONDS.toMillis(maxRefreshLag));
+        stats.put(IndexStats.DURABILITY, settings.getCommit().getDurability());
+        stats.put(IndexStats.COMMITS, commits);
+        stats.put(IndexStats.PENDING_COMMIT_OPS, pendingOps);
+        stats.put(IndexStats.LAST_COMMIT_MS, lastCommitMs);
+        stats.put(IndexStats.SEGMENTS, segments);
+        stats.put(IndexStats.DELETED_DOCS_RATIO, maxDoc == 0 ? 0.0 : (double) (maxDoc - liveDocs) / maxDoc);
+        stats.put(IndexStats.MERGES_RUNNING, mergesRunning);
+        stats.put(IndexStats.MERGES_COMPLETED, mergesCompleted);
+        stats.put(IndexStats.MERGE_TIME_MS, mergeMillis);
+        stats.put(IndexStats.COMPACTIONS, compactions);
+        if (queryCache != null) {
+            stats.put(IndexStats.QUERY_CACHE_ENTRIES, queryCache.size());
+            stats.put(IndexStats.QUERY_CACHE_BYTES, queryCache.getBytes());
+            stats.put(IndexStats.QUERY_CACHE_HITS, queryCache.getHits());
+            stats.put(IndexStats.QUERY_CACHE_MISSES, queryCache.getMisses());
+            stats.put(IndexStats.QUERY_CACHE_COALESCED, queryCache.getCoalesced());
+            stats.put(IndexStats.QUERY_CACHE_HIT_RATE, queryCache.getHitRate());
+            stats.put(IndexStats.QUERY_CACHE_EVICTIONS, queryCache.getEvictions());
+            stats.put(IndexStats.QUERY_CACHE_STALE_DROPS, queryCache.getStaleDrops());
+        }
+        return stats;
+    }
+
     @PreDestroy
     public void cleanup() {
-        try {
-            indexWriter.close();
-        } catch (IOException e) {
-            logger.error("Failed to close Lucene index during cleanup", e);
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdown();
+        }
+        if (searchExecutor != null) {
+            searchExecutor.shutdown();
+        }
+        if (batchSearchExecutor != null) {
+            batchSearchExecutor.shutdown();
+        }
+        for (IndexShard shard : shards) {
+            shard.close();
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item within a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    /**
+     * Per-item outcome of a batch insert.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    /** Position of the item in the request */
+    private int index;
+
+    /** Identifier of the stored vector, if one was assigned */
+    private String id;
+
+    /** Outcome of the item */
+    private Status status;
+
+    /** Reason the item was rejected, null when created */
+    private String message;
+}
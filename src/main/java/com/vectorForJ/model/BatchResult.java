@@ -0,0 +1,24 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response for a batch insert, with one result per request item in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    /** Number of vectors stored */
+    private int created;
+
+    /** Number of items rejected or failed */
+    private int rejected;
+
+    /** Per-item results, in request order */
+    private List<BatchItemResult> items;
+}
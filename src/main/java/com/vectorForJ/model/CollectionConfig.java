@@ -0,0 +1,56 @@
+package com.vectorForJ.model;
+
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Definition of a named collection. Unset optional fields fall back to the global {@code vector.index.*} settings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionConfig {
+
+    /**
+     * Storage backend of a collection.
+     */
+    public enum Engine {
+        /** Lucene HNSW index */
+        LUCENE,
+        /** Lucene HNSW index with embeddings kept in an off-heap arena instead of heap objects */
+        OFF_HEAP,
+        /** Heap-only brute-force scan */
+        EXACT
+    }
+
+    /** Collection name, used in URLs and as the on-disk directory name */
+    private String name;
+
+    /** Dimension every vector and query in the collection must have */
+    private int dimension;
+
+    /** Similarity function; defaults to {@code vector.index.similarity} */
+    private IndexSettings.Similarity similarity;
+
+    /** Storage backend; defaults to {@link Engine#LUCENE} */
+    private Engine engine;
+
+    /** Index directory type for the Lucene engines; defaults to {@code vector.index.directory-type} */
+    private IndexSettings.DirectoryType directoryType;
+
+    /** Shard count for the Lucene engines; defaults to {@code vector.index.shards} */
+    private Integer shards;
+
+    /** Write durability for the Lucene engines; defaults to {@code vector.index.commit.durability} */
+    private IndexSettings.Durability durability;
+
+    /** Duplicate check on insert; defaults to {@code vector.dedupe.mode} */
+    private DedupeSettings.Mode dedupe;
+
+    public CollectionConfig(String name, int dimension) {
+        this(name, dimension, null, null, null, null, null, null);
+    }
+}
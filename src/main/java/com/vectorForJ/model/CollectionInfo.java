@@ -0,0 +1,19 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A collection's resolved configuration together with its current size.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionInfo {
+    /** Configuration with defaults filled in */
+    private CollectionConfig config;
+
+    /** Number of vectors stored in the collection */
+    private int vectors;
+}
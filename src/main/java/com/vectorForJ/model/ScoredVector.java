@@ -0,0 +1,19 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search result: a stored vector together with its similarity to the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoredVector {
+    /** The matching vector */
+    private Vector vector;
+
+    /** Similarity to the query as computed by the index (cosine similarity, higher is closer) */
+    private double score;
+}
@@ -0,0 +1,37 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-request knobs for a nearest neighbor search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchOptions {
+    /** Number of results to return */
+    private int k;
+
+    /** HNSW candidates collected before trimming to k (ef); null means k */
+    private Integer numCandidates;
+
+    /** Metadata filter expression applied during the graph walk; null searches everything */
+    private String filter;
+
+    public SearchOptions(int k, Integer numCandidates) {
+        this(k, numCandidates, null);
+    }
+
+    public static SearchOptions of(int k) {
+        return new SearchOptions(k, null, null);
+    }
+
+    /**
+     * Returns the candidate list size to search with, never less than k.
+     */
+    public int candidatesToCollect() {
+        return numCandidates == null ? k : Math.max(k, numCandidates);
+    }
+}
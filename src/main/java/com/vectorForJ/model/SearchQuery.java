@@ -0,0 +1,46 @@
+package com.vectorForJ.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.constants.ApplicationConstants.Validation;
+
+/**
+ * One query of a batch search, with its own search options.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchQuery {
+    /** Query embedding */
+    @NotNull(message = Validation.EMBEDDING_NOT_NULL)
+    private double[] vector;
+
+    /** Number of results to return; null uses the request default */
+    @Min(value = 1, message = Validation.K_POSITIVE)
+    @Max(value = Defaults.MAX_K, message = Validation.K_TOO_LARGE)
+    private Integer k;
+
+    /** HNSW candidates collected before trimming to k (ef); null means k */
+    @Min(value = 1, message = Validation.CANDIDATES_POSITIVE)
+    @Max(value = Defaults.MAX_K, message = Validation.CANDIDATES_TOO_LARGE)
+    private Integer numCandidates;
+
+    /** Metadata filter expression; null searches everything */
+    private String filter;
+
+    public SearchQuery(double[] vector, Integer k) {
+        this(vector, k, null, null);
+    }
+
+    /**
+     * Returns the search options of this query, using {@code defaultK} when it has no k of its own.
+     */
+    public SearchOptions toOptions(int defaultK) {
+        return new SearchOptions(k == null ? defaultK : k, numCandidates, filter);
+    }
+}
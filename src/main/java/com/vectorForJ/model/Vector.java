@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.vectorForJ.constants.ApplicationConstants.Validation;
 
+import java.util.Map;
+
 /**
  * Represents a vector in the vector database with its embedding and metadata.
  */
@@ -27,4 +29,11 @@ public class Vector {
     /** Dimension of the vector */
     @Positive(message = Validation.DIMENSION_POSITIVE)
     private int dimension;
+
+    /** Structured key/value metadata; strings and numbers are indexed so searches can filter on them */
+    private Map<String, Object> attributes;
+
+    public Vector(String id, double[] embedding, String metadata, int dimension) {
+        this(id, embedding, metadata, dimension, null);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.vectorForJ.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged walk over all vectors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VectorPage {
+    /** Vectors of this page */
+    private List<Vector> vectors;
+
+    /** Opaque cursor of the next page, or null when this is the last one */
+    private String nextCursor;
+}
@@ -3,6 +3,8 @@ package com.vectorForJ.service;
 import org.springframework.web.multipart.MultipartFile;
 import com.vectorForJ.model.Vector;
 
+import java.util.Map;
+
 /**
  * Service for processing documents and generating vector embeddings.
  */
@@ -21,4 +23,14 @@ public interface DocumentProcessingService {
      * Processes a document file and creates a vector.
      */
     Vector processDocument(MultipartFile file);
+
+    /**
+     * Returns whether the models are loaded; until then embedding requests wait for them.
+     */
+    boolean isReady();
+
+    /**
+     * Returns embedding model and cache statistics.
+     */
+    Map<String, Object> getStats();
 } 
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.vectorForJ.service;
 
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,25 +17,47 @@ public interface VectorService {
      */
     Vector createVector(Vector vector);
 
+    /**
+     * Creates or updates a batch of vectors, reporting a status per item.
+     */
+    BatchResult createVectors(List<Vector> vectors);
+
     /**
      * Retrieves a vector by ID.
      */
     Optional<Vector> getVector(String id);
 
     /**
-     * Retrieves all vectors.
+     * Retrieves all vectors at once; use {@link #getVectors} for anything but small collections.
      */
     List<Vector> getAllVectors();
 
+    /**
+     * Retrieves up to {@code limit} vectors following an opaque cursor ({@code null} for the first page).
+     * Without embeddings, returned vectors have a {@code null} embedding but keep their dimension.
+     */
+    VectorPage getVectors(String cursor, int limit, boolean includeEmbeddings);
+
     /**
      * Deletes a vector by ID.
      */
     void deleteVector(String id);
 
     /**
-     * Finds k most similar vectors to the query vector.
+     * Finds k most similar vectors to the query vector, with their similarity scores.
+     */
+    List<ScoredVector> findSimilarVectors(double[] queryVector, int k);
+
+    /**
+     * Finds the most similar vectors to the query vector using per-request search options.
+     */
+    List<ScoredVector> findSimilarVectors(double[] queryVector, SearchOptions options);
+
+    /**
+     * Runs several searches against the same point-in-time view of the index, returning their results in
+     * query order.
      */
-    List<Vector> findSimilarVectors(double[] queryVector, int k);
+    List<List<ScoredVector>> findSimilarVectors(List<double[]> queryVectors, List<SearchOptions> options);
 
     /**
      * Returns total number of vectors.
@@ -1,5 +1,9 @@
 package com.vectorForJ.service.impl;
 
+import com.vectorForJ.config.EmbeddingSettings;
+import com.vectorForJ.constants.ApplicationConstants.EmbeddingStats;
+import com.vectorForJ.embedding.WordVectorFile;
+import com.vectorForJ.embedding.WordVectorTable;
 import com.vectorForJ.exception.DocumentProcessingException;
 import com.vectorForJ.model.Vector;
 import com.vectorForJ.service.DocumentProcessingService;
@@ -27,19 +31,28 @@ import org.springframework.core.env.Environment;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 @Service
 public class DocumentProcessingServiceImpl implements DocumentProcessingService {
     private static final Logger logger = LoggerFactory.getLogger(DocumentProcessingServiceImpl.class);
     private final Tika tika;
-    private final Word2Vec word2Vec;
-    private final TokenizerME tokenizer;
-    private final POSTaggerME posTagger;
-    private final StanfordCoreNLP pipeline;
-    private final TokenizerFactory tokenizerFactory;
-
-    private static final String MODEL_PATH = "src/test/resources/test-model.txt";
+    private final EmbeddingCache embeddingCache;
+    /** Completes once the OpenNLP and word2vec models are loaded; requests wait on it until then */
+    private final CompletableFuture<Models> models;
+    /** CoreNLP pipeline, built only when {@code vector.embedding.core-nlp-pipeline} is set */
+    private final CompletableFuture<StanfordCoreNLP> pipeline;
+    private volatile long modelLoadMillis = -1;
+
+    private static final AtomicLong MODEL_GENERATIONS = new AtomicLong();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
     private static final int MIN_WORDS_FOR_EMBEDDING = 2;
     private static final double UNKNOWN_WORD_WEIGHT = 0.1;
     private static final double NOUN_WEIGHT = 1.2;
@@ -56,176 +69,277 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
     @Autowired
     private Environment environment;
 
+    /**
+     * Everything embedding generation needs from the loaded models.
+     */
+    private static final class Models {
+        /** Vocabulary and vectors of the word2vec model, packed for allocation-free pooling */
+        final WordVectorTable wordVectors;
+        /** Thread-confined tokenizer and tagger pairs over the shared OpenNLP models; null when the models are missing */
+        final InstancePool<Tagger> taggers;
+        /** Identifies the loaded word2vec model; cached embeddings of another generation are not served */
+        final long generation = MODEL_GENERATIONS.incrementAndGet();
+
+        Models(WordVectorTable wordVectors, InstancePool<Tagger> taggers) {
+            this.wordVectors = wordVectors;
+            this.taggers = taggers;
+        }
+    }
+
     public DocumentProcessingServiceImpl() {
+        this(new EmbeddingSettings());
+    }
+
+    /**
+     * Starts loading the OpenNLP models, the word2vec model and, if configured, the CoreNLP pipeline in parallel.
+     * With {@code vector.embedding.load-in-background} they load on daemon threads and the constructor returns at
+     * once; otherwise they load on the calling thread and a failure fails construction.
+     */
+    @Autowired
+    public DocumentProcessingServiceImpl(EmbeddingSettings settings) {
         this.tika = new Tika();
-        try {
-            // Initialize OpenNLP components
-            InputStream tokenModelIn = getClass().getResourceAsStream("/models/en-token.bin");
-            InputStream posModelIn = getClass().getResourceAsStream("/models/en-pos-maxent.bin");
+        EmbeddingSettings.Cache cacheSettings = settings.getCache();
+        this.embeddingCache = cacheSettings.isEnabled()
+            ? new EmbeddingCache(cacheSettings.getMaxEntries(), (long) (cacheSettings.getMaxMemoryMb() * 1024 * 1024))
+            : null;
+
+        long start = System.nanoTime();
+        ExecutorService loader = null;
+        Executor executor = Runnable::run;
+        if (settings.isLoadInBackground()) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            loader = Executors.newFixedThreadPool(3, runnable -> {
+                Thread thread = new Thread(runnable, "embedding-model-loader-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = loader;
+        }
+        CompletableFuture<InstancePool<Tagger>> taggers =
+            CompletableFuture.supplyAsync(() -> loadTaggers(settings.getTaggerPoolSize()), executor);
+        CompletableFuture<WordVectorTable> wordVectors =
+            CompletableFuture.supplyAsync(() -> loadWordVectors(settings.getModelPath()), executor);
+        this.pipeline = settings.isCoreNlpPipeline()
+            ? CompletableFuture.supplyAsync(DocumentProcessingServiceImpl::buildPipeline, executor)
+            : null;
+        if (loader != null) {
+            // Lets the submitted loads finish, then releases the threads
+            loader.shutdown();
+        }
+        if (pipeline != null) {
+            pipeline.whenComplete((built, e) -> {
+                if (e != null) {
+                    logger.error("Error building CoreNLP pipeline: {}", e.getMessage(), e);
+                }
+            });
+        }
 
-            if (tokenModelIn == null || posModelIn == null) {
-                logger.warn("OpenNLP models not found in resources. Using basic tokenization.");
-                this.tokenizer = null;
-                this.posTagger = null;
+        this.models = taggers.thenCombine(wordVectors, (taggerPool, table) -> new Models(table, taggerPool));
+        models.whenComplete((loaded, e) -> {
+            modelLoadMillis = (System.nanoTime() - start) / 1_000_000;
+            if (e != null) {
+                logger.error("Error initializing models: {}", e.getMessage(), e);
             } else {
-                this.tokenizer = new TokenizerME(new TokenizerModel(tokenModelIn));
-                this.posTagger = new POSTaggerME(new POSModel(posModelIn));
-                logger.info("Successfully initialized OpenNLP components");
+                logger.info("Embedding models ready after {} ms", modelLoadMillis);
             }
+        });
+        if (!settings.isLoadInBackground()) {
+            models();
+        }
+    }
 
-            // Initialize NLP pipeline
-            Properties props = new Properties();
-            props.setProperty("annotators", "tokenize,ssplit,pos,lemma");
-            this.pipeline = new StanfordCoreNLP(props);
-
-            // Initialize tokenizer
-            tokenizerFactory = new DefaultTokenizerFactory();
-            // No preprocessor needed for simple test model
+    private static InstancePool<Tagger> loadTaggers(int poolSize) {
+        try (InputStream tokenModelIn = DocumentProcessingServiceImpl.class.getResourceAsStream("/models/en-token.bin");
+             InputStream posModelIn = DocumentProcessingServiceImpl.class.getResourceAsStream("/models/en-pos-maxent.bin")) {
+            if (tokenModelIn == null || posModelIn == null) {
+                logger.warn("OpenNLP models not found in resources. Using basic tokenization.");
+                return null;
+            }
+            // The models are immutable and shared; each pooled tokenizer and tagger is used by one thread at a time
+            TokenizerModel tokenizerModel = new TokenizerModel(tokenModelIn);
+            POSModel posModel = new POSModel(posModelIn);
+            logger.info("Successfully initialized OpenNLP components with up to {} tagger instances", poolSize);
+            return new InstancePool<>(() -> new Tagger(tokenizerModel, posModel), poolSize);
+        } catch (IOException e) {
+            throw new DocumentProcessingException("Failed to load OpenNLP models", e);
+        }
+    }
 
-            // Load or create model
-            File modelFile = new File(MODEL_PATH);
-            if (modelFile.exists()) {
-                logger.info("Loading existing model from: {}", MODEL_PATH);
-                word2Vec = WordVectorSerializer.readWord2VecModel(modelFile);
-            } else {
-                logger.warn("Model file not found at: {}. Using small random model.", MODEL_PATH);
+    private static WordVectorTable loadWordVectors(String modelPath) {
+        Word2Vec word2Vec;
+        File modelFile = new File(modelPath);
+        if (modelFile.exists() && modelPath.endsWith(WordVectorFile.EXTENSION)) {
+            logger.info("Mapping binary word vector file: {}", modelPath);
+            try {
+                WordVectorTable wordVectors = WordVectorFile.read(modelFile.toPath());
+                logger.info("Mapped {} word vectors of dimension {}", wordVectors.size(), wordVectors.dimension());
+                return wordVectors;
+            } catch (IOException e) {
+                throw new DocumentProcessingException("Failed to load word vector file " + modelPath, e);
+            }
+        } else if (modelFile.exists()) {
+            logger.info("Loading existing model from: {}", modelPath);
+            word2Vec = WordVectorSerializer.readWord2VecModel(modelFile);
+        } else {
+            logger.warn("Model file not found at: {}. Using small random model.", modelPath);
+            try {
                 // Create a small random model for testing
-                this.word2Vec = new Word2Vec.Builder()
+                TokenizerFactory tokenizerFactory = new DefaultTokenizerFactory();
+                word2Vec = new Word2Vec.Builder()
                         .minWordFrequency(1)
                         .iterations(1)
                         .layerSize(2)
                         .seed(42)
                         .windowSize(5)
-                        .iterate(new BasicLineIterator(new File(MODEL_PATH)))
-                        .tokenizerFactory(this.tokenizerFactory)
+                        .iterate(new BasicLineIterator(modelFile))
+                        .tokenizerFactory(tokenizerFactory)
                         .build();
-                this.word2Vec.fit();
+            } catch (Exception e) {
+                throw new DocumentProcessingException("Failed to load word2vec model", e);
             }
-        } catch (Exception e) {
-            logger.error("Error initializing models: {}", e.getMessage(), e);
-            throw new DocumentProcessingException("Failed to initialize NLP models", e);
+            word2Vec.fit();
         }
+        WordVectorTable wordVectors = WordVectorTable.fromWord2Vec(word2Vec);
+        logger.info("Packed {} word vectors of dimension {}", wordVectors.size(), wordVectors.dimension());
+        return wordVectors;
     }
 
-    private static class ProcessedWord {
-        final String word;
-        final String pos;
-        final double weight;
+    private static StanfordCoreNLP buildPipeline() {
+        Properties props = new Properties();
+        props.setProperty("annotators", "tokenize,ssplit,pos,lemma");
+        return new StanfordCoreNLP(props);
+    }
 
-        ProcessedWord(String word, String pos, double nounWeight, double verbWeight, double adjWeight) {
-            this.word = word;
-            this.pos = pos;
-            this.weight = calculateWeight(pos, nounWeight, verbWeight, adjWeight);
+    /**
+     * Returns the loaded models, waiting for them if they are still loading.
+     */
+    private Models models() {
+        try {
+            return models.join();
+        } catch (CompletionException e) {
+            throw new DocumentProcessingException("Failed to initialize NLP models", e.getCause());
         }
+    }
 
-        private static double calculateWeight(String pos, double nounWeight, double verbWeight, double adjWeight) {
-            if (pos.startsWith("NN")) return nounWeight;      // Nouns
-            if (pos.startsWith("VB")) return verbWeight;      // Verbs
-            if (pos.startsWith("JJ")) return adjWeight;       // Adjectives
-            return 1.0;                                        // Other parts of speech
-        }
+    @Override
+    public boolean isReady() {
+        return models.isDone() && !models.isCompletedExceptionally();
     }
 
-    private List<ProcessedWord> preprocessText(String text) {
-        if (tokenizer == null || posTagger == null) {
-            // Fallback to basic tokenization if OpenNLP models are not available
-            return Arrays.stream(text.toLowerCase().split("\\s+"))
-                .map(String::trim)
-                .filter(word -> !word.isEmpty())
-                .map(word -> new ProcessedWord(word, "UNKNOWN", nounWeight, verbWeight, adjWeight))
-                .collect(Collectors.toList());
+    /**
+     * A tokenizer and POS tagger pair. Neither OpenNLP class is thread-safe, so a pair is only ever used
+     * by the thread that borrowed it from {@link Models#taggers}.
+     */
+    private static final class Tagger {
+        private final TokenizerME tokenizer;
+        private final POSTaggerME posTagger;
+
+        Tagger(TokenizerModel tokenizerModel, POSModel posModel) {
+            this.tokenizer = new TokenizerME(tokenizerModel);
+            this.posTagger = new POSTaggerME(posModel);
         }
 
-        try {
-            // Tokenize
-            String[] tokens = tokenizer.tokenize(text.toLowerCase());
-            
-            // Get POS tags
-            String[] posTags = posTagger.tag(tokens);
-
-            // Process each word with its POS tag
-            List<ProcessedWord> processedWords = new ArrayList<>();
-            for (int i = 0; i < tokens.length; i++) {
-                if (!tokens[i].trim().isEmpty()) {
-                    processedWords.add(new ProcessedWord(tokens[i], posTags[i], nounWeight, verbWeight, adjWeight));
-                }
-            }
-
-            // Log POS statistics
-            Map<String, Long> posStats = processedWords.stream()
-                .collect(Collectors.groupingBy(w -> w.pos, Collectors.counting()));
-            logger.debug("POS statistics: {}", posStats);
-
-            return processedWords;
-        } catch (Exception e) {
-            logger.warn("Error in advanced text preprocessing, falling back to basic tokenization: {}", e.getMessage());
-            return Arrays.stream(text.toLowerCase().split("\\s+"))
-                .map(String::trim)
-                .filter(word -> !word.isEmpty())
-                .map(word -> new ProcessedWord(word, "UNKNOWN", nounWeight, verbWeight, adjWeight))
-                .collect(Collectors.toList());
+        /**
+         * Returns the tokens of the text followed by their POS tags.
+         */
+        String[][] tag(String text) {
+            String[] tokens = tokenizer.tokenize(text);
+            return new String[][]{tokens, posTagger.tag(tokens)};
         }
     }
 
+    private double posWeight(String pos) {
+        if (pos.startsWith("NN")) return nounWeight;      // Nouns
+        if (pos.startsWith("VB")) return verbWeight;      // Verbs
+        if (pos.startsWith("JJ")) return adjWeight;       // Adjectives
+        return 1.0;                                        // Other parts of speech
+    }
+
+    /**
+     * Lower-cases the text and collapses whitespace runs, which the tokenizers treat as single separators anyway,
+     * so texts differing only in case or spacing share a cache entry.
+     */
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase();
+    }
+
+    /**
+     * Generates the embedding of the text, served from the embedding cache when the same normalized text
+     * was embedded with the current model before.
+     */
     @Override
     public double[] generateEmbedding(String text) {
         if (StringUtils.isBlank(text)) {
             throw new DocumentProcessingException("Input text cannot be empty");
         }
+        Models loaded = models();
+        String normalized = normalize(text);
+        if (embeddingCache == null) {
+            return computeEmbedding(loaded, normalized);
+        }
+        return embeddingCache.get(normalized, loaded.generation, () -> computeEmbedding(loaded, normalized));
+    }
 
-        List<ProcessedWord> processedWords = preprocessText(text);
-        if (processedWords.size() < minWordsForEmbedding) {
-            throw new DocumentProcessingException(
-                String.format("Input text must contain at least %d words", minWordsForEmbedding));
+    /**
+     * Pools the POS-weighted vectors of the words in one pass over the tokens. Known words are added straight
+     * from the packed table and unknown words as their hashed vectors at reduced weight, so the only allocations
+     * are the tokenizer's arrays and the returned embedding.
+     */
+    private double[] computeEmbedding(Models loaded, String text) {
+        WordVectorTable wordVectors = loaded.wordVectors;
+        String[] tokens = null;
+        String[] posTags = null;
+        if (loaded.taggers != null) {
+            try {
+                String[][] tagged = loaded.taggers.apply(tagger -> tagger.tag(text));
+                tokens = tagged[0];
+                posTags = tagged[1];
+            } catch (Exception e) {
+                logger.warn("Error in advanced text preprocessing, falling back to basic tokenization: {}", e.getMessage());
+                tokens = null;
+                posTags = null;
+            }
+        }
+        if (tokens == null) {
+            // Fallback to basic tokenization if OpenNLP models are not available
+            tokens = WHITESPACE.split(text);
         }
 
-        // Track known and unknown words with their weights
-        List<ProcessedWord> knownWords = new ArrayList<>();
-        List<ProcessedWord> unknownWords = new ArrayList<>();
-        
-        for (ProcessedWord word : processedWords) {
-            if (word2Vec.hasWord(word.word)) {
-                knownWords.add(word);
+        double[] embedding = new double[wordVectors.dimension()];
+        double totalWeight = 0.0;
+        int words = 0;
+        int knownWords = 0;
+        for (int t = 0; t < tokens.length; t++) {
+            String token = tokens[t];
+            if (token.isBlank()) {
+                continue;
+            }
+            words++;
+            double weight = posTags == null ? 1.0 : posWeight(posTags[t]);
+            int row = wordVectors.row(token);
+            if (row >= 0) {
+                wordVectors.addRow(row, weight, embedding);
+                totalWeight += weight;
+                knownWords++;
             } else {
-                unknownWords.add(word);
+                // Unknown words contribute with reduced weight
+                wordVectors.addHashed(token, weight * unknownWordWeight, embedding);
+                totalWeight += weight * unknownWordWeight;
             }
         }
 
-        // Log word statistics
-        logger.debug("Text processing stats - Total words: {}, Known words: {}, Unknown words: {}", 
-            processedWords.size(), knownWords.size(), unknownWords.size());
-
-        if (knownWords.isEmpty()) {
+        if (words < minWordsForEmbedding) {
             throw new DocumentProcessingException(
-                "No known words found in the text. Please use different words or check the input.");
+                String.format("Input text must contain at least %d words", minWordsForEmbedding));
         }
 
-        // Generate embedding by combining known and unknown word vectors
-        double[] embedding = new double[word2Vec.getLayerSize()];
-        double totalWeight = 0.0;
-
-        // Process known words with their respective weights
-        for (ProcessedWord word : knownWords) {
-            double[] wordVector = word2Vec.getWordVector(word.word);
-            for (int i = 0; i < wordVector.length; i++) {
-                embedding[i] += wordVector[i] * word.weight;
-            }
-            totalWeight += word.weight;
-        }
+        // Log word statistics
+        logger.debug("Text processing stats - Total words: {}, Known words: {}, Unknown words: {}",
+            words, knownWords, words - knownWords);
 
-        // Process unknown words with reduced weight
-        if (!unknownWords.isEmpty()) {
-            Random random = new Random(42);
-            for (ProcessedWord word : unknownWords) {
-                double[] randomVector = new double[word2Vec.getLayerSize()];
-                for (int i = 0; i < randomVector.length; i++) {
-                    randomVector[i] = (random.nextDouble() * 2 - 1) * unknownWordWeight * word.weight;
-                }
-                for (int i = 0; i < randomVector.length; i++) {
-                    embedding[i] += randomVector[i];
-                }
-                totalWeight += word.weight * unknownWordWeight;
-            }
+        if (knownWords == 0) {
+            throw new DocumentProcessingException(
+                "No known words found in the text. Please use different words or check the input.");
         }
 
         // Normalize the embedding
@@ -259,6 +373,33 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
         return embedding;
     }
 
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(EmbeddingStats.READY, isReady());
+        stats.put(EmbeddingStats.MODEL_LOAD_MS, modelLoadMillis);
+        Models loaded = isReady() ? models.join() : null;
+        if (loaded != null) {
+            stats.put(EmbeddingStats.DIMENSION, loaded.wordVectors.dimension());
+            stats.put(EmbeddingStats.VOCABULARY, loaded.wordVectors.size());
+        }
+        if (embeddingCache != null) {
+            stats.put(EmbeddingStats.CACHE_ENTRIES, embeddingCache.size());
+            stats.put(EmbeddingStats.CACHE_BYTES, embeddingCache.getBytes());
+            stats.put(EmbeddingStats.CACHE_HITS, embeddingCache.getHits());
+            stats.put(EmbeddingStats.CACHE_MISSES, embeddingCache.getMisses());
+            stats.put(EmbeddingStats.CACHE_HIT_RATE, embeddingCache.getHitRate());
+            stats.put(EmbeddingStats.CACHE_EVICTIONS, embeddingCache.getEvictions());
+            stats.put(EmbeddingStats.CACHE_STALE_DROPS, embeddingCache.getStaleDrops());
+            stats.put(EmbeddingStats.CACHE_SAVED_MS, embeddingCache.getSavedMillis());
+        }
+        if (loaded != null && loaded.taggers != null) {
+            stats.put(EmbeddingStats.TAGGERS, loaded.taggers.getCreated());
+            stats.put(EmbeddingStats.TAGGER_WAITS, loaded.taggers.getWaits());
+        }
+        return stats;
+    }
+
     @Override
     public String extractText(MultipartFile file) {
         try {
@@ -0,0 +1,149 @@
+package com.vectorForJ.service.impl;
+
+import com.vectorForJ.cache.GenerationalLruCache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of text embeddings keyed by a 128-bit SHA-256 prefix of the normalized text.
+ *
+ * <p>Embeddings are kept as float32, so an entry costs a fixed overhead plus four bytes per dimension; the text
+ * itself is not retained. Every lookup returns a fresh {@code double[]} widened from the stored floats, also on a
+ * miss, so callers see the same values whether or not the embedding was cached. Entries live in a
+ * {@link GenerationalLruCache} tagged with the generation of the model they were computed with, so loading a model
+ * never has to flush the cache. The time saved is estimated per hit as the mean miss latency minus the hit's own
+ * latency. Thread-safe.
+ */
+final class EmbeddingCache {
+    /** Map node, key, entry and array headers of one entry */
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final GenerationalLruCache<Key, float[]> entries;
+
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    EmbeddingCache(int maxEntries, long maxBytes) {
+        this.entries = new GenerationalLruCache<>(maxEntries, maxBytes, "vector.embedding.cache");
+    }
+
+    /**
+     * Returns the cached embedding of {@code normalizedText} under {@code generation}, or runs {@code embed} and
+     * caches its result. Failures are not cached.
+     */
+    double[] get(String normalizedText, long generation, Supplier<double[]> embed) {
+        long start = System.nanoTime();
+        Key key = Key.of(normalizedText);
+        float[] cached = entries.get(key, generation);
+        if (cached != null) {
+            double[] embedding = widen(cached);
+            recordSaving(System.nanoTime() - start);
+            return embedding;
+        }
+
+        float[] embedding = narrow(embed.get());
+        misses.increment();
+        missNanos.add(System.nanoTime() - start);
+        entries.put(key, generation, embedding, ENTRY_OVERHEAD_BYTES + 4L * embedding.length);
+        return widen(embedding);
+    }
+
+    private void recordSaving(long hitNanos) {
+        long missCount = misses.sum();
+        if (missCount > 0) {
+            savedNanos.add(Math.max(0, missNanos.sum() / missCount - hitNanos));
+        }
+    }
+
+    private static float[] narrow(double[] values) {
+        float[] narrowed = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            narrowed[i] = (float) values[i];
+        }
+        return narrowed;
+    }
+
+    private static double[] widen(float[] values) {
+        double[] widened = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            widened[i] = values[i];
+        }
+        return widened;
+    }
+
+    long getHits() {
+        return entries.getHits();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    long getStaleDrops() {
+        return entries.getStaleDrops();
+    }
+
+    double getHitRate() {
+        long served = getHits();
+        long total = served + getMisses();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    /**
+     * Estimated time the hits saved over computing their embeddings again.
+     */
+    long getSavedMillis() {
+        return savedNanos.sum() / 1_000_000;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getBytes() {
+        return entries.getBytes();
+    }
+
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        static Key of(String text) {
+            ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(text.getBytes(StandardCharsets.UTF_8)));
+            return new Key(hash.getLong(), hash.getLong());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.vectorForJ.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of instances that must not be used by two threads at once, such as OpenNLP's
+ * {@code TokenizerME} and {@code POSTaggerME}.
+ *
+ * <p>Instances are created on demand up to {@code maxSize}; once that many exist, a thread that finds none idle
+ * waits for one to be returned. Each instance is used by one thread at a time, so it needs no locking of its own.
+ */
+final class InstancePool<T> {
+    private final Supplier<T> factory;
+    private final int maxSize;
+    private final BlockingQueue<T> idle;
+    private final AtomicInteger created = new AtomicInteger();
+    private final LongAdder waits = new LongAdder();
+
+    InstancePool(Supplier<T> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalStateException("Pool size must be at least 1");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Runs {@code action} with an instance held exclusively by the calling thread for its duration.
+     */
+    <R> R apply(Function<T, R> action) {
+        T instance = acquire();
+        try {
+            return action.apply(instance);
+        } finally {
+            idle.offer(instance);
+        }
+    }
+
+    private T acquire() {
+        T instance = idle.poll();
+        if (instance != null) {
+            return instance;
+        }
+        for (int count = created.get(); count < maxSize; count = created.get()) {
+            if (created.compareAndSet(count, count + 1)) {
+                try {
+                    return factory.get();
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        waits.increment();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled instance", e);
+        }
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Instances created so far */
+    int getCreated() {
+        return created.get();
+    }
+
+    /** Acquisitions that had to wait for an instance to be returned */
+    long getWaits() {
+        return waits.sum();
+    }
+}
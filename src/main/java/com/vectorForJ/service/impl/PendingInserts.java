@@ -0,0 +1,160 @@
+package com.vectorForJ.service.impl;
+
+import com.vectorForJ.similarity.VectorKernels;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inserts that have passed validation but are not yet searchable in the storage.
+ *
+ * <p>Duplicate detection searches the storage, which cannot see an insert still in flight on another thread.
+ * Each insert therefore registers here first and is later checked against the inserts registered before it,
+ * so of two racing near-duplicates the later one sees the earlier one. Entries are removed only after their
+ * store has returned, at which point the storage search covers them; callers must therefore look here before
+ * searching the storage. Inserts that are not similar never wait for each other.
+ *
+ * <p>Entries are bucketed by random-hyperplane band signatures of their prepared embeddings, as in
+ * {@link com.vectorForJ.similarity.LshDuplicateIndex}, and an insert is only compared with earlier entries that
+ * share a band with it. Racing near-duplicates are therefore found with high probability rather than always.
+ */
+final class PendingInserts {
+
+    /**
+     * One embedding in flight, prepared by the storage for comparison; {@link #stored} completes with whether it
+     * ended up in the storage.
+     */
+    static final class Entry {
+        final float[] prepared;
+        final CompletableFuture<Boolean> stored = new CompletableFuture<>();
+        /** Registration order; entries of one batch share it and are not compared with each other */
+        private long sequence;
+        private int[] buckets;
+
+        Entry(float[] prepared) {
+            this.prepared = prepared;
+        }
+    }
+
+    private final int bands;
+    private final int bitsPerBand;
+    private final long seed;
+    /** Hyperplanes per embedding dimension, one row of {@code dimension} floats per signature bit */
+    private final Map<Integer, float[]> planes = new ConcurrentHashMap<>();
+    /** Entries by band bucket, each bucket in registration order */
+    private final Map<Integer, Set<Entry>> buckets = new HashMap<>();
+    private long nextSequence;
+    private int inFlight;
+
+    PendingInserts(int bands, int bitsPerBand, long seed) {
+        this.bands = bands;
+        this.bitsPerBand = bitsPerBand;
+        this.seed = seed;
+    }
+
+    /**
+     * Registers a batch of entries; a batch is not compared with itself.
+     */
+    void register(List<Entry> batch) {
+        for (Entry entry : batch) {
+            entry.buckets = bucketsOf(entry.prepared);
+        }
+        synchronized (this) {
+            long sequence = nextSequence++;
+            inFlight += batch.size();
+            for (Entry entry : batch) {
+                entry.sequence = sequence;
+                for (int bucket : entry.buckets) {
+                    buckets.computeIfAbsent(bucket, key -> new LinkedHashSet<>()).add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entries registered before this one and still in flight that share a band with it, each listed once.
+     */
+    List<Entry> earlierCandidates(Entry entry) {
+        Map<Entry, Boolean> found = new IdentityHashMap<>();
+        synchronized (this) {
+            for (int bucket : entry.buckets) {
+                Set<Entry> members = buckets.get(bucket);
+                if (members == null) {
+                    continue;
+                }
+                for (Entry member : members) {
+                    // Buckets are in registration order, so the rest of this one registered later
+                    if (member.sequence >= entry.sequence) {
+                        break;
+                    }
+                    if (member.prepared.length == entry.prepared.length) {
+                        found.put(member, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(found.keySet());
+    }
+
+    /**
+     * Removes finished entries and releases inserts waiting on their outcome; {@code stored[i]} tells whether
+     * {@code finished.get(i)} ended up in the storage.
+     */
+    void complete(List<Entry> finished, boolean[] stored) {
+        synchronized (this) {
+            inFlight -= finished.size();
+            for (Entry entry : finished) {
+                for (int bucket : entry.buckets) {
+                    Set<Entry> members = buckets.get(bucket);
+                    members.remove(entry);
+                    if (members.isEmpty()) {
+                        buckets.remove(bucket);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < finished.size(); i++) {
+            finished.get(i).stored.complete(stored[i]);
+        }
+    }
+
+    /**
+     * Number of entries in flight.
+     */
+    synchronized int size() {
+        return inFlight;
+    }
+
+    private int[] bucketsOf(float[] prepared) {
+        float[] hyperplanes = planes.computeIfAbsent(prepared.length, this::newPlanes);
+        int[] keys = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            int key = 0;
+            for (int bit = 0; bit < bitsPerBand; bit++) {
+                int plane = band * bitsPerBand + bit;
+                if (VectorKernels.dot(hyperplanes, plane * prepared.length, prepared, 0, prepared.length) >= 0f) {
+                    key |= 1 << bit;
+                }
+            }
+            keys[band] = (band << bitsPerBand) | key;
+        }
+        return keys;
+    }
+
+    private float[] newPlanes(int dimension) {
+        Random random = new Random(seed);
+        float[] hyperplanes = new float[bands * bitsPerBand * dimension];
+        for (int i = 0; i < hyperplanes.length; i++) {
+            hyperplanes[i] = (float) random.nextGaussian();
+        }
+        return hyperplanes;
+    }
+}
@@ -1,7 +1,16 @@
 package com.vectorForJ.service.impl;
 
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.model.BatchItemResult;
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
 import com.vectorForJ.service.VectorService;
+import com.vectorForJ.similarity.LshDuplicateIndex;
 import com.vectorForJ.storage.VectorStorage;
 import com.vectorForJ.exception.VectorDBException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,48 +20,130 @@ import org.springframework.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
 
 @Service
 public class VectorServiceImpl implements VectorService {
     private static final Logger logger = LoggerFactory.getLogger(VectorServiceImpl.class);
     private final VectorStorage vectorStorage;
-    private final ReentrantLock createLock = new ReentrantLock();
+    /** Inserts in flight, null when duplicates are not checked */
+    private final PendingInserts pendingInserts;
+    /** Required dimension of vectors and queries; 0 accepts any */
+    private final int dimension;
+    /** Candidate table for {@link DedupeSettings.Mode#LSH}, null otherwise */
+    private final LshDuplicateIndex duplicateIndex;
+    /** Nearest-neighbor query of {@link DedupeSettings.Mode#KNN} */
+    private final SearchOptions duplicateQuery;
 
     @Value("${vector.similarity.threshold:0.95}")
     private double similarityThreshold;
 
-    @Autowired
     public VectorServiceImpl(VectorStorage vectorStorage) {
+        this(vectorStorage, new IndexSettings(), new DedupeSettings());
+    }
+
+    @Autowired
+    public VectorServiceImpl(VectorStorage vectorStorage, IndexSettings indexSettings, DedupeSettings dedupeSettings) {
+        dedupeSettings.checkSupports(indexSettings.getSimilarity());
+        this.vectorStorage = vectorStorage;
+        this.dimension = 0;
+        this.pendingInserts = buildPendingInserts(dedupeSettings);
+        this.duplicateIndex = buildDuplicateIndex(dedupeSettings);
+        this.duplicateQuery = new SearchOptions(1, dedupeSettings.getCandidates());
+    }
+
+    /**
+     * Creates a service for a single collection whose vectors and queries must all have {@code dimension} values.
+     */
+    public VectorServiceImpl(VectorStorage vectorStorage, int dimension, double similarityThreshold,
+                             DedupeSettings dedupeSettings) {
         this.vectorStorage = vectorStorage;
+        this.dimension = dimension;
+        this.similarityThreshold = similarityThreshold;
+        this.pendingInserts = buildPendingInserts(dedupeSettings);
+        this.duplicateIndex = buildDuplicateIndex(dedupeSettings);
+        this.duplicateQuery = new SearchOptions(1, dedupeSettings.getCandidates());
     }
 
-    private boolean isSimilarToExisting(double[] embedding) {
-        // Find the most similar vector
-        List<Vector> similarVectors = vectorStorage.findNearest(embedding, 1);
-        if (similarVectors.isEmpty()) {
+    private static PendingInserts buildPendingInserts(DedupeSettings settings) {
+        return settings.getMode() == DedupeSettings.Mode.NONE ? null
+            : new PendingInserts(settings.getBands(), settings.getBitsPerBand(), settings.getSeed());
+    }
+
+    /**
+     * Builds the LSH table from what the storage already holds; signatures are computed in parallel.
+     */
+    private LshDuplicateIndex buildDuplicateIndex(DedupeSettings settings) {
+        if (settings.getMode() != DedupeSettings.Mode.LSH) {
+            return null;
+        }
+        LshDuplicateIndex index = new LshDuplicateIndex(settings.getBands(), settings.getBitsPerBand(), settings.getSeed());
+        vectorStorage.retrieveAll().parallelStream().forEach(vector -> index.add(vector.getId(), vector.getEmbedding()));
+        logger.info("Built LSH duplicate index over {} vectors", index.size());
+        return index;
+    }
+
+    private boolean hasExpectedDimension(double[] values) {
+        return dimension == 0 || values.length == dimension;
+    }
+
+    /**
+     * Checks in-flight inserts before the storage: an entry gone from the former has been stored, so the
+     * storage search that follows covers it.
+     */
+    private boolean isDuplicate(double[] embedding, PendingInserts.Entry entry) {
+        return isSimilarToPending(entry) || isSimilarToExisting(embedding, entry.prepared);
+    }
+
+    private boolean isSimilarToExisting(double[] embedding, float[] prepared) {
+        if (duplicateIndex != null) {
+            return isSimilarToCandidate(embedding, prepared);
+        }
+        // Score of the most similar vector; the index already scored it
+        double similarity = vectorStorage.nearestScore(embedding, duplicateQuery);
+        if (Double.isNaN(similarity)) {
             return false;
         }
 
-        Vector mostSimilar = similarVectors.get(0);
-        double similarity = cosineSimilarity(embedding, mostSimilar.getEmbedding());
         logger.debug("Found similar vector with similarity score: {}", similarity);
         return similarity >= similarityThreshold;
     }
 
-    private double cosineSimilarity(double[] a, double[] b) {
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
+    /**
+     * Verifies the LSH candidates exactly against the stored vectors, stopping at the first one above the
+     * threshold. Candidates removed since they were hashed score NaN and are skipped.
+     */
+    private boolean isSimilarToCandidate(double[] embedding, float[] prepared) {
+        for (String id : duplicateIndex.candidates(embedding, similarityThreshold)) {
+            double similarity = vectorStorage.similarity(prepared, id);
+            if (similarity >= similarityThreshold) {
+                logger.debug("Found similar vector with similarity score: {}", similarity);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the inserts registered before this one that share a bucket with it. A similar one still being
+     * stored is waited for, since it only counts as existing if its own duplicate check passes.
+     */
+    private boolean isSimilarToPending(PendingInserts.Entry entry) {
+        for (PendingInserts.Entry earlier : pendingInserts.earlierCandidates(entry)) {
+            if (vectorStorage.similarity(entry.prepared, earlier.prepared) >= similarityThreshold
+                    && earlier.stored.join()) {
+                logger.debug("Found similar vector being inserted concurrently");
+                return true;
+            }
         }
-        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+        return false;
     }
 
     @Override
@@ -62,11 +153,18 @@ public class VectorServiceImpl implements VectorService {
         Assert.isTrue(vector.getDimension() > 0, "Vector dimension must be positive");
         Assert.isTrue(vector.getEmbedding().length == vector.getDimension(), 
             "Vector dimension must match embedding length");
+        Assert.isTrue(hasExpectedDimension(vector.getEmbedding()), 
+            () -> "Vector dimension must be " + dimension);
 
-        createLock.lock();
+        PendingInserts.Entry entry = null;
+        if (pendingInserts != null) {
+            entry = new PendingInserts.Entry(vectorStorage.prepare(vector.getEmbedding()));
+            pendingInserts.register(List.of(entry));
+        }
+        boolean stored = false;
         try {
-            // Check for similar vectors
-            if (isSimilarToExisting(vector.getEmbedding())) {
+            // Check for similar vectors, including ones other threads are inserting right now
+            if (entry != null && isDuplicate(vector.getEmbedding(), entry)) {
                 logger.warn("Similar vector already exists");
                 throw new VectorDBException("A similar vector already exists in the database");
             }
@@ -75,12 +173,143 @@ public class VectorServiceImpl implements VectorService {
                 vector.setId(UUID.randomUUID().toString());
             }
             vectorStorage.store(vector);
+            stored = true;
+            indexForDuplicates(List.of(vector));
             return vector;
         } finally {
-            createLock.unlock();
+            if (entry != null) {
+                pendingInserts.complete(List.of(entry), new boolean[]{stored});
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch with a single index commit. Items are validated and checked against existing and
+     * concurrently inserted vectors individually; near-duplicates within the same batch are not
+     * compared with each other.
+     */
+    @Override
+    public BatchResult createVectors(List<Vector> vectors) {
+        Assert.notNull(vectors, "Vector batch cannot be null");
+
+        BatchItemResult[] results = new BatchItemResult[vectors.size()];
+        for (int i = 0; i < vectors.size(); i++) {
+            String error = validate(vectors.get(i));
+            if (error != null) {
+                results[i] = new BatchItemResult(i, null, BatchItemResult.Status.INVALID, error);
+            }
+        }
+
+        List<PendingInserts.Entry> entries = new ArrayList<>();
+        PendingInserts.Entry[] entryFor = new PendingInserts.Entry[vectors.size()];
+        if (pendingInserts != null) {
+            for (int i = 0; i < vectors.size(); i++) {
+                if (results[i] == null) {
+                    entryFor[i] = new PendingInserts.Entry(vectorStorage.prepare(vectors.get(i).getEmbedding()));
+                    entries.add(entryFor[i]);
+                }
+            }
+            pendingInserts.register(entries);
+        }
+        boolean[] stored = new boolean[vectors.size()];
+        try {
+            // Duplicate lookups only read the shared searcher, so they can run in parallel
+            boolean[] duplicates = new boolean[vectors.size()];
+            IntStream.range(0, vectors.size()).parallel()
+                .filter(i -> entryFor[i] != null)
+                .forEach(i -> duplicates[i] = isDuplicate(vectors.get(i).getEmbedding(), entryFor[i]));
+
+            List<Vector> accepted = new ArrayList<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            for (int i = 0; i < vectors.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                Vector vector = vectors.get(i);
+                if (duplicates[i]) {
+                    results[i] = new BatchItemResult(i, vector.getId(), BatchItemResult.Status.DUPLICATE,
+                        "A similar vector already exists in the database");
+                    continue;
+                }
+                if (vector.getId() == null) {
+                    vector.setId(UUID.randomUUID().toString());
+                }
+                accepted.add(vector);
+                acceptedIndexes.add(i);
+            }
+
+            BatchItemResult.Status status = BatchItemResult.Status.CREATED;
+            String message = null;
+            if (!accepted.isEmpty()) {
+                try {
+                    // Storage engines store a batch whole or not at all, so FAILED holds for every item
+                    vectorStorage.storeAll(accepted);
+                    acceptedIndexes.forEach(i -> stored[i] = true);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to store vector batch", e);
+                    status = BatchItemResult.Status.FAILED;
+                    message = e.getMessage();
+                }
+                if (status == BatchItemResult.Status.CREATED) {
+                    indexForDuplicates(accepted);
+                }
+            }
+            for (int i = 0; i < accepted.size(); i++) {
+                results[acceptedIndexes.get(i)] = new BatchItemResult(
+                    acceptedIndexes.get(i), accepted.get(i).getId(), status, message);
+            }
+            int created = status == BatchItemResult.Status.CREATED ? accepted.size() : 0;
+            logger.debug("Stored {} of {} vectors in batch", created, vectors.size());
+            return new BatchResult(created, vectors.size() - created, Arrays.asList(results));
+        } finally {
+            if (!entries.isEmpty()) {
+                boolean[] entryStored = new boolean[entries.size()];
+                for (int i = 0, e = 0; i < vectors.size(); i++) {
+                    if (entryFor[i] != null) {
+                        entryStored[e++] = stored[i];
+                    }
+                }
+                pendingInserts.complete(entries, entryStored);
+            }
+        }
+    }
+
+    /**
+     * Adds stored vectors to the duplicate index. They are stored whatever happens here, so a failure is logged
+     * rather than reported to the caller; the vectors are then only missed as duplicate candidates.
+     */
+    private void indexForDuplicates(List<Vector> stored) {
+        if (duplicateIndex == null) {
+            return;
+        }
+        for (Vector vector : stored) {
+            try {
+                duplicateIndex.add(vector.getId(), vector.getEmbedding());
+            } catch (RuntimeException e) {
+                logger.error("Failed to add vector {} to the duplicate index", vector.getId(), e);
+            }
         }
     }
 
+    private String validate(Vector vector) {
+        if (vector == null) {
+            return "Vector cannot be null";
+        }
+        if (vector.getEmbedding() == null) {
+            return "Vector embedding cannot be null";
+        }
+        if (vector.getDimension() <= 0) {
+            return "Vector dimension must be positive";
+        }
+        if (vector.getEmbedding().length != vector.getDimension()) {
+            return "Vector dimension must match embedding length";
+        }
+        if (!hasExpectedDimension(vector.getEmbedding())) {
+            return "Vector dimension must be " + dimension;
+        }
+        return null;
+    }
+
     @Override
     public Optional<Vector> getVector(String id) {
         Assert.hasText(id, "Vector ID cannot be null or empty");
@@ -92,19 +321,84 @@ public class VectorServiceImpl implements VectorService {
         return vectorStorage.retrieveAll();
     }
 
+    @Override
+    public VectorPage getVectors(String cursor, int limit, boolean includeEmbeddings) {
+        Assert.isTrue(limit > 0, "Page size must be positive");
+        VectorPage page = vectorStorage.page(decodeCursor(cursor), limit);
+        List<Vector> vectors = page.getVectors();
+        if (!includeEmbeddings) {
+            vectors = vectors.stream()
+                .map(vector -> new Vector(vector.getId(), null, vector.getMetadata(), vector.getDimension(),
+                    vector.getAttributes()))
+                .toList();
+        }
+        return new VectorPage(vectors, encodeCursor(page.getNextCursor()));
+    }
+
+    /**
+     * Storage cursors may be arbitrary ids, so clients get them URL-safe and opaque.
+     */
+    private static String encodeCursor(String cursor) {
+        return cursor == null ? null
+            : Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     @Override
     public void deleteVector(String id) {
         Assert.hasText(id, "Vector ID cannot be null or empty");
         vectorStorage.remove(id);
+        if (duplicateIndex != null) {
+            duplicateIndex.remove(id);
+        }
     }
 
     @Override
-    public List<Vector> findSimilarVectors(double[] queryVector, int k) {
+    public List<ScoredVector> findSimilarVectors(double[] queryVector, int k) {
         Assert.notNull(queryVector, "Query vector cannot be null");
+        Assert.isTrue(hasExpectedDimension(queryVector), () -> "Query vector dimension must be " + dimension);
         Assert.isTrue(k > 0, "Number of similar vectors must be positive");
         return vectorStorage.findNearest(queryVector, k);
     }
 
+    @Override
+    public List<ScoredVector> findSimilarVectors(double[] queryVector, SearchOptions options) {
+        validateQuery(queryVector, options);
+        return vectorStorage.findNearest(queryVector, options);
+    }
+
+    @Override
+    public List<List<ScoredVector>> findSimilarVectors(List<double[]> queryVectors, List<SearchOptions> options) {
+        Assert.notEmpty(queryVectors, "At least one query vector is required");
+        Assert.isTrue(queryVectors.size() <= Defaults.MAX_BATCH_QUERIES,
+            () -> "A batch search may hold at most " + Defaults.MAX_BATCH_QUERIES + " queries");
+        Assert.isTrue(options != null && options.size() == queryVectors.size(),
+            "Every query vector needs its search options");
+        for (int i = 0; i < queryVectors.size(); i++) {
+            validateQuery(queryVectors.get(i), options.get(i));
+        }
+        return vectorStorage.findNearest(queryVectors, options);
+    }
+
+    private void validateQuery(double[] queryVector, SearchOptions options) {
+        Assert.notNull(queryVector, "Query vector cannot be null");
+        Assert.isTrue(hasExpectedDimension(queryVector), () -> "Query vector dimension must be " + dimension);
+        Assert.notNull(options, "Search options cannot be null");
+        Assert.isTrue(options.getK() > 0, "Number of similar vectors must be positive");
+        Assert.isTrue(options.getNumCandidates() == null || options.getNumCandidates() >= options.getK(),
+            "Number of candidates must not be less than the number of similar vectors");
+    }
+
     @Override
     public int getVectorCount() {
         return vectorStorage.size();
@@ -0,0 +1,241 @@
+package com.vectorForJ.similarity;
+
+import com.vectorForJ.storage.IdOrdinalMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Random-hyperplane LSH table that finds candidate near-duplicates of an embedding without a kNN search.
+ *
+ * <p>Each embedding gets {@code bands * bitsPerBand} sign bits, one per random hyperplane, split into bands.
+ * Two vectors at angle {@code theta} agree on a bit with probability {@code 1 - theta / pi}, so near-duplicates
+ * very likely share at least one whole band while unrelated vectors rarely do. Bucket collisions are then filtered
+ * by the Hamming distance of the full signatures, which estimates the angle between the vectors. Every band is a
+ * directly addressed array of bucket heads, chained through a flat {@code next} array, so the table holds no
+ * per-entry objects besides the ids. Candidates are only likely matches and must be verified exactly by the caller.
+ * Thread-safe.
+ */
+public final class LshDuplicateIndex {
+    private static final int EMPTY = -1;
+    private static final int MAX_BITS_PER_BAND = 16;
+
+    private final int bands;
+    private final int bitsPerBand;
+    private final long seed;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdOrdinalMap ordinals = new IdOrdinalMap();
+
+    /** One row of {@code dimension} floats per hyperplane; created on the first insert */
+    private volatile float[] planes;
+    private int dimension = -1;
+    /** Bucket heads, {@code 2^bitsPerBand} per band */
+    private final int[] heads;
+    /** Next ordinal in the same bucket, and the bucket itself, at {@code ordinal * bands + band} */
+    private int[] next;
+    private int[] buckets;
+    private String[] ids;
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+
+    public LshDuplicateIndex(int bands, int bitsPerBand, long seed) {
+        if (bands <= 0) {
+            throw new IllegalArgumentException("LSH bands must be positive");
+        }
+        if (bitsPerBand <= 0 || bitsPerBand > MAX_BITS_PER_BAND) {
+            throw new IllegalArgumentException("LSH bits per band must be between 1 and " + MAX_BITS_PER_BAND);
+        }
+        this.bands = bands;
+        this.bitsPerBand = bitsPerBand;
+        this.seed = seed;
+        this.heads = new int[bands << bitsPerBand];
+        Arrays.fill(heads, EMPTY);
+        this.next = new int[16 * bands];
+        this.buckets = new int[16 * bands];
+        this.ids = new String[16];
+    }
+
+    /**
+     * Adds or replaces the entry for an id.
+     */
+    public void add(String id, double[] embedding) {
+        int[] signature = signature(embedding);
+        lock.writeLock().lock();
+        try {
+            int previous = ordinals.get(id);
+            if (previous != IdOrdinalMap.MISSING) {
+                unlink(previous);
+            } else {
+                previous = allocate();
+                ordinals.put(id, previous);
+            }
+            ids[previous] = id;
+            for (int band = 0; band < bands; band++) {
+                int bucket = (band << bitsPerBand) | signature[band];
+                int slot = previous * bands + band;
+                buckets[slot] = bucket;
+                next[slot] = heads[bucket];
+                heads[bucket] = previous;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.remove(id);
+            if (ordinal == IdOrdinalMap.MISSING) {
+                return;
+            }
+            unlink(ordinal);
+            ids[ordinal] = null;
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids sharing at least one band with the embedding whose signature is close enough to possibly reach
+     * {@code minCosine}, each listed once.
+     */
+    public List<String> candidates(double[] embedding, double minCosine) {
+        if (planes == null) {
+            return Collections.emptyList();
+        }
+        int[] signature = signature(embedding);
+        int maxDistance = maxHammingDistance(minCosine);
+        int mask = (1 << bitsPerBand) - 1;
+        int[] found = new int[16];
+        int count = 0;
+        lock.readLock().lock();
+        try {
+            for (int band = 0; band < bands; band++) {
+                for (int ordinal = heads[(band << bitsPerBand) | signature[band]]; ordinal != EMPTY;
+                     ordinal = next[ordinal * bands + band]) {
+                    int distance = 0;
+                    for (int b = 0, slot = ordinal * bands; b < bands && distance <= maxDistance; b++, slot++) {
+                        distance += Integer.bitCount((buckets[slot] & mask) ^ signature[b]);
+                    }
+                    if (distance > maxDistance) {
+                        continue;
+                    }
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = ordinal;
+                }
+            }
+            // A candidate matching several bands is listed once
+            Arrays.sort(found, 0, count);
+            List<String> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || found[i] != found[i - 1]) {
+                    result.add(ids[found[i]]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Signature bits that may differ for a pair at {@code minCosine}: each bit differs with probability
+     * {@code theta / pi}, and the bound sits four standard deviations above the expected count.
+     */
+    private int maxHammingDistance(double minCosine) {
+        double p = Math.acos(Math.max(-1.0, Math.min(1.0, minCosine))) / Math.PI;
+        int bits = bands * bitsPerBand;
+        return (int) Math.ceil(bits * p + 4 * Math.sqrt(bits * p * (1 - p)));
+    }
+
+    private int[] signature(double[] embedding) {
+        float[] hyperplanes = planesFor(embedding.length);
+        float[] values = VectorKernels.toFloats(embedding);
+        int[] signature = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            int key = 0;
+            for (int bit = 0; bit < bitsPerBand; bit++) {
+                int plane = band * bitsPerBand + bit;
+                if (VectorKernels.dot(hyperplanes, plane * dimension, values, 0, dimension) >= 0f) {
+                    key |= 1 << bit;
+                }
+            }
+            signature[band] = key;
+        }
+        return signature;
+    }
+
+    private float[] planesFor(int length) {
+        float[] hyperplanes = planes;
+        if (hyperplanes == null) {
+            synchronized (this) {
+                if (planes == null) {
+                    Random random = new Random(seed);
+                    hyperplanes = new float[bands * bitsPerBand * length];
+                    for (int i = 0; i < hyperplanes.length; i++) {
+                        hyperplanes[i] = (float) random.nextGaussian();
+                    }
+                    dimension = length;
+                    planes = hyperplanes;
+                }
+                hyperplanes = planes;
+            }
+        }
+        if (length != dimension) {
+            throw new IllegalArgumentException(String.format(
+                "Vector dimension %d does not match indexed dimension %d", length, dimension));
+        }
+        return hyperplanes;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ordinal * 2);
+            next = Arrays.copyOf(next, ordinal * 2 * bands);
+            buckets = Arrays.copyOf(buckets, ordinal * 2 * bands);
+        }
+        return ordinal;
+    }
+
+    private void unlink(int ordinal) {
+        for (int band = 0; band < bands; band++) {
+            int slot = ordinal * bands + band;
+            int bucket = buckets[slot];
+            if (heads[bucket] == ordinal) {
+                heads[bucket] = next[slot];
+                continue;
+            }
+            int previous = heads[bucket];
+            while (next[previous * bands + band] != ordinal) {
+                previous = next[previous * bands + band];
+            }
+            next[previous * bands + band] = next[slot];
+        }
+    }
+}
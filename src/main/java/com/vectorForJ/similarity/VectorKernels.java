@@ -0,0 +1,116 @@
+package com.vectorForJ.similarity;
+
+import com.vectorForJ.config.IndexSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Similarity kernels over float32 vectors stored at an offset in a flat array.
+ * Uses the Java Vector API when the {@code jdk.incubator.vector} module is present
+ * ({@code --add-modules jdk.incubator.vector}) and scalar loops otherwise.
+ */
+public final class VectorKernels {
+    private static final Logger logger = LoggerFactory.getLogger(VectorKernels.class);
+    private static final boolean SIMD = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    static {
+        if (SIMD) {
+            logger.info("Using Vector API similarity kernels with {} float lanes", SimdKernels.lanes());
+        } else {
+            logger.info("jdk.incubator.vector not available, using scalar similarity kernels");
+        }
+    }
+
+    private VectorKernels() {}
+
+    public static boolean isSimdEnabled() {
+        return SIMD;
+    }
+
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        return SIMD ? SimdKernels.dot(a, aOffset, b, bOffset, length) : ScalarKernels.dot(a, aOffset, b, bOffset, length);
+    }
+
+    public static float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        return SIMD
+            ? SimdKernels.squaredDistance(a, aOffset, b, bOffset, length)
+            : ScalarKernels.squaredDistance(a, aOffset, b, bOffset, length);
+    }
+
+    public static float cosine(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        return SIMD ? SimdKernels.cosine(a, aOffset, b, bOffset, length) : ScalarKernels.cosine(a, aOffset, b, bOffset, length);
+    }
+
+    public static float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    public static float cosine(float[] a, float[] b) {
+        return cosine(a, 0, b, 0, a.length);
+    }
+
+    public static float squaredDistance(float[] a, float[] b) {
+        return squaredDistance(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Euclidean norm of a vector, used to precompute norms once at insert time.
+     */
+    public static float norm(float[] a, int offset, int length) {
+        return (float) Math.sqrt(dot(a, offset, a, offset, length));
+    }
+
+    public static float norm(double[] a) {
+        double sum = 0.0;
+        for (double value : a) {
+            sum += value * value;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * Converts an embedding to the float32 form that {@link #similarity} compares: unit length for cosine
+     * and dot-product similarity, unchanged for Euclidean. Done once per embedding, so no comparison
+     * computes a norm.
+     */
+    public static float[] prepare(IndexSettings.Similarity similarity, double[] embedding) {
+        float[] prepared = toFloats(embedding);
+        if (similarity != IndexSettings.Similarity.EUCLIDEAN) {
+            float norm = norm(prepared, 0, prepared.length);
+            if (norm > 0f) {
+                for (int i = 0; i < prepared.length; i++) prepared[i] /= norm;
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Scores two prepared embeddings with the given similarity on the scale the storage engines report,
+     * where higher always means closer.
+     */
+    public static double similarity(IndexSettings.Similarity similarity, float[] a, float[] b) {
+        switch (similarity) {
+            case EUCLIDEAN: return 1.0 / (1.0 + squaredDistance(a, b));
+            // Dot product indexes normalize both sides, which makes them score like cosine
+            default: return dot(a, b);
+        }
+    }
+
+    /**
+     * Scores a prepared embedding against a stored double embedding whose norm was computed when it was stored,
+     * on the same scale as {@link #similarity}. Uses scalar loops, since the stored side is not float32.
+     */
+    public static double similarity(IndexSettings.Similarity similarity, float[] prepared, double[] stored,
+                                    float storedNorm) {
+        switch (similarity) {
+            case EUCLIDEAN: return 1.0 / (1.0 + ScalarKernels.squaredDistance(prepared, stored));
+            default: return storedNorm == 0f ? 0.0 : ScalarKernels.dot(prepared, stored) / storedNorm;
+        }
+    }
+
+    public static float[] toFloats(double[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) floats[i] = (float) values[i];
+        return floats;
+    }
+}
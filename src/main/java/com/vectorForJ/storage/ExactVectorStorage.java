@@ -0,0 +1,443 @@
+package com.vectorForJ.storage;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.similarity.VectorKernels;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Brute-force storage engine that scores every vector against the query.
+ *
+ * <p>Embeddings are packed into one contiguous float array so the similarity kernels stream through memory,
+ * norms are computed once at insert time (dot-product embeddings are normalized instead), and searches are
+ * split across the common fork-join pool with a bounded top-k heap per task. Results are exact, which makes
+ * this engine a recall baseline for the HNSW index and usually the faster choice for small collections.
+ * Vectors live on the heap only and metadata filters are not supported. Enabled with
+ * {@code vector.storage.engine=exact}.
+ */
+@Component
+@ConditionalOnProperty(name = "vector.storage.engine", havingValue = "exact")
+public class ExactVectorStorage implements VectorStorage {
+    /** Vectors scored per fork-join leaf task */
+    static final int SLICE_SIZE = 4096;
+    /** Most floats one Java array can hold, which bounds the arena */
+    static final long MAX_ARENA_FLOATS = Integer.MAX_VALUE - 8;
+
+    private final IndexSettings.Similarity similarity;
+    /**
+     * Most floats the arena may grow to. Inserts past it are rejected, which also keeps every
+     * {@code ordinal * dimension} offset within an int.
+     */
+    private final long maxArenaFloats;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Sorted by id so pages are stable although deletes move vectors between ordinals */
+    private final NavigableMap<String, Integer> ordinals = new TreeMap<>();
+    private Vector[] vectors = new Vector[16];
+    private float[] norms = new float[16];
+    private float[] arena = new float[0];
+    private int dimension = -1;
+    private int count;
+
+    @Autowired
+    public ExactVectorStorage(IndexSettings settings) {
+        this(settings.getSimilarity());
+    }
+
+    public ExactVectorStorage(IndexSettings.Similarity similarity) {
+        this(similarity, MAX_ARENA_FLOATS);
+    }
+
+    ExactVectorStorage(IndexSettings.Similarity similarity, long maxArenaFloats) {
+        this.similarity = similarity;
+        this.maxArenaFloats = maxArenaFloats;
+    }
+
+    @Override
+    public void store(Vector vector) {
+        lock.writeLock().lock();
+        try {
+            put(vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the whole batch or, when any vector has the wrong dimension or the batch does not fit, none of it.
+     */
+    @Override
+    public void storeAll(List<Vector> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int expected = dimension < 0 ? batch.get(0).getEmbedding().length : dimension;
+            Set<String> added = new HashSet<>();
+            for (Vector vector : batch) {
+                checkDimension(vector.getEmbedding().length, expected);
+                if (!ordinals.containsKey(vector.getId())) {
+                    added.add(vector.getId());
+                }
+            }
+            long maxVectors = maxArenaFloats / expected;
+            if (count + (long) added.size() > maxVectors) {
+                throw new IllegalStateException(String.format(
+                    "Exact storage is full: it holds at most %d vectors of dimension %d", maxVectors, expected));
+            }
+            for (Vector vector : batch) {
+                put(vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Vector> retrieve(String id) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            return ordinal == null ? Optional.empty() : Optional.of(vectors[ordinal]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Vector> retrieveAll() {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(vectors, count)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pages through vectors in id order; the cursor is the last id of the previous page.
+     */
+    @Override
+    public VectorPage page(String cursor, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Integer> remaining = cursor == null ? ordinals : ordinals.tailMap(cursor, false);
+            List<Vector> page = new ArrayList<>(Math.min(limit, 1024));
+            for (int ordinal : remaining.values()) {
+                if (page.size() == limit) {
+                    return new VectorPage(page, page.get(page.size() - 1).getId());
+                }
+                page.add(vectors[ordinal]);
+            }
+            return new VectorPage(page, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            // Move the last vector into the hole so the arena stays dense
+            int last = --count;
+            if (ordinal != last) {
+                System.arraycopy(arena, last * dimension, arena, ordinal * dimension, dimension);
+                norms[ordinal] = norms[last];
+                vectors[ordinal] = vectors[last];
+                ordinals.put(vectors[ordinal].getId(), ordinal);
+            }
+            vectors[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ScoredVector> findNearest(double[] queryVector, int k) {
+        return findNearest(queryVector, SearchOptions.of(k));
+    }
+
+    /**
+     * Scores every stored vector; {@code numCandidates} is irrelevant for an exact scan and ignored.
+     */
+    @Override
+    public List<ScoredVector> findNearest(double[] queryVector, SearchOptions options) {
+        if (options.getFilter() != null && !options.getFilter().isBlank()) {
+            throw new IllegalArgumentException("Metadata filters require the lucene storage engine");
+        }
+        float[] query = VectorKernels.toFloats(queryVector);
+        float queryNorm = VectorKernels.norm(query, 0, query.length);
+        if (similarity == IndexSettings.Similarity.DOT_PRODUCT && queryNorm > 0f) {
+            for (int i = 0; i < query.length; i++) query[i] /= queryNorm;
+            queryNorm = 1f;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (count == 0 || options.getK() <= 0) {
+                return Collections.emptyList();
+            }
+            if (query.length != dimension) {
+                throw new IllegalArgumentException(String.format(
+                    "Query dimension %d does not match stored dimension %d", query.length, dimension));
+            }
+            // Every leaf task allocates a k-sized heap, so k never exceeds what it could fill
+            ScanTask scan = new ScanTask(query, queryNorm, Math.min(options.getK(), count), 0, count);
+            TopK top = count <= SLICE_SIZE ? scan.compute() : ForkJoinPool.commonPool().invoke(scan);
+
+            int[] order = top.sortedOrdinals();
+            List<ScoredVector> result = new ArrayList<>(order.length);
+            for (int i : order) {
+                result.add(new ScoredVector(vectors[top.ordinals[i]], top.scores[i]));
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            vectors = new Vector[16];
+            norms = new float[16];
+            arena = new float[0];
+            dimension = -1;
+            count = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] prepare(double[] embedding) {
+        return VectorKernels.prepare(similarity, embedding);
+    }
+
+    @Override
+    public double similarity(float[] a, float[] b) {
+        return VectorKernels.similarity(similarity, a, b);
+    }
+
+    @Override
+    public double similarity(float[] prepared, String id) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            // Prepared cosine and dot-product queries are unit vectors
+            return ordinal == null ? Double.NaN : score(prepared, 1f, ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float score(float[] query, float queryNorm, int ordinal) {
+        int offset = ordinal * dimension;
+        switch (similarity) {
+            case DOT_PRODUCT:
+                return VectorKernels.dot(query, 0, arena, offset, dimension);
+            case EUCLIDEAN:
+                return 1f / (1f + VectorKernels.squaredDistance(query, 0, arena, offset, dimension));
+            default:
+                float denominator = norms[ordinal] * queryNorm;
+                return denominator == 0f ? 0f : VectorKernels.dot(query, 0, arena, offset, dimension) / denominator;
+        }
+    }
+
+    private void put(Vector vector) {
+        double[] embedding = vector.getEmbedding();
+        if (dimension < 0) {
+            dimension = embedding.length;
+        } else {
+            checkDimension(embedding.length, dimension);
+        }
+        Integer ordinal = ordinals.get(vector.getId());
+        if (ordinal == null) {
+            ensureCapacity(count + 1);
+            ordinal = count++;
+            ordinals.put(vector.getId(), ordinal);
+        }
+        int offset = ordinal * dimension;
+        for (int i = 0; i < dimension; i++) {
+            arena[offset + i] = (float) embedding[i];
+        }
+        float norm = VectorKernels.norm(arena, offset, dimension);
+        if (similarity == IndexSettings.Similarity.DOT_PRODUCT && norm > 0f) {
+            for (int i = 0; i < dimension; i++) arena[offset + i] /= norm;
+            norm = 1f;
+        }
+        norms[ordinal] = norm;
+        vectors[ordinal] = vector;
+    }
+
+    private static void checkDimension(int length, int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException(String.format(
+                "Vector dimension %d does not match stored dimension %d", length, expected));
+        }
+    }
+
+    /**
+     * Grows the per-vector arrays and the arena to hold {@code needed} vectors, or rejects the insert when the
+     * arena would pass {@link #maxArenaFloats}. Nothing changes when it is rejected.
+     */
+    private void ensureCapacity(int needed) {
+        long maxVectors = maxArenaFloats / dimension;
+        if (needed > maxVectors) {
+            throw new IllegalStateException(String.format(
+                "Exact storage is full: it holds at most %d vectors of dimension %d", maxVectors, dimension));
+        }
+        int capacity = vectors.length;
+        if (needed > capacity) {
+            capacity = (int) Math.min(maxVectors, Math.max(needed, capacity + (long) (capacity >> 1)));
+            vectors = Arrays.copyOf(vectors, capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        if ((long) needed * dimension > arena.length) {
+            arena = Arrays.copyOf(arena, (int) Math.min((long) capacity * dimension, maxVectors * dimension));
+        }
+    }
+
+    /**
+     * Scores an ordinal range, forking halves until a range fits in one slice.
+     */
+    private final class ScanTask extends RecursiveTask<TopK> {
+        private final float[] query;
+        private final float queryNorm;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        ScanTask(float[] query, float queryNorm, int k, int from, int to) {
+            this.query = query;
+            this.queryNorm = queryNorm;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from > SLICE_SIZE) {
+                int mid = (from + to) >>> 1;
+                ScanTask right = new ScanTask(query, queryNorm, k, mid, to);
+                right.fork();
+                TopK top = new ScanTask(query, queryNorm, k, from, mid).compute();
+                top.addAll(right.join());
+                return top;
+            }
+            TopK top = new TopK(k);
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                top.offer(ordinal, score(query, queryNorm, ordinal));
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Bounded min-heap of (score, ordinal) pairs kept in primitive arrays; the root is the weakest hit.
+     */
+    static final class TopK {
+        private final float[] scores;
+        private final int[] ordinals;
+        private int size;
+
+        TopK(int k) {
+            this.scores = new float[k];
+            this.ordinals = new int[k];
+        }
+
+        void offer(int ordinal, float score) {
+            if (size < scores.length) {
+                scores[size] = score;
+                ordinals[size] = ordinal;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                ordinals[0] = ordinal;
+                siftDown(0);
+            }
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ordinals[i], other.scores[i]);
+            }
+        }
+
+        /**
+         * Returns heap slots ordered from best to worst score.
+         */
+        int[] sortedOrdinals() {
+            Integer[] slots = new Integer[size];
+            for (int i = 0; i < size; i++) slots[i] = i;
+            Arrays.sort(slots, (a, b) -> Float.compare(scores[b], scores[a]));
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) order[i] = slots[i];
+            return order;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) smallest = left;
+                if (right < size && scores[right] < scores[smallest]) smallest = right;
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.vectorForJ.storage;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that serialize writers of the same id, so a storage applies their index and in-memory writes in
+ * the same order. Writers of different ids rarely share a stripe and run concurrently, which keeps the index's
+ * group commits filled.
+ */
+final class IdLocks {
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    IdLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the action holding the stripe of the id.
+     */
+    void withLock(String id, Runnable action) {
+        ReentrantLock stripe = stripes[stripeOf(id)];
+        stripe.lock();
+        try {
+            action.run();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs the action holding the stripes of all the ids, taken in ascending order so batches cannot deadlock.
+     */
+    void withLocks(Collection<String> ids, Runnable action) {
+        BitSet held = new BitSet(STRIPES);
+        for (String id : ids) {
+            held.set(stripeOf(id));
+        }
+        for (int i = held.nextSetBit(0); i >= 0; i = held.nextSetBit(i + 1)) {
+            stripes[i].lock();
+        }
+        try {
+            action.run();
+        } finally {
+            for (int i = held.nextSetBit(0); i >= 0; i = held.nextSetBit(i + 1)) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    private static int stripeOf(String id) {
+        int hash = id.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.vectorForJ.storage;
+
+/**
+ * Open-addressing map from vector id to int ordinal, backed by two flat arrays so entries cost no objects
+ * beyond the id strings themselves. Not thread-safe.
+ */
+public final class IdOrdinalMap {
+    /** Returned by lookups that find nothing */
+    public static final int MISSING = -1;
+
+    private String[] keys;
+    private int[] values;
+    private int size;
+
+    public IdOrdinalMap() {
+        this(16);
+    }
+
+    public IdOrdinalMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int get(String key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return values[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Maps the key to the ordinal, returning the previous ordinal or {@link #MISSING}.
+     */
+    public int put(String key, int ordinal) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                int previous = values[slot];
+                values[slot] = ordinal;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = ordinal;
+        size++;
+        return MISSING;
+    }
+
+    /**
+     * Removes the key, returning its ordinal or {@link #MISSING}. Later entries of the probe run are shifted
+     * back into the hole, so lookups never need tombstones.
+     */
+    public int remove(String key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == null) {
+            return MISSING;
+        }
+        int removed = values[slot];
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // Move the entry back if its home slot is not cyclically between the hole and its position
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = null;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[capacity];
+        values = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(String key, int mask) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
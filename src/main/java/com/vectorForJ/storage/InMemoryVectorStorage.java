@@ -1,61 +1,215 @@
 package com.vectorForJ.storage;
 
+import com.vectorForJ.indexing.SearchHit;
 import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.similarity.VectorKernels;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(name = "vector.storage.engine", havingValue = "lucene", matchIfMissing = true)
 public class InMemoryVectorStorage implements VectorStorage {
-    private final Map<String, Vector> vectors = new ConcurrentHashMap<>();
+    /** Sorted by id so pages can resume after the last id they returned */
+    private final ConcurrentNavigableMap<String, Stored> vectors = new ConcurrentSkipListMap<>();
     private final AtomicInteger vectorCount = new AtomicInteger(0);
     private final VectorIndexManager indexManager;
+    private final IdLocks idLocks = new IdLocks();
+
+    /**
+     * A stored vector with its norm, computed once so duplicate checks can score it without recomputing it.
+     */
+    private static final class Stored {
+        final Vector vector;
+        final float norm;
+
+        Stored(Vector vector) {
+            this.vector = vector;
+            this.norm = VectorKernels.norm(vector.getEmbedding());
+        }
+    }
 
     @Autowired
     public InMemoryVectorStorage(VectorIndexManager indexManager) {
         this.indexManager = indexManager;
     }
 
+    /**
+     * Rehydrates the vector map from a persistent index that was reopened on start.
+     */
+    @PostConstruct
+    public void load() {
+        indexManager.forEachVector(vector -> {
+            if (vectors.put(vector.getId(), new Stored(vector)) == null) {
+                vectorCount.incrementAndGet();
+            }
+        });
+    }
+
     @Override
     public void store(Vector vector) {
-        vectors.put(vector.getId(), vector);
-        indexManager.addVector(vector);
-        vectorCount.incrementAndGet();
+        idLocks.withLock(vector.getId(), () -> write(List.of(vector), () -> indexManager.addVector(vector)));
+    }
+
+    /**
+     * Stores the whole batch or, when the index rejects it, none of it.
+     */
+    @Override
+    public void storeAll(List<Vector> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Vector vector : batch) {
+            ids.add(vector.getId());
+        }
+        idLocks.withLocks(ids, () -> write(batch, () -> indexManager.addVectors(batch)));
+    }
+
+    /**
+     * Writes the index and then the map, holding the id stripes of the batch so writers of the same id reach
+     * both in one order. A failed index write may have reached some shards, so those ids are put back to what
+     * the map holds before the failure is rethrown.
+     */
+    private void write(List<Vector> batch, Runnable indexWrite) {
+        try {
+            indexWrite.run();
+        } catch (RuntimeException e) {
+            for (Vector vector : batch) {
+                try {
+                    Stored previous = vectors.get(vector.getId());
+                    if (previous != null) {
+                        indexManager.addVector(previous.vector);
+                    } else {
+                        indexManager.removeVector(vector.getId());
+                    }
+                } catch (RuntimeException rollback) {
+                    e.addSuppressed(rollback);
+                }
+            }
+            throw e;
+        }
+        int added = 0;
+        for (Vector vector : batch) {
+            if (vectors.put(vector.getId(), new Stored(vector)) == null) {
+                added++;
+            }
+        }
+        vectorCount.addAndGet(added);
     }
 
     @Override
     public Optional<Vector> retrieve(String id) {
-        return Optional.ofNullable(vectors.get(id));
+        Stored stored = vectors.get(id);
+        return stored == null ? Optional.empty() : Optional.of(stored.vector);
     }
 
     @Override
     public List<Vector> retrieveAll() {
-        return Collections.unmodifiableList(new ArrayList<>(vectors.values()));
+        List<Vector> result = new ArrayList<>(vectors.size());
+        for (Stored stored : vectors.values()) {
+            result.add(stored.vector);
+        }
+        return Collections.unmodifiableList(result);
     }
 
+    /**
+     * Pages through vectors in id order; the cursor is the last id of the previous page.
+     */
     @Override
-    public void remove(String id) {
-        if (vectors.remove(id) != null) {
-            indexManager.removeVector(id);
-            vectorCount.decrementAndGet();
+    public VectorPage page(String cursor, int limit) {
+        NavigableMap<String, Stored> remaining = cursor == null ? vectors : vectors.tailMap(cursor, false);
+        List<Vector> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Stored stored : remaining.values()) {
+            if (page.size() == limit) {
+                return new VectorPage(page, page.get(page.size() - 1).getId());
+            }
+            page.add(stored.vector);
         }
+        return new VectorPage(page, null);
+    }
+
+    @Override
+    public void remove(String id) {
+        idLocks.withLock(id, () -> {
+            if (vectors.containsKey(id)) {
+                indexManager.removeVector(id);
+                vectors.remove(id);
+                vectorCount.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public List<ScoredVector> findNearest(double[] queryVector, int k) {
+        return findNearest(queryVector, SearchOptions.of(k));
     }
 
     @Override
-    public List<Vector> findNearest(double[] queryVector, int k) {
-        List<String> nearestIds = indexManager.findNearestNeighbors(queryVector, k);
-        return nearestIds.stream()
-                .map(vectors::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toUnmodifiableList());
+    public List<ScoredVector> findNearest(double[] queryVector, SearchOptions options) {
+        return resolve(indexManager.findNearestNeighbors(queryVector, options));
+    }
+
+    @Override
+    public List<List<ScoredVector>> findNearest(List<double[]> queryVectors, List<SearchOptions> options) {
+        List<List<ScoredVector>> results = new ArrayList<>(queryVectors.size());
+        for (List<SearchHit> hits : indexManager.findNearestNeighbors(queryVectors, options)) {
+            results.add(resolve(hits));
+        }
+        return results;
+    }
+
+    /**
+     * Pairs index hits with the stored vectors, skipping hits removed since the search.
+     */
+    private List<ScoredVector> resolve(List<SearchHit> hits) {
+        List<ScoredVector> result = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            Stored stored = vectors.get(hit.getId());
+            if (stored != null) {
+                result.add(new ScoredVector(stored.vector, hit.getScore()));
+            }
+        }
+        return Collections.unmodifiableList(result);
     }
 
     @Override
     public int size() {
         return vectorCount.get();
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void close() {
+        vectors.clear();
+        vectorCount.set(0);
+    }
+
+    @Override
+    public float[] prepare(double[] embedding) {
+        return indexManager.prepare(embedding);
+    }
+
+    @Override
+    public double similarity(float[] a, float[] b) {
+        return indexManager.similarity(a, b);
+    }
+
+    @Override
+    public double similarity(float[] prepared, String id) {
+        Stored stored = vectors.get(id);
+        if (stored == null) {
+            return Double.NaN;
+        }
+        return VectorKernels.similarity(indexManager.getSimilarity(), prepared, stored.vector.getEmbedding(),
+            stored.norm);
+    }
+}
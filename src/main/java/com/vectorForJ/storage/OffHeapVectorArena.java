@@ -0,0 +1,123 @@
+package com.vectorForJ.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-dimension float32 vectors stored outside the Java heap in direct-buffer slabs, addressed by int ordinal.
+ * Released ordinals go on a free list and are handed out again before the arena grows. Not thread-safe.
+ */
+public final class OffHeapVectorArena {
+    /** Size of each off-heap slab */
+    public static final int DEFAULT_SLAB_BYTES = 64 << 20;
+
+    private final int dimension;
+    private final int vectorsPerSlab;
+    private final List<FloatBuffer> slabs = new ArrayList<>();
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+
+    public OffHeapVectorArena(int dimension) {
+        this(dimension, DEFAULT_SLAB_BYTES);
+    }
+
+    public OffHeapVectorArena(int dimension, int slabBytes) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Arena dimension must be positive");
+        }
+        this.dimension = dimension;
+        this.vectorsPerSlab = Math.max(1, slabBytes / (dimension * Float.BYTES));
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns a free ordinal, reusing released ones first.
+     */
+    public int allocate() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        int ordinal = nextOrdinal++;
+        if (ordinal / vectorsPerSlab >= slabs.size()) {
+            slabs.add(ByteBuffer.allocateDirect(vectorsPerSlab * dimension * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer());
+        }
+        return ordinal;
+    }
+
+    public void release(int ordinal) {
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    public void write(int ordinal, double[] values) {
+        if (values.length != dimension) {
+            throw new IllegalArgumentException(String.format(
+                "Vector dimension %d does not match arena dimension %d", values.length, dimension));
+        }
+        FloatBuffer slab = slabs.get(ordinal / vectorsPerSlab);
+        int base = (ordinal % vectorsPerSlab) * dimension;
+        for (int i = 0; i < dimension; i++) {
+            slab.put(base + i, (float) values[i]);
+        }
+    }
+
+    public double[] read(int ordinal) {
+        FloatBuffer slab = slabs.get(ordinal / vectorsPerSlab);
+        int base = (ordinal % vectorsPerSlab) * dimension;
+        double[] values = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = slab.get(base + i);
+        }
+        return values;
+    }
+
+    /**
+     * Dot product of the vector at {@code ordinal} with {@code query}, read in place.
+     */
+    public float dot(int ordinal, float[] query) {
+        FloatBuffer slab = slabs.get(ordinal / vectorsPerSlab);
+        int base = (ordinal % vectorsPerSlab) * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            sum += slab.get(base + i) * query[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Squared Euclidean distance between the vector at {@code ordinal} and {@code query}, read in place.
+     */
+    public float squaredDistance(int ordinal, float[] query) {
+        FloatBuffer slab = slabs.get(ordinal / vectorsPerSlab);
+        int base = (ordinal % vectorsPerSlab) * dimension;
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            float diff = slab.get(base + i) - query[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    /**
+     * Highest ordinal handed out so far plus one; ordinals below it are either live or on the free list.
+     */
+    public int ordinalLimit() {
+        return nextOrdinal;
+    }
+
+    public long offHeapBytes() {
+        return (long) slabs.size() * vectorsPerSlab * dimension * Float.BYTES;
+    }
+}
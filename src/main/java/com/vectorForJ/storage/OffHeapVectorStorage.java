@@ -0,0 +1,388 @@
+package com.vectorForJ.storage;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.SearchHit;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.similarity.VectorKernels;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lucene-backed storage that keeps embeddings as float32 in an {@link OffHeapVectorArena} instead of
+ * holding {@link Vector} objects. Ids map to arena ordinals through an {@link IdOrdinalMap}; metadata and
+ * attributes sit in per-ordinal arrays, and {@code Vector} views are only built when a caller asks for one.
+ * Embeddings read back are float32-rounded, as they are when reloaded from the index.
+ * Writes go to the index before the arena, and writers of the same id are serialized, so the arena and
+ * the index never disagree about a vector. Enabled with {@code vector.storage.engine=offheap}.
+ */
+@Component
+@ConditionalOnProperty(name = "vector.storage.engine", havingValue = "offheap")
+public class OffHeapVectorStorage implements VectorStorage {
+    private final VectorIndexManager indexManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdLocks idLocks = new IdLocks();
+    private IdOrdinalMap ordinals = new IdOrdinalMap();
+    private OffHeapVectorArena arena;
+    private String[] ids = new String[16];
+    private String[] metadata = new String[16];
+    private Object[] attributes = new Object[16];
+    /** Norm of each stored embedding, so duplicate checks score vectors without recomputing it */
+    private float[] norms = new float[16];
+
+    @Autowired
+    public OffHeapVectorStorage(VectorIndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    /**
+     * Rehydrates the arena from a persistent index that was reopened on start.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            indexManager.forEachVector(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void store(Vector vector) {
+        idLocks.withLock(vector.getId(), () -> write(List.of(vector), () -> indexManager.addVector(vector)));
+    }
+
+    /**
+     * Stores the whole batch or, when a vector has the wrong dimension or the index write fails, none of it.
+     */
+    @Override
+    public void storeAll(List<Vector> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> batchIds = new ArrayList<>(batch.size());
+        for (Vector vector : batch) {
+            batchIds.add(vector.getId());
+        }
+        idLocks.withLocks(batchIds, () -> write(batch, () -> indexManager.addVectors(batch)));
+    }
+
+    /**
+     * Writes the index and then the arena. The caller holds the id stripes of the batch. A failed index write
+     * may have reached some shards, so those ids are put back to what the arena holds before the failure is
+     * rethrown; the arena is only written once the index has accepted the batch.
+     */
+    private void write(List<Vector> batch, Runnable indexWrite) {
+        lock.readLock().lock();
+        try {
+            checkDimensions(batch);
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            indexWrite.run();
+        } catch (RuntimeException e) {
+            restoreIndex(batch, e);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            // Another writer may have set the arena dimension since the first check
+            checkDimensions(batch);
+            for (Vector vector : batch) {
+                put(vector);
+            }
+        } catch (IllegalArgumentException e) {
+            restoreIndex(batch, e);
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void restoreIndex(List<Vector> batch, RuntimeException failure) {
+        for (Vector vector : batch) {
+            try {
+                Optional<Vector> previous = retrieve(vector.getId());
+                if (previous.isPresent()) {
+                    indexManager.addVector(previous.get());
+                } else {
+                    indexManager.removeVector(vector.getId());
+                }
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private void checkDimensions(List<Vector> batch) {
+        int expected = arena != null ? arena.dimension() : batch.get(0).getEmbedding().length;
+        for (Vector vector : batch) {
+            if (vector.getEmbedding().length != expected) {
+                throw new IllegalArgumentException(String.format(
+                    "Vector dimension %d does not match stored dimension %d", vector.getEmbedding().length, expected));
+            }
+        }
+    }
+
+    @Override
+    public Optional<Vector> retrieve(String id) {
+        lock.readLock().lock();
+        try {
+            int ordinal = ordinals.get(id);
+            return ordinal == IdOrdinalMap.MISSING ? Optional.empty() : Optional.of(view(ordinal));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Vector> retrieveAll() {
+        lock.readLock().lock();
+        try {
+            List<Vector> result = new ArrayList<>(ordinals.size());
+            int limit = arena == null ? 0 : arena.ordinalLimit();
+            for (int ordinal = 0; ordinal < limit; ordinal++) {
+                if (ids[ordinal] != null) {
+                    result.add(view(ordinal));
+                }
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pages through vectors in ordinal order; the cursor is the ordinal to resume at. A live vector never
+     * changes ordinal, so only vectors inserted into reused ordinals behind the cursor are missed.
+     */
+    @Override
+    public VectorPage page(String cursor, int limit) {
+        int start;
+        try {
+            start = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        lock.readLock().lock();
+        try {
+            List<Vector> page = new ArrayList<>(Math.min(limit, 1024));
+            int end = arena == null ? 0 : arena.ordinalLimit();
+            for (int ordinal = Math.max(0, start); ordinal < end; ordinal++) {
+                if (ids[ordinal] == null) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    return new VectorPage(page, String.valueOf(ordinal));
+                }
+                page.add(view(ordinal));
+            }
+            return new VectorPage(page, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        idLocks.withLock(id, () -> {
+            if (!contains(id)) {
+                return;
+            }
+            indexManager.removeVector(id);
+            lock.writeLock().lock();
+            try {
+                int ordinal = ordinals.remove(id);
+                ids[ordinal] = null;
+                metadata[ordinal] = null;
+                attributes[ordinal] = null;
+                arena.release(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public List<ScoredVector> findNearest(double[] queryVector, int k) {
+        return findNearest(queryVector, SearchOptions.of(k));
+    }
+
+    @Override
+    public List<ScoredVector> findNearest(double[] queryVector, SearchOptions options) {
+        return resolve(indexManager.findNearestNeighbors(queryVector, options));
+    }
+
+    @Override
+    public List<List<ScoredVector>> findNearest(List<double[]> queryVectors, List<SearchOptions> options) {
+        List<List<ScoredVector>> results = new ArrayList<>(queryVectors.size());
+        for (List<SearchHit> hits : indexManager.findNearestNeighbors(queryVectors, options)) {
+            results.add(resolve(hits));
+        }
+        return results;
+    }
+
+    /**
+     * Scores the first hit still stored without reading its embedding back out of the arena.
+     */
+    @Override
+    public double nearestScore(double[] queryVector, SearchOptions options) {
+        List<SearchHit> hits = indexManager.findNearestNeighbors(queryVector, options);
+        lock.readLock().lock();
+        try {
+            for (SearchHit hit : hits) {
+                if (ordinals.get(hit.getId()) != IdOrdinalMap.MISSING) {
+                    return hit.getScore();
+                }
+            }
+            return Double.NaN;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pairs index hits with views of the stored vectors, skipping hits removed since the search.
+     */
+    private List<ScoredVector> resolve(List<SearchHit> hits) {
+        List<ScoredVector> result = new ArrayList<>(hits.size());
+        lock.readLock().lock();
+        try {
+            for (SearchHit hit : hits) {
+                int ordinal = ordinals.get(hit.getId());
+                if (ordinal != IdOrdinalMap.MISSING) {
+                    result.add(new ScoredVector(view(ordinal), hit.getScore()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return ordinals.get(id) != IdOrdinalMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public float[] prepare(double[] embedding) {
+        return indexManager.prepare(embedding);
+    }
+
+    @Override
+    public double similarity(float[] a, float[] b) {
+        return indexManager.similarity(a, b);
+    }
+
+    @Override
+    public double similarity(float[] prepared, String id) {
+        lock.readLock().lock();
+        try {
+            int ordinal = ordinals.get(id);
+            if (ordinal == IdOrdinalMap.MISSING) {
+                return Double.NaN;
+            }
+            if (indexManager.getSimilarity() == IndexSettings.Similarity.EUCLIDEAN) {
+                return 1.0 / (1.0 + arena.squaredDistance(ordinal, prepared));
+            }
+            // Prepared cosine and dot-product queries are unit vectors
+            return norms[ordinal] == 0f ? 0.0 : arena.dot(ordinal, prepared) / norms[ordinal];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the arena, whose direct slabs are freed once they are collected.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            arena = null;
+            ordinals = new IdOrdinalMap();
+            ids = new String[16];
+            metadata = new String[16];
+            attributes = new Object[16];
+            norms = new float[16];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Off-heap bytes reserved by the arena's slabs.
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return arena == null ? 0 : arena.offHeapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Vector vector) {
+        if (arena == null) {
+            arena = new OffHeapVectorArena(vector.getEmbedding().length);
+        } else if (vector.getEmbedding().length != arena.dimension()) {
+            throw new IllegalArgumentException(String.format("Vector dimension %d does not match stored dimension %d",
+                vector.getEmbedding().length, arena.dimension()));
+        }
+        int ordinal = ordinals.get(vector.getId());
+        if (ordinal == IdOrdinalMap.MISSING) {
+            ordinal = arena.allocate();
+            arena.write(ordinal, vector.getEmbedding());
+            ordinals.put(vector.getId(), ordinal);
+            ensureCapacity(ordinal + 1);
+        } else {
+            arena.write(ordinal, vector.getEmbedding());
+        }
+        ids[ordinal] = vector.getId();
+        metadata[ordinal] = vector.getMetadata();
+        attributes[ordinal] = vector.getAttributes();
+        norms[ordinal] = VectorKernels.norm(vector.getEmbedding());
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > ids.length) {
+            int capacity = Math.max(needed, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            metadata = Arrays.copyOf(metadata, capacity);
+            attributes = Arrays.copyOf(attributes, capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Vector view(int ordinal) {
+        return new Vector(ids[ordinal], arena.read(ordinal), metadata[ordinal], arena.dimension(),
+            (Map<String, Object>) attributes[ordinal]);
+    }
+}
@@ -1,14 +1,74 @@
 package com.vectorForJ.storage;
 
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public interface VectorStorage {
     void store(Vector vector);
+    void storeAll(List<Vector> vectors);
     Optional<Vector> retrieve(String id);
     List<Vector> retrieveAll();
+
+    /**
+     * Returns up to {@code limit} vectors following {@code cursor} ({@code null} for the first page), with the
+     * cursor of the next page. The order is stable while vectors are added and removed, so vectors present for
+     * the whole walk are returned exactly once; cursors are engine-specific and only valid for the same storage.
+     */
+    VectorPage page(String cursor, int limit);
     void remove(String id);
-    List<Vector> findNearest(double[] queryVector, int k);
+    List<ScoredVector> findNearest(double[] queryVector, int k);
+    List<ScoredVector> findNearest(double[] queryVector, SearchOptions options);
+
+    /**
+     * Runs several searches, one per query with the options at the same position, and returns their results in
+     * query order. Engines backed by an index search all queries concurrently against one point-in-time view;
+     * by default the queries run one after another.
+     */
+    default List<List<ScoredVector>> findNearest(List<double[]> queryVectors, List<SearchOptions> options) {
+        List<List<ScoredVector>> results = new ArrayList<>(queryVectors.size());
+        for (int i = 0; i < queryVectors.size(); i++) {
+            results.add(findNearest(queryVectors.get(i), options.get(i)));
+        }
+        return results;
+    }
     int size();
+
+    /**
+     * Returns the score of the nearest stored vector, or {@code NaN} when none is found, for callers that only
+     * compare it with a threshold. Engines that build vectors on demand answer without building one.
+     */
+    default double nearestScore(double[] queryVector, SearchOptions options) {
+        List<ScoredVector> nearest = findNearest(queryVector, options);
+        return nearest.isEmpty() ? Double.NaN : nearest.get(0).getScore();
+    }
+
+    /**
+     * Converts an embedding once into the float32 form compared by {@link #similarity(float[], float[])}, so
+     * repeated comparisons against it never compute a norm.
+     */
+    float[] prepare(double[] embedding);
+
+    /**
+     * Scores two prepared embeddings on the same scale as the scores returned by {@code findNearest}.
+     */
+    double similarity(float[] a, float[] b);
+
+    /**
+     * Scores a prepared embedding against the stored vector with the given id, using what the storage keeps for
+     * it (unit vectors or precomputed norms) without rebuilding the vector. Returns {@code NaN} when no vector
+     * with that id is stored.
+     */
+    double similarity(float[] prepared, String id);
+
+    /**
+     * Empties the storage and lets go of what backs it, such as an arena, once it is no longer used. An index
+     * the storage writes to is closed by its owner.
+     */
+    default void close() {
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.vectorForJ.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.Defaults;
+import com.vectorForJ.exception.RestExceptionHandler;
+import com.vectorForJ.model.SearchQuery;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.ExactVectorStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BatchSearchValidationTest {
+    private static final String BATCH_SEARCH = "/api/vectors/search/batch";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        VectorServiceImpl service = new VectorServiceImpl(
+            new ExactVectorStorage(IndexSettings.Similarity.COSINE), 3, 0.95, new DedupeSettings());
+        // Validates method arguments the way the application context's @Validated proxy does
+        ProxyFactory proxy = new ProxyFactory(new VectorController(service, null, objectMapper));
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice(new MethodValidationInterceptor());
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(proxy.getProxy())
+            .setValidator(validator)
+            .setControllerAdvice(new RestExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void testValidQueriesAreSearched() throws Exception {
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new SearchQuery(new double[]{1.0, 0.0, 0.0}, 2)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void testNullQueriesAreRejected() throws Exception {
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"vector\": [1.0, 0.0, 0.0]}, null]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.details[0]").value(
+                "findSimilarVectorsBatch.queries[1].<list element>: Query cannot be null"));
+    }
+
+    @Test
+    void testQueriesWithoutAVectorOrWithABadKAreRejected() throws Exception {
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"k\": 3}]"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"vector\": [1.0, 0.0, 0.0], \"k\": 0}]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testKAboveTheLimitIsRejected() throws Exception {
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"vector\": [1.0, 0.0, 0.0], \"k\": " + (Defaults.MAX_K + 1) + "}]"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("k", String.valueOf(Defaults.MAX_K + 1))
+                .content("[{\"vector\": [1.0, 0.0, 0.0]}]"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/vectors/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("k", String.valueOf(Defaults.MAX_K + 1))
+                .content("[1.0, 0.0, 0.0]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testOversizedBatchesAreRejected() throws Exception {
+        List<SearchQuery> queries = new ArrayList<>(Collections.nCopies(
+            Defaults.MAX_BATCH_QUERIES + 1, new SearchQuery(new double[]{1.0, 0.0, 0.0}, 1)));
+
+        mockMvc.perform(post(BATCH_SEARCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(queries)))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,114 @@
+package com.vectorForJ.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.exception.RestExceptionHandler;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.ExactVectorStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class Float32VectorMessageConverterTest {
+    private static final MediaType FLOAT32 = Float32VectorMessageConverter.FLOAT32_VECTORS;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        VectorServiceImpl service = new VectorServiceImpl(
+            new ExactVectorStorage(IndexSettings.Similarity.COSINE), 3, 0.95, new DedupeSettings());
+        mockMvc = MockMvcBuilders.standaloneSetup(new VectorController(service, null, objectMapper))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper), new Float32VectorMessageConverter())
+            .setControllerAdvice(new RestExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void testCodecRoundTripsIdsScoresAndEmbeddings() {
+        // Given
+        List<ScoredVector> results = List.of(
+            new ScoredVector(new Vector("vecteur-é", new double[]{0.25, -1.5, 3.0}, null, 3), 0.875),
+            new ScoredVector(new Vector(null, new double[]{1.0, 2.0, 4.0}, null, 3), 0.5));
+
+        // When
+        List<ScoredVector> decoded = Float32VectorCodec.decodeScored(Float32VectorCodec.encodeScored(results));
+
+        // Then
+        assertEquals(2, decoded.size());
+        assertEquals("vecteur-é", decoded.get(0).getVector().getId());
+        assertEquals(0.875, decoded.get(0).getScore());
+        assertArrayEquals(new double[]{0.25, -1.5, 3.0}, decoded.get(0).getVector().getEmbedding());
+        assertNull(decoded.get(1).getVector().getId());
+        assertEquals(3, decoded.get(1).getVector().getDimension());
+    }
+
+    @Test
+    void testCodecRejectsTruncatedAndMismatchedMessages() {
+        byte[] body = Float32VectorCodec.encodeVectors(List.of(new Vector("a", new double[]{1.0, 2.0}, null, 2)));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> Float32VectorCodec.decodeVectors(Arrays.copyOf(body, body.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> Float32VectorCodec.decodeScored(body));
+        assertThrows(IllegalArgumentException.class, () -> Float32VectorCodec.encodeVectors(List.of(
+            new Vector("a", new double[]{1.0}, null, 1), new Vector("b", new double[]{1.0, 2.0}, null, 2))));
+    }
+
+    @Test
+    void testBinaryIngestAndSearch() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/vectors/batch")
+                .contentType(FLOAT32)
+                .content(Float32VectorCodec.encodeVectors(List.of(
+                    new Vector(null, new double[]{0.0, 1.0, 0.0}, null, 3),
+                    new Vector(null, new double[]{0.0, 0.0, 1.0}, null, 3)))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        // When
+        byte[] created = mockMvc.perform(post("/api/vectors")
+                .contentType(FLOAT32)
+                .accept(FLOAT32)
+                .content(Float32VectorCodec.encodeQuery(new double[]{1.0, 0.0, 0.0})))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] found = mockMvc.perform(post("/api/vectors/search?k=2")
+                .contentType(FLOAT32)
+                .accept(FLOAT32)
+                .content(Float32VectorCodec.encodeQuery(new double[]{0.9, 0.1, 0.0})))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(FLOAT32))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        Vector vector = Float32VectorCodec.decodeSingle(created);
+        assertNotNull(vector.getId());
+        List<ScoredVector> results = Float32VectorCodec.decodeScored(found);
+        assertEquals(2, results.size());
+        assertEquals(vector.getId(), results.get(0).getVector().getId());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void testMalformedBinaryBodyIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/vectors/search")
+                .contentType(FLOAT32)
+                .content(new byte[]{1, 2, 3}))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,50 @@
+package com.vectorForJ.api;
+
+import com.vectorForJ.collection.CollectionManager;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.ResponseFields;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.service.DocumentProcessingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HealthControllerTest {
+
+    @Test
+    void testHeartbeatWithoutAnIndexOmitsIndexStats() {
+        // Given: the exact engine, which registers no index manager
+        HealthController controller = new HealthController(
+            new DefaultListableBeanFactory().getBeanProvider(VectorIndexManager.class),
+            mock(CollectionManager.class), mock(DocumentProcessingService.class));
+
+        // When
+        Map<String, Object> status = controller.heartbeat().getBody();
+
+        // Then
+        assertFalse(status.containsKey(ResponseFields.INDEX));
+        assertTrue(status.containsKey(ResponseFields.MEMORY));
+    }
+
+    @Test
+    void testHeartbeatReportsIndexStats() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("vectorIndexManager", indexManager);
+        HealthController controller = new HealthController(beanFactory.getBeanProvider(VectorIndexManager.class),
+            mock(CollectionManager.class), mock(DocumentProcessingService.class));
+
+        // When
+        Map<String, Object> status = controller.heartbeat().getBody();
+
+        // Then
+        assertEquals(indexManager.getStats().keySet(), ((Map<?, ?>) status.get(ResponseFields.INDEX)).keySet());
+        indexManager.cleanup();
+    }
+}
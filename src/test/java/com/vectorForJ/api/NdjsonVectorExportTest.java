@@ -0,0 +1,184 @@
+package com.vectorForJ.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.ExactVectorStorage;
+import com.vectorForJ.storage.VectorStorage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonVectorExportTest {
+    private static final int FIXED_HEAP_VECTORS = 2_000_000;
+
+    @Test
+    void testExportWritesOneLinePerVectorAcrossPages() throws IOException {
+        // Given
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            vectors.add(new Vector("v" + i, new double[]{i, 1.0}, "m" + i, 2));
+        }
+        storage.storeAll(vectors);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = NdjsonVectorExport.write(new VectorServiceImpl(storage), new ObjectMapper(), false, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2500, written);
+        assertEquals(2500, lines.length);
+        Set<String> ids = new HashSet<>();
+        for (String line : lines) {
+            JsonNode node = new ObjectMapper().readTree(line);
+            ids.add(node.get("id").asText());
+            assertTrue(node.get("embedding").isNull());
+            assertEquals(2, node.get("dimension").asInt());
+        }
+        assertEquals(2500, ids.size());
+    }
+
+    @Test
+    void testExportOfMillionsOfVectorsRunsInFixedHeap() throws Exception {
+        // Given: a JVM whose heap could not hold the export, let alone the vectors, at once
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                FixedHeapExport.class.getName(), String.valueOf(FIXED_HEAP_VECTORS))
+            .redirectErrorStream(true)
+            .start();
+
+        // When
+        boolean finished = process.waitFor(5, TimeUnit.MINUTES);
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        // Then
+        assertTrue(finished, "export did not finish");
+        assertEquals(0, process.exitValue(), output);
+        assertTrue(output.contains("exported " + FIXED_HEAP_VECTORS + " vectors"), output);
+    }
+
+    /**
+     * Exports synthetic vectors that are generated page by page into a byte-counting sink.
+     */
+    static final class FixedHeapExport {
+        public static void main(String[] args) throws IOException {
+            int count = Integer.parseInt(args[0]);
+            long[] bytes = new long[1];
+            OutputStream sink = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    bytes[0]++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    bytes[0] += len;
+                }
+            };
+            long written = NdjsonVectorExport.write(new VectorServiceImpl(new SyntheticStorage(count)),
+                new ObjectMapper(), true, sink);
+            System.out.println("exported " + written + " vectors, " + bytes[0] + " bytes, max heap "
+                + Runtime.getRuntime().maxMemory() / 1048576 + " MB");
+        }
+    }
+
+    /**
+     * Read-only storage of {@code count} generated vectors, paged by ordinal.
+     */
+    private static final class SyntheticStorage implements VectorStorage {
+        private final int count;
+
+        SyntheticStorage(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public VectorPage page(String cursor, int limit) {
+            int start = cursor == null ? 0 : Integer.parseInt(cursor);
+            int end = Math.min(count, start + limit);
+            List<Vector> page = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                double[] embedding = new double[16];
+                for (int d = 0; d < embedding.length; d++) {
+                    embedding[d] = (i + d) * 0.25;
+                }
+                page.add(new Vector("v" + i, embedding, "synthetic", embedding.length));
+            }
+            return new VectorPage(page, end < count ? String.valueOf(end) : null);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public void store(Vector vector) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void storeAll(List<Vector> vectors) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Vector> retrieve(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Vector> retrieveAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void remove(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ScoredVector> findNearest(double[] queryVector, int k) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ScoredVector> findNearest(double[] queryVector, SearchOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public float[] prepare(double[] embedding) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double similarity(float[] a, float[] b) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double similarity(float[] prepared, String id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
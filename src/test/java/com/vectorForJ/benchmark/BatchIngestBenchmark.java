@@ -0,0 +1,58 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares inserting vectors one {@code createVector} call at a time with a single
+ * {@code createVectors} batch, through the service, storage and index layers.
+ *
+ * <p>Properties: {@code vectors} (default 10000), {@code dim} (default 1536).
+ */
+public class BatchIngestBenchmark {
+
+    public static void main(String[] args) {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 10000);
+        int dimension = BenchmarkSupport.intProperty("dim", 1536);
+
+        System.out.printf("%10s %8s %14s %14s%n", "vectors", "dim", "single ms", "batch ms");
+        long singleMillis = run(vectorCount, dimension, false);
+        long batchMillis = run(vectorCount, dimension, true);
+        System.out.printf("%10d %8d %14d %14d%n", vectorCount, dimension, singleMillis, batchMillis);
+    }
+
+    private static long run(int vectorCount, int dimension, boolean batch) {
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        VectorServiceImpl vectorService = new VectorServiceImpl(new InMemoryVectorStorage(indexManager));
+        ReflectionTestUtils.setField(vectorService, "similarityThreshold", 0.95);
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, null, dimension));
+        }
+
+        long start = System.nanoTime();
+        if (batch) {
+            BatchResult result = vectorService.createVectors(vectors);
+            if (result.getCreated() != vectorCount) {
+                throw new IllegalStateException("Expected every vector to be created, got " + result.getCreated());
+            }
+        } else {
+            vectors.forEach(vectorService::createVector);
+        }
+        long millis = BenchmarkSupport.millisSince(start);
+        indexManager.cleanup();
+        return millis;
+    }
+}
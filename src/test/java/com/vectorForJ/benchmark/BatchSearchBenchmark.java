@@ -0,0 +1,108 @@
+package com.vectorForJ.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.api.VectorController;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.SearchQuery;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Compares running {@code batch} queries as that many {@code POST /api/vectors/search} requests with running
+ * them as one {@code POST /api/vectors/search/batch} request. Requests go through {@link MockMvc} with JSON
+ * bodies, so socket I/O is left out.
+ *
+ * <p>Properties: {@code vectors} (default 20000), {@code dim} (default 256), {@code batch} (default 32),
+ * {@code rounds} (default 50), {@code k} (default 10), {@code shards} (default 1),
+ * {@code threads} (batch search threads, default the processor count).
+ */
+public class BatchSearchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 20000);
+        int dimension = BenchmarkSupport.intProperty("dim", 256);
+        int batch = BenchmarkSupport.intProperty("batch", 32);
+        int rounds = BenchmarkSupport.intProperty("rounds", 50);
+        int k = BenchmarkSupport.intProperty("k", 10);
+
+        IndexSettings settings = new IndexSettings();
+        settings.setShards(BenchmarkSupport.intProperty("shards", 1));
+        settings.setSearchThreads(BenchmarkSupport.intProperty("threads", Runtime.getRuntime().availableProcessors()));
+        settings.getMerge().setCompactionIntervalMs(0);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        try {
+            Random random = new Random(42);
+            InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+            List<Vector> vectors = new ArrayList<>(vectorCount);
+            for (int i = 0; i < vectorCount; i++) {
+                vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+            }
+            storage.storeAll(vectors);
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new VectorController(
+                    new VectorServiceImpl(storage, dimension, 0.95, new DedupeSettings()), null, objectMapper))
+                .build();
+
+            List<List<byte[]>> singleBodies = new ArrayList<>(rounds);
+            List<byte[]> batchBodies = new ArrayList<>(rounds);
+            for (int round = 0; round < rounds; round++) {
+                List<byte[]> bodies = new ArrayList<>(batch);
+                List<SearchQuery> queries = new ArrayList<>(batch);
+                for (int i = 0; i < batch; i++) {
+                    double[] query = BenchmarkSupport.randomVector(random, null, dimension).getEmbedding();
+                    bodies.add(objectMapper.writeValueAsBytes(query));
+                    queries.add(new SearchQuery(query, k));
+                }
+                singleBodies.add(bodies);
+                batchBodies.add(objectMapper.writeValueAsBytes(queries));
+            }
+
+            System.out.printf("%d vectors, %d dims, %d shard(s), %d batch thread(s), %d queries per batch, k=%d%n",
+                vectorCount, dimension, settings.getShards(), settings.getSearchThreads(), batch, k);
+            System.out.printf("%12s %14s %14s%n", "mode", "ms/batch", "queries/sec");
+            for (int pass = 0; pass < 2; pass++) {
+                // The first pass warms up both paths and is not reported
+                long start = System.nanoTime();
+                for (List<byte[]> bodies : singleBodies) {
+                    for (byte[] body : bodies) {
+                        mockMvc.perform(post("/api/vectors/search").param("k", String.valueOf(k))
+                            .contentType(MediaType.APPLICATION_JSON).content(body));
+                    }
+                }
+                long sequentialMillis = Math.max(1, BenchmarkSupport.millisSince(start));
+
+                start = System.nanoTime();
+                for (byte[] body : batchBodies) {
+                    mockMvc.perform(post("/api/vectors/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON).content(body));
+                }
+                long batchMillis = Math.max(1, BenchmarkSupport.millisSince(start));
+                if (pass == 1) {
+                    report("sequential", sequentialMillis, rounds, batch);
+                    report("batch", batchMillis, rounds, batch);
+                }
+            }
+        } finally {
+            indexManager.cleanup();
+        }
+    }
+
+    private static void report(String mode, long millis, int rounds, int batch) {
+        System.out.printf("%12s %14.2f %14d%n", mode, (double) millis / rounds, (long) rounds * batch * 1000 / millis);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.model.Vector;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Shared helpers for the stand-alone benchmarks in this package.
+ * Benchmarks are plain {@code main} programs so surefire never runs them; launch them with
+ * {@code mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...}.
+ */
+final class BenchmarkSupport {
+    private BenchmarkSupport() {}
+
+    static Vector randomVector(Random random, String id, int dimension) {
+        double[] embedding = new double[dimension];
+        double norm = 0.0;
+        for (int i = 0; i < dimension; i++) {
+            embedding[i] = random.nextGaussian();
+            norm += embedding[i] * embedding[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < dimension; i++) {
+            embedding[i] /= norm;
+        }
+        return new Vector(id, embedding, "bench", dimension);
+    }
+
+    /**
+     * Writes a word2vec text model of {@code vocabulary} words {@code w0, w1, ...} with Gaussian components.
+     */
+    static void writeTextModel(Path file, Random random, int vocabulary, int dimension) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(vocabulary + " " + dimension + "\n");
+            for (int w = 0; w < vocabulary; w++) {
+                StringBuilder line = new StringBuilder("w").append(w);
+                for (int i = 0; i < dimension; i++) {
+                    line.append(' ').append((float) random.nextGaussian());
+                }
+                writer.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    static int[] intListProperty(String name, String defaultValue) {
+        return Stream.of(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.IndexStats;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures single-vector insert throughput into an on-disk index for each durability mode.
+ *
+ * <p>Properties: {@code vectors} (default 20000), {@code dim} (default 128),
+ * {@code threads} (default {@code 1,8}).
+ */
+public class CommitThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 20000);
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int[] threadCounts = BenchmarkSupport.intListProperty("threads", "1,8");
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+        }
+
+        System.out.printf("%10s %8s %14s %12s%n", "durability", "threads", "vectors/sec", "commits");
+        for (IndexSettings.Durability durability : IndexSettings.Durability.values()) {
+            for (int threads : threadCounts) {
+                Path indexPath = Files.createTempDirectory("vector-commit-bench");
+                IndexSettings settings = new IndexSettings();
+                settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+                settings.setPath(indexPath.toString());
+                settings.getCommit().setDurability(durability);
+                VectorIndexManager indexManager = new VectorIndexManager(settings);
+                indexManager.init();
+                try {
+                    long start = System.nanoTime();
+                    insertAll(indexManager, vectors, threads);
+                    indexManager.flush().join();
+                    long millis = Math.max(1, BenchmarkSupport.millisSince(start));
+                    System.out.printf("%10s %8d %14d %12s%n", durability, threads,
+                        vectorCount * 1000L / millis, indexManager.getStats().get(IndexStats.COMMITS));
+                } finally {
+                    indexManager.cleanup();
+                    BenchmarkSupport.deleteRecursively(indexPath);
+                }
+            }
+        }
+    }
+
+    private static void insertAll(VectorIndexManager indexManager, List<Vector> vectors, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < vectors.size(); i += threads) {
+                        indexManager.addVector(vectors.get(i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
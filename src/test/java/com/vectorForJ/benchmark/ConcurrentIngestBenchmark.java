@@ -0,0 +1,99 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Measures {@code createVector} throughput, duplicate check included, against an on-disk index with
+ * per-request durability. Each thread count is run twice: once with every insert serialized behind a
+ * single lock, as the service used to do, and once with the service's own concurrency control.
+ *
+ * <p>Properties: {@code vectors} (default 5000), {@code dim} (default 128),
+ * {@code threads} (default {@code 1,2,4,8}).
+ */
+public class ConcurrentIngestBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 5000);
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int[] threadCounts = BenchmarkSupport.intListProperty("threads", "1,2,4,8");
+
+        System.out.printf("%10s %8s %14s%n", "mode", "threads", "vectors/sec");
+        for (int threads : threadCounts) {
+            for (boolean globalLock : new boolean[] {true, false}) {
+                Path indexPath = Files.createTempDirectory("vector-ingest-bench");
+                IndexSettings settings = new IndexSettings();
+                settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+                settings.setPath(indexPath.toString());
+                VectorIndexManager indexManager = new VectorIndexManager(settings);
+                indexManager.init();
+                try {
+                    VectorServiceImpl service = new VectorServiceImpl(
+                        new InMemoryVectorStorage(indexManager), dimension, 0.95, new DedupeSettings());
+                    ReentrantLock lock = new ReentrantLock();
+                    Consumer<Vector> insert = globalLock
+                        ? vector -> {
+                            lock.lock();
+                            try {
+                                service.createVector(vector);
+                            } finally {
+                                lock.unlock();
+                            }
+                        }
+                        : service::createVector;
+
+                    // Fresh vectors per run, since ids are assigned on insert
+                    Random random = new Random(42);
+                    List<Vector> vectors = new ArrayList<>(vectorCount);
+                    for (int i = 0; i < vectorCount; i++) {
+                        vectors.add(BenchmarkSupport.randomVector(random, null, dimension));
+                    }
+
+                    long start = System.nanoTime();
+                    insertAll(insert, vectors, threads);
+                    long millis = Math.max(1, BenchmarkSupport.millisSince(start));
+                    System.out.printf("%10s %8d %14d%n", globalLock ? "lock" : "pending", threads,
+                        vectorCount * 1000L / millis);
+                } finally {
+                    indexManager.cleanup();
+                    BenchmarkSupport.deleteRecursively(indexPath);
+                }
+            }
+        }
+    }
+
+    private static void insertAll(Consumer<Vector> insert, List<Vector> vectors, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < vectors.size(); i += threads) {
+                        insert.accept(vectors.get(i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
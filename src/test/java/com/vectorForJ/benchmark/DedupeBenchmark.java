@@ -0,0 +1,144 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.similarity.LshDuplicateIndex;
+import com.vectorForJ.storage.ExactVectorStorage;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+import com.vectorForJ.storage.VectorStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Compares the insert-time duplicate check done with an HNSW nearest-neighbor query against LSH candidates
+ * verified exactly. Half of the probes are perturbed copies of stored vectors with a cosine similarity
+ * spread over {@code [threshold, 0.995]}, half are fresh random vectors. Ground truth comes from an exact scan,
+ * and the false-negative rate is the share of true duplicates a check missed; neither check can report a
+ * false positive because both compare real scores with the threshold.
+ *
+ * <p>Properties: {@code vectors} (default 50000), {@code dim} (default 256), {@code probes} (default 1000),
+ * {@code efs} (HNSW candidates of the kNN check, default {@code 1,100}), {@code bands} (default {@code 16,24,32}),
+ * {@code bits} (default 12).
+ */
+public class DedupeBenchmark {
+    private static final double THRESHOLD = 0.95;
+
+    public static void main(String[] args) {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 50000);
+        int dimension = BenchmarkSupport.intProperty("dim", 256);
+        int probeCount = BenchmarkSupport.intProperty("probes", 1000);
+        int[] efs = BenchmarkSupport.intListProperty("efs", "1,100");
+        int[] bandCounts = BenchmarkSupport.intListProperty("bands", "16,24,32");
+        int bits = BenchmarkSupport.intProperty("bits", 12);
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+        }
+        List<double[]> probes = new ArrayList<>(probeCount);
+        for (int i = 0; i < probeCount; i++) {
+            probes.add(i % 2 == 0
+                ? perturb(random, vectors.get(random.nextInt(vectorCount)).getEmbedding(), THRESHOLD + random.nextDouble() * 0.045)
+                : BenchmarkSupport.randomVector(random, null, dimension).getEmbedding());
+        }
+
+        ExactVectorStorage exact = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        exact.storeAll(vectors);
+        boolean[] truth = new boolean[probeCount];
+        int duplicates = 0;
+        for (int i = 0; i < probeCount; i++) {
+            truth[i] = isAboveThreshold(exact.findNearest(probes.get(i), 1));
+            duplicates += truth[i] ? 1 : 0;
+        }
+        System.out.printf("%d vectors, %d dims, %d probes of which %d are duplicates%n",
+            vectorCount, dimension, probeCount, duplicates);
+        System.out.printf("%16s %12s %14s %16s%n", "check", "FN rate", "us/check", "candidates/check");
+
+        IndexSettings settings = new IndexSettings();
+        settings.getMerge().setCompactionIntervalMs(0);
+        // The warm-up pass would otherwise serve the timed one from the cache
+        settings.getQueryCache().setEnabled(false);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        try {
+            InMemoryVectorStorage hnsw = new InMemoryVectorStorage(indexManager);
+            hnsw.storeAll(vectors);
+            for (int ef : efs) {
+                SearchOptions options = new SearchOptions(1, ef);
+                report("knn hnsw ef=" + ef, probes, truth,
+                    probe -> isAboveThreshold(hnsw.findNearest(probe, options)), new long[1]);
+            }
+            report("knn (exact)", probes, truth, probe -> isAboveThreshold(exact.findNearest(probe, 1)), new long[1]);
+
+            for (int bands : bandCounts) {
+                LshDuplicateIndex index = new LshDuplicateIndex(bands, bits, 42);
+                vectors.parallelStream().forEach(vector -> index.add(vector.getId(), vector.getEmbedding()));
+                long[] candidates = new long[1];
+                report(String.format("lsh %dx%d", bands, bits), probes, truth,
+                    probe -> {
+                        List<String> ids = index.candidates(probe, THRESHOLD);
+                        candidates[0] += ids.size();
+                        return verify(hnsw, probe, ids);
+                    }, candidates);
+            }
+        } finally {
+            indexManager.cleanup();
+        }
+    }
+
+    /**
+     * Runs every probe through the check; {@code candidates} is a counter the check may add its candidates to.
+     */
+    private static void report(String name, List<double[]> probes, boolean[] truth, Predicate<double[]> check,
+                               long[] candidates) {
+        // One untimed pass warms up the code paths
+        probes.forEach(check::test);
+        candidates[0] = 0;
+        int missed = 0;
+        int duplicates = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < probes.size(); i++) {
+            boolean found = check.test(probes.get(i));
+            if (truth[i]) {
+                duplicates++;
+                missed += found ? 0 : 1;
+            }
+        }
+        long micros = (System.nanoTime() - start) / 1000 / probes.size();
+        System.out.printf("%16s %12.4f %14d %16.1f%n", name, duplicates == 0 ? 0.0 : (double) missed / duplicates,
+            micros, (double) candidates[0] / probes.size());
+    }
+
+    private static boolean verify(VectorStorage storage, double[] probe, List<String> ids) {
+        float[] prepared = storage.prepare(probe);
+        for (String id : ids) {
+            if (storage.similarity(prepared, id) >= THRESHOLD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAboveThreshold(List<ScoredVector> nearest) {
+        return !nearest.isEmpty() && nearest.get(0).getScore() >= THRESHOLD;
+    }
+
+    /**
+     * Adds Gaussian noise to a unit vector so the result has roughly the given cosine similarity to it.
+     */
+    private static double[] perturb(Random random, double[] unit, double cosine) {
+        double sigma = Math.sqrt((1.0 / (cosine * cosine) - 1.0) / unit.length);
+        double[] result = new double[unit.length];
+        for (int i = 0; i < unit.length; i++) {
+            result[i] = unit[i] + sigma * random.nextGaussian();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.EmbeddingSettings;
+import com.vectorForJ.constants.ApplicationConstants.EmbeddingStats;
+import com.vectorForJ.service.impl.DocumentProcessingServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures {@code generateEmbedding} throughput for templated texts, with the embedding cache off and on.
+ * Texts are filled in from a small vocabulary so that {@code distinct} of them recur with a Zipf-like skew.
+ * Run from the project root so the test model at {@code src/test/resources/test-model.txt} is found.
+ *
+ * <p>Properties: {@code calls} (default 200000), {@code distinct} (default 1000), {@code words} (words per text,
+ * default 12).
+ */
+public class EmbeddingCacheBenchmark {
+    private static final String[] VOCABULARY = {
+        "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "John", "Smith", "works", "at", "Google",
+        "in", "New", "York"
+    };
+
+    public static void main(String[] args) {
+        int calls = BenchmarkSupport.intProperty("calls", 200000);
+        int distinct = BenchmarkSupport.intProperty("distinct", 1000);
+        int words = BenchmarkSupport.intProperty("words", 12);
+
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>(distinct);
+        for (int i = 0; i < distinct; i++) {
+            StringBuilder text = new StringBuilder("Report for");
+            for (int w = 0; w < words; w++) {
+                text.append(' ').append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+            texts.add(text.toString());
+        }
+        // Rank r is drawn with probability proportional to 1 / r
+        double[] cumulative = new double[distinct];
+        for (int i = 0; i < distinct; i++) {
+            cumulative[i] = (i == 0 ? 0 : cumulative[i - 1]) + 1.0 / (i + 1);
+        }
+        int[] order = new int[calls];
+        for (int i = 0; i < calls; i++) {
+            double u = random.nextDouble() * cumulative[distinct - 1];
+            int rank = 0;
+            while (cumulative[rank] < u) {
+                rank++;
+            }
+            order[i] = rank;
+        }
+
+        System.out.printf("%d calls over %d distinct texts of %d words%n", calls, distinct, words + 2);
+        System.out.printf("%6s %12s %10s %10s %12s%n", "cache", "calls/sec", "hit rate", "saved ms", "cache bytes");
+        run("off", texts, order, false);
+        run("on", texts, order, true);
+    }
+
+    private static void run(String mode, List<String> texts, int[] order, boolean cached) {
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.getCache().setEnabled(cached);
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+
+        long start = System.nanoTime();
+        for (int index : order) {
+            service.generateEmbedding(texts.get(index));
+        }
+        long millis = Math.max(1, BenchmarkSupport.millisSince(start));
+
+        Map<String, Object> stats = service.getStats();
+        System.out.printf("%6s %12d %10.3f %10s %12s%n", mode, order.length * 1000L / millis,
+            stats.getOrDefault(EmbeddingStats.CACHE_HIT_RATE, 0.0),
+            stats.getOrDefault(EmbeddingStats.CACHE_SAVED_MS, "-"),
+            stats.getOrDefault(EmbeddingStats.CACHE_BYTES, "-"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.EmbeddingSettings;
+import com.vectorForJ.constants.ApplicationConstants.EmbeddingStats;
+import com.vectorForJ.service.impl.DocumentProcessingServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures {@code generateEmbedding} throughput as the number of calling threads grows, with the embedding cache
+ * off so every call tokenizes, tags and pools. The OpenNLP tokenizer and tagger are only used when their models are
+ * on the classpath under {@code /models}; otherwise the basic whitespace tokenizer is measured. Run from the project
+ * root so the test model at {@code src/test/resources/test-model.txt} is found. Every thread count is run once
+ * unreported first, so the single-threaded baseline is not measured while the JIT is still compiling.
+ *
+ * <p>Properties: {@code threads} (comma-separated, default 1,2,4,8), {@code calls} (default 100000),
+ * {@code words} (per text, default 30), {@code pool} (tagger pool size, default the processor count).
+ */
+public class EmbeddingConcurrencyBenchmark {
+    private static final String[] VOCABULARY = {
+        "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "works", "at", "in", "report", "status"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = BenchmarkSupport.intListProperty("threads", "1,2,4,8");
+        int calls = BenchmarkSupport.intProperty("calls", 100000);
+        int words = BenchmarkSupport.intProperty("words", 30);
+        int poolSize = BenchmarkSupport.intProperty("pool", Runtime.getRuntime().availableProcessors());
+
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.getCache().setEnabled(false);
+        settings.setTaggerPoolSize(poolSize);
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder text = new StringBuilder("the");
+            for (int w = 0; w < words; w++) {
+                text.append(' ').append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+            texts.add(text.toString());
+        }
+        for (int threads : threadCounts) {
+            run(service, texts, threads, calls);
+        }
+
+        System.out.printf("%d calls of %d words, tagger pool of %d%n", calls, words + 1, poolSize);
+        System.out.printf("%8s %12s %10s %12s%n", "threads", "calls/sec", "speedup", "pool waits");
+        long baseline = 0;
+        for (int threads : threadCounts) {
+            long waitsBefore = (Long) service.getStats().getOrDefault(EmbeddingStats.TAGGER_WAITS, 0L);
+            long millis = run(service, texts, threads, calls);
+
+            long throughput = calls * 1000L / millis;
+            if (baseline == 0) {
+                baseline = throughput;
+            }
+            Map<String, Object> stats = service.getStats();
+            Object waits = stats.containsKey(EmbeddingStats.TAGGER_WAITS)
+                ? (Long) stats.get(EmbeddingStats.TAGGER_WAITS) - waitsBefore : "-";
+            System.out.printf("%8d %12d %10.2f %12s%n", threads, throughput, (double) throughput / baseline, waits);
+        }
+    }
+
+    /**
+     * Spreads the calls over the threads and returns the elapsed milliseconds.
+     */
+    private static long run(DocumentProcessingServiceImpl service, List<String> texts, int threads, int calls)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < calls; i += threads) {
+                        service.generateEmbedding(texts.get(i % texts.size()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return Math.max(1, BenchmarkSupport.millisSince(start));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
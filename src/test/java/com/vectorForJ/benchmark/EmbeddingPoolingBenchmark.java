@@ -0,0 +1,149 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.embedding.WordVectorTable;
+import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
+import org.deeplearning4j.models.word2vec.Word2Vec;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the word-vector pooling step of embedding generation on the packed {@link WordVectorTable} with the
+ * previous path, which wrapped every token in an object, split known and unknown words into lists, copied each
+ * known vector out of the {@link Word2Vec} model and drew unknown vectors from a fresh {@link Random}. Both run on
+ * the same pre-tagged token arrays, so tokenization is left out. Allocation is read from the JVM's per-thread
+ * allocation counter.
+ *
+ * <p>Properties: {@code vocabulary} (default 20000), {@code dim} (default 100), {@code tokens} (per text,
+ * default 20), {@code unknownPct} (default 20), {@code calls} (default 200000).
+ */
+public class EmbeddingPoolingBenchmark {
+    private static final String[] TAGS = {"NN", "VBZ", "JJ", "DT", "IN"};
+    /** Keeps the pooled embeddings observable so the loops are not optimized away */
+    private static volatile double sink;
+
+    public static void main(String[] args) throws Exception {
+        int vocabulary = BenchmarkSupport.intProperty("vocabulary", 20000);
+        int dimension = BenchmarkSupport.intProperty("dim", 100);
+        int tokenCount = BenchmarkSupport.intProperty("tokens", 20);
+        int unknownPct = BenchmarkSupport.intProperty("unknownPct", 20);
+        int calls = BenchmarkSupport.intProperty("calls", 200000);
+
+        Random random = new Random(42);
+        Path modelFile = Files.createTempFile("pooling-benchmark", ".txt");
+        try {
+            BenchmarkSupport.writeTextModel(modelFile, random, vocabulary, dimension);
+            Word2Vec word2Vec = WordVectorSerializer.readWord2VecModel(modelFile.toFile());
+            WordVectorTable table = WordVectorTable.fromWord2Vec(word2Vec);
+
+            List<String[]> texts = new ArrayList<>();
+            List<String[]> tags = new ArrayList<>();
+            for (int t = 0; t < 1000; t++) {
+                String[] tokens = new String[tokenCount];
+                String[] posTags = new String[tokenCount];
+                for (int i = 0; i < tokenCount; i++) {
+                    tokens[i] = random.nextInt(100) < unknownPct ? "oov" + random.nextInt(1000) : "w" + random.nextInt(vocabulary);
+                    posTags[i] = TAGS[random.nextInt(TAGS.length)];
+                }
+                texts.add(tokens);
+                tags.add(posTags);
+            }
+
+            System.out.printf("%d words x %d dims, %d tokens per text (%d%% unknown), %d calls%n",
+                vocabulary, dimension, tokenCount, unknownPct, calls);
+            System.out.printf("%8s %12s %14s%n", "path", "calls/sec", "bytes/call");
+            for (int round = 0; round < 2; round++) {
+                run("previous", calls, texts, tags, (tokens, posTags) -> previousPooling(word2Vec, tokens, posTags));
+                run("packed", calls, texts, tags, (tokens, posTags) -> packedPooling(table, tokens, posTags));
+            }
+        } finally {
+            Files.deleteIfExists(modelFile);
+        }
+    }
+
+    private interface Pooling {
+        double[] pool(String[] tokens, String[] posTags);
+    }
+
+    private static void run(String name, int calls, List<String[]> texts, List<String[]> tags, Pooling pooling) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        double checksum = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int c = 0; c < calls; c++) {
+            int text = c % texts.size();
+            checksum += pooling.pool(texts.get(text), tags.get(text))[0];
+        }
+        long millis = Math.max(1, BenchmarkSupport.millisSince(start));
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        sink = checksum;
+        System.out.printf("%8s %12d %14d%n", name, calls * 1000L / millis, allocated / calls);
+    }
+
+    private static double weight(String pos) {
+        if (pos.startsWith("NN")) return 1.2;
+        if (pos.startsWith("VB")) return 1.1;
+        if (pos.startsWith("JJ")) return 1.05;
+        return 1.0;
+    }
+
+    private static double[] packedPooling(WordVectorTable table, String[] tokens, String[] posTags) {
+        double[] embedding = new double[table.dimension()];
+        for (int t = 0; t < tokens.length; t++) {
+            int row = table.row(tokens[t]);
+            if (row >= 0) {
+                table.addRow(row, weight(posTags[t]), embedding);
+            } else {
+                table.addHashed(tokens[t], weight(posTags[t]) * 0.1, embedding);
+            }
+        }
+        return embedding;
+    }
+
+    private static final class Word {
+        final String word;
+        final double weight;
+
+        Word(String word, double weight) {
+            this.word = word;
+            this.weight = weight;
+        }
+    }
+
+    private static double[] previousPooling(Word2Vec word2Vec, String[] tokens, String[] posTags) {
+        List<Word> words = new ArrayList<>();
+        for (int t = 0; t < tokens.length; t++) {
+            words.add(new Word(tokens[t], weight(posTags[t])));
+        }
+        List<Word> known = new ArrayList<>();
+        List<Word> unknown = new ArrayList<>();
+        for (Word word : words) {
+            (word2Vec.hasWord(word.word) ? known : unknown).add(word);
+        }
+        double[] embedding = new double[word2Vec.getLayerSize()];
+        for (Word word : known) {
+            double[] vector = word2Vec.getWordVector(word.word);
+            for (int i = 0; i < vector.length; i++) {
+                embedding[i] += vector[i] * word.weight;
+            }
+        }
+        if (!unknown.isEmpty()) {
+            Random random = new Random(42);
+            for (Word word : unknown) {
+                double[] vector = new double[word2Vec.getLayerSize()];
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = (random.nextDouble() * 2 - 1) * 0.1 * word.weight;
+                }
+                for (int i = 0; i < vector.length; i++) {
+                    embedding[i] += vector[i];
+                }
+            }
+        }
+        return embedding;
+    }
+}
@@ -0,0 +1,113 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.similarity.VectorKernels;
+import com.vectorForJ.storage.ExactVectorStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares mean query latency of the brute-force exact engine against the Lucene HNSW index
+ * across collection sizes, to find where the graph starts paying off. Also prints HNSW recall
+ * measured against the exact engine. The index is memory-mapped from a temporary directory and
+ * force-merged to one segment before it is searched, and its query result cache is off, so every
+ * search walks a single graph.
+ *
+ * <p>Large sizes need a big heap for the generated vectors; run them one size per JVM.
+ * Properties: {@code sizes} (default {@code 1000,10000,50000,100000,500000,1000000}), {@code dim}
+ * (default 128), {@code queries} (default 200), {@code k} (default 10), {@code numCandidates}
+ * (default 100).
+ */
+public class ExactVsHnswBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = BenchmarkSupport.intListProperty("sizes", "1000,10000,50000,100000,500000,1000000");
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int queryCount = BenchmarkSupport.intProperty("queries", 200);
+        int k = BenchmarkSupport.intProperty("k", 10);
+        int numCandidates = BenchmarkSupport.intProperty("numCandidates", 100);
+
+        System.out.printf("SIMD kernels: %s, parallelism: %d%n",
+            VectorKernels.isSimdEnabled(), java.util.concurrent.ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("%10s %16s %16s %10s %12s%n", "vectors", "exact us/query", "hnsw us/query", "recall@" + k,
+            "merge sec");
+        for (int size : sizes) {
+            Random random = new Random(42);
+            List<Vector> vectors = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                vectors.add(BenchmarkSupport.randomVector(random, String.valueOf(i), dimension));
+            }
+            List<double[]> queries = new ArrayList<>(queryCount);
+            for (int q = 0; q < queryCount; q++) {
+                queries.add(BenchmarkSupport.randomVector(random, null, dimension).getEmbedding());
+            }
+
+            ExactVectorStorage exact = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+            exact.storeAll(vectors);
+            Path indexPath = Files.createTempDirectory("exact-vs-hnsw");
+            IndexSettings settings = new IndexSettings();
+            settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+            settings.setPath(indexPath.toString());
+            settings.getQueryCache().setEnabled(false);
+            // compact() merges a shard over compactMaxSegments down to max(1, compactMaxSegments / 2) segments
+            settings.getMerge().setCompactionIntervalMs(0);
+            settings.getMerge().setCompactMaxSegments(0);
+            settings.getMerge().setCompactionMbPerSec(Double.POSITIVE_INFINITY);
+            VectorIndexManager indexManager = new VectorIndexManager(settings);
+            indexManager.init();
+            for (int from = 0; from < size; from += 10_000) {
+                indexManager.addVectors(vectors.subList(from, Math.min(size, from + 10_000)));
+            }
+            long mergeStart = System.nanoTime();
+            indexManager.compact();
+            long mergeSeconds = (System.nanoTime() - mergeStart) / 1_000_000_000L;
+            SearchOptions options = new SearchOptions(k, numCandidates);
+            try {
+                // Warm up both paths before timing
+                for (double[] query : queries) {
+                    exact.findNearest(query, k);
+                    indexManager.findNearestNeighbors(query, options);
+                }
+
+                List<Set<String>> truth = new ArrayList<>(queryCount);
+                long start = System.nanoTime();
+                for (double[] query : queries) {
+                    truth.add(exact.findNearest(query, k).stream()
+                        .map(ScoredVector::getVector).map(Vector::getId).collect(Collectors.toSet()));
+                }
+                long exactNanos = System.nanoTime() - start;
+
+                double recall = 0;
+                start = System.nanoTime();
+                List<Set<String>> found = new ArrayList<>(queryCount);
+                for (double[] query : queries) {
+                    found.add(indexManager.findNearestNeighbors(query, options).stream()
+                        .map(hit -> hit.getId()).collect(Collectors.toCollection(HashSet::new)));
+                }
+                long hnswNanos = System.nanoTime() - start;
+                for (int q = 0; q < queryCount; q++) {
+                    found.get(q).retainAll(truth.get(q));
+                    recall += (double) found.get(q).size() / truth.get(q).size();
+                }
+
+                System.out.printf("%10d %16d %16d %10.3f %12d%n", size,
+                    exactNanos / 1000 / queryCount, hnswNanos / 1000 / queryCount, recall / queryCount, mergeSeconds);
+            } finally {
+                indexManager.cleanup();
+                BenchmarkSupport.deleteRecursively(indexPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.SearchHit;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares filtered search strategies at 1%, 10% and 50% filter selectivity: the filtered HNSW walk,
+ * the exact scan over matching documents, the automatic choice between them, and the old approach of
+ * over-fetching k x 100 unfiltered results and filtering on the client.
+ *
+ * <p>Properties: {@code vectors} (default 50000), {@code dim} (default 128), {@code queries} (default 100),
+ * {@code k} (default 10).
+ */
+public class FilteredSearchBenchmark {
+    private static final int BUCKETS = 100;
+
+    public static void main(String[] args) {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 50000);
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int queryCount = BenchmarkSupport.intProperty("queries", 100);
+        int k = BenchmarkSupport.intProperty("k", 10);
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            Vector vector = BenchmarkSupport.randomVector(random, String.valueOf(i), dimension);
+            vector.setAttributes(Map.of("bucket", i % BUCKETS));
+            vectors.add(vector);
+        }
+        List<double[]> queries = new ArrayList<>(queryCount);
+        for (int q = 0; q < queryCount; q++) {
+            queries.add(BenchmarkSupport.randomVector(random, null, dimension).getEmbedding());
+        }
+
+        IndexSettings settings = new IndexSettings();
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        indexManager.addVectors(vectors);
+
+        System.out.printf("%12s %14s %10s %14s%n", "selectivity", "strategy", "recall@" + k, "mean us/query");
+        for (int percent : new int[]{1, 10, 50}) {
+            String filter = "bucket < " + percent;
+            List<Set<String>> truth = queries.stream()
+                .map(query -> exactTopK(vectors, query, k, percent))
+                .collect(Collectors.toList());
+
+            settings.setExactSearchThreshold(0);
+            report(percent, "hnsw-filter", truth, queries, k,
+                query -> ids(indexManager.findNearestNeighbors(query, new SearchOptions(k, null, filter))));
+            settings.setExactSearchThreshold(Integer.MAX_VALUE);
+            report(percent, "exact-scan", truth, queries, k,
+                query -> ids(indexManager.findNearestNeighbors(query, new SearchOptions(k, null, filter))));
+            settings.setExactSearchThreshold(new IndexSettings().getExactSearchThreshold());
+            report(percent, "auto", truth, queries, k,
+                query -> ids(indexManager.findNearestNeighbors(query, new SearchOptions(k, null, filter))));
+            report(percent, "post-filter", truth, queries, k,
+                query -> indexManager.findNearestNeighbors(query, k * 100).stream()
+                    .map(SearchHit::getId)
+                    .filter(id -> Integer.parseInt(id) % BUCKETS < percent)
+                    .limit(k)
+                    .collect(Collectors.toList()));
+        }
+        indexManager.cleanup();
+    }
+
+    private interface Strategy {
+        List<String> search(double[] query);
+    }
+
+    private static void report(int percent, String name, List<Set<String>> truth, List<double[]> queries,
+                               int k, Strategy strategy) {
+        double recall = 0.0;
+        long nanos = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            long start = System.nanoTime();
+            List<String> found = strategy.search(queries.get(q));
+            nanos += System.nanoTime() - start;
+            recall += found.stream().filter(truth.get(q)::contains).count() / (double) k;
+        }
+        System.out.printf("%11d%% %14s %10.3f %14d%n", percent, name, recall / queries.size(),
+            nanos / queries.size() / 1000);
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).collect(Collectors.toList());
+    }
+
+    private static Set<String> exactTopK(List<Vector> vectors, double[] query, int k, int percent) {
+        return IntStream.range(0, vectors.size())
+            .filter(i -> i % BUCKETS < percent)
+            .boxed()
+            .sorted(Comparator.comparingDouble(i -> -dot(vectors.get(i).getEmbedding(), query)))
+            .limit(k)
+            .map(String::valueOf)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,97 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.SearchHit;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Prints recall@k and mean query latency for combinations of HNSW build parameters
+ * ({@code maxConn}, {@code beamWidth}) and per-request {@code numCandidates}.
+ *
+ * <p>Properties: {@code vectors} (default 20000), {@code dim} (default 128), {@code queries} (default 200),
+ * {@code k} (default 10), {@code maxConn} (default {@code 8,16,32}), {@code beamWidth} (default {@code 50,100,200}),
+ * {@code numCandidates} (default {@code 10,50,100,200}).
+ */
+public class HnswRecallBenchmark {
+
+    public static void main(String[] args) {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 20000);
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int queryCount = BenchmarkSupport.intProperty("queries", 200);
+        int k = BenchmarkSupport.intProperty("k", 10);
+        int[] maxConns = BenchmarkSupport.intListProperty("maxConn", "8,16,32");
+        int[] beamWidths = BenchmarkSupport.intListProperty("beamWidth", "50,100,200");
+        int[] candidateCounts = BenchmarkSupport.intListProperty("numCandidates", "10,50,100,200");
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, String.valueOf(i), dimension));
+        }
+        List<double[]> queries = new ArrayList<>(queryCount);
+        List<Set<String>> truth = new ArrayList<>(queryCount);
+        for (int q = 0; q < queryCount; q++) {
+            double[] query = BenchmarkSupport.randomVector(random, null, dimension).getEmbedding();
+            queries.add(query);
+            truth.add(exactTopK(vectors, query, k));
+        }
+
+        System.out.printf("%8s %10s %14s %10s %14s %12s%n",
+            "maxConn", "beamWidth", "numCandidates", "recall@" + k, "mean us/query", "build ms");
+        for (int maxConn : maxConns) {
+            for (int beamWidth : beamWidths) {
+                IndexSettings settings = new IndexSettings();
+                settings.getHnsw().setMaxConn(maxConn);
+                settings.getHnsw().setBeamWidth(beamWidth);
+                VectorIndexManager indexManager = new VectorIndexManager(settings);
+                indexManager.init();
+                long start = System.nanoTime();
+                indexManager.addVectors(vectors);
+                long buildMillis = BenchmarkSupport.millisSince(start);
+
+                for (int numCandidates : candidateCounts) {
+                    SearchOptions options = new SearchOptions(k, numCandidates);
+                    double recall = 0.0;
+                    long searchNanos = 0;
+                    for (int q = 0; q < queryCount; q++) {
+                        long queryStart = System.nanoTime();
+                        List<SearchHit> found = indexManager.findNearestNeighbors(queries.get(q), options);
+                        searchNanos += System.nanoTime() - queryStart;
+                        recall += found.stream().map(SearchHit::getId).filter(truth.get(q)::contains).count() / (double) k;
+                    }
+                    System.out.printf("%8d %10d %14d %10.3f %14d %12d%n", maxConn, beamWidth, numCandidates,
+                        recall / queryCount, searchNanos / queryCount / 1000, buildMillis);
+                }
+                indexManager.cleanup();
+            }
+        }
+    }
+
+    private static Set<String> exactTopK(List<Vector> vectors, double[] query, int k) {
+        return IntStream.range(0, vectors.size())
+            .boxed()
+            .sorted(Comparator.comparingDouble(i -> -dot(vectors.get(i).getEmbedding(), query)))
+            .limit(k)
+            .map(String::valueOf)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
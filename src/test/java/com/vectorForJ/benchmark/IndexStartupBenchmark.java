@@ -0,0 +1,75 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares start-up time of the heap-resident index, which has to re-add every vector,
+ * with the memory-mapped index, which only reopens its committed segments. Both indexes are built in batches of
+ * 10,000 vectors; the reopen time includes loading the vectors back into the storage.
+ *
+ * <p>Properties: {@code sizes} (default {@code 100000,1000000}), {@code dim} (default 128).
+ */
+public class IndexStartupBenchmark {
+    private static final int BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = BenchmarkSupport.intListProperty("sizes", "100000,1000000");
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+
+        System.out.printf("%10s %8s %18s %18s%n", "vectors", "dim", "memory rebuild ms", "mmap reopen ms");
+        for (int size : sizes) {
+            Path indexPath = Files.createTempDirectory("vector-index-bench");
+            try {
+                buildIndex(onDisk(indexPath), size, dimension);
+
+                long start = System.nanoTime();
+                VectorIndexManager reopened = new VectorIndexManager(onDisk(indexPath));
+                reopened.init();
+                new InMemoryVectorStorage(reopened).load();
+                long reopenMillis = BenchmarkSupport.millisSince(start);
+                reopened.cleanup();
+
+                IndexSettings memory = new IndexSettings();
+                memory.setDirectoryType(IndexSettings.DirectoryType.MEMORY);
+                start = System.nanoTime();
+                buildIndex(memory, size, dimension);
+                long rebuildMillis = BenchmarkSupport.millisSince(start);
+
+                System.out.printf("%10d %8d %18d %18d%n", size, dimension, rebuildMillis, reopenMillis);
+            } finally {
+                BenchmarkSupport.deleteRecursively(indexPath);
+            }
+        }
+    }
+
+    private static IndexSettings onDisk(Path indexPath) {
+        IndexSettings settings = new IndexSettings();
+        settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+        settings.setPath(indexPath.toString());
+        return settings;
+    }
+
+    private static void buildIndex(IndexSettings settings, int size, int dimension) {
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        Random random = new Random(42);
+        // Batches share one commit, as a bulk re-ingest would
+        for (int from = 0; from < size; from += BATCH_SIZE) {
+            List<Vector> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(size, from + BATCH_SIZE); i++) {
+                batch.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+            }
+            indexManager.addVectors(batch);
+        }
+        indexManager.cleanup();
+    }
+}
@@ -0,0 +1,108 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.embedding.WordVectorFile;
+import com.vectorForJ.embedding.WordVectorTable;
+import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares loading a word2vec text model, the way the service reads one, with memory-mapping the same model
+ * converted to a binary word vector file. Reports load time, the heap the loaded table retains, and the process
+ * resident set size right after loading and after every vector has been read once. The models are synthetic and
+ * written to a temporary directory.
+ *
+ * <p>RSS is read from {@code /proc/self/status} and is only reported on Linux. Writing and converting the models
+ * loads DL4J and the text model, and the first load warms the page cache and loaders for the second, so compare
+ * by writing the models once with {@code mode=prepare} into a {@code modelDir} and then loading one mode per JVM.
+ * Properties: {@code mode} ({@code prepare}, {@code text}, {@code binary} or {@code both}, default both),
+ * {@code modelDir} (kept and reused when set; a deleted temporary directory otherwise), {@code vocabulary}
+ * (default 100000), {@code dim} (default 300).
+ */
+public class ModelFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String mode = System.getProperty("mode", "both");
+        int vocabulary = BenchmarkSupport.intProperty("vocabulary", 100000);
+        int dimension = BenchmarkSupport.intProperty("dim", 300);
+
+        String modelDir = System.getProperty("modelDir");
+        Path dir = modelDir != null ? Files.createDirectories(Path.of(modelDir))
+            : Files.createTempDirectory("model-format-benchmark");
+        try {
+            Path textModel = dir.resolve("model.txt");
+            Path binaryModel = dir.resolve("model" + WordVectorFile.EXTENSION);
+            if (!Files.exists(binaryModel)) {
+                BenchmarkSupport.writeTextModel(textModel, new Random(42), vocabulary, dimension);
+                long start = System.nanoTime();
+                WordVectorFile.convert(textModel, binaryModel);
+                System.out.printf("%d words x %d dims: text %d MB, binary %d MB, converted in %d ms%n", vocabulary,
+                    dimension, Files.size(textModel) / (1024 * 1024), Files.size(binaryModel) / (1024 * 1024),
+                    BenchmarkSupport.millisSince(start));
+            }
+            if (mode.equals("prepare")) {
+                return;
+            }
+
+            System.out.printf("%8s %10s %10s %12s %14s%n", "format", "load ms", "heap MB", "RSS MB", "RSS read MB");
+            if (!mode.equals("binary")) {
+                run("text", textModel, false);
+            }
+            if (!mode.equals("text")) {
+                run("binary", binaryModel, true);
+            }
+        } finally {
+            if (modelDir == null) {
+                BenchmarkSupport.deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static void run(String name, Path model, boolean binary) throws IOException {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        WordVectorTable table = binary
+            ? WordVectorFile.read(model)
+            : WordVectorTable.fromWord2Vec(WordVectorSerializer.readWord2VecModel(model.toFile()));
+        long millis = BenchmarkSupport.millisSince(start);
+        long heap = usedHeap() - heapBefore;
+        String rssLoaded = residentMegabytes();
+
+        double[] sum = new double[table.dimension()];
+        for (int row = 0; row < table.size(); row++) {
+            table.addRow(row, 1.0, sum);
+        }
+        System.out.printf("%8s %10d %10d %12s %14s%n", name, millis, heap / (1024 * 1024), rssLoaded,
+            residentMegabytes());
+        if (sum[0] == Double.MIN_VALUE) {
+            // Keeps the reads from being optimized away
+            System.out.println();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String residentMegabytes() {
+        try {
+            List<String> status = Files.readAllLines(Path.of("/proc/self/status"));
+            for (String line : status) {
+                if (line.startsWith("VmRSS:")) {
+                    return String.valueOf(Long.parseLong(line.replaceAll("\\D", "")) / 1024);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux
+        }
+        return "-";
+    }
+}
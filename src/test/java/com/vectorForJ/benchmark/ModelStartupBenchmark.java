@@ -0,0 +1,59 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.EmbeddingSettings;
+import com.vectorForJ.service.impl.DocumentProcessingServiceImpl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures how long constructing the embedding service blocks its caller and how long until the first embedding
+ * is returned, which is what delays the first request after startup. {@code serial} loads everything on the
+ * calling thread and builds the CoreNLP pipeline, as startup used to; {@code background} loads the OpenNLP and
+ * word2vec models in parallel on background threads and skips the pipeline. The service loads a synthetic
+ * word2vec text model written to a temporary file.
+ *
+ * <p>Class loading and JIT warm-up carry over between modes in one JVM, so compare cold starts by running one mode
+ * per JVM. Properties: {@code mode} ({@code serial}, {@code background} or {@code both}, default both),
+ * {@code vocabulary} (default 100000), {@code dim} (default 100).
+ */
+public class ModelStartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String mode = System.getProperty("mode", "both");
+        int vocabulary = BenchmarkSupport.intProperty("vocabulary", 100000);
+        int dimension = BenchmarkSupport.intProperty("dim", 100);
+
+        Path modelFile = Files.createTempFile("startup-benchmark", ".txt");
+        try {
+            BenchmarkSupport.writeTextModel(modelFile, new Random(42), vocabulary, dimension);
+            System.out.printf("%d words x %d dims (%d MB text model)%n",
+                vocabulary, dimension, Files.size(modelFile) / (1024 * 1024));
+            System.out.printf("%12s %16s %20s%n", "mode", "constructor ms", "first embedding ms");
+            if (!mode.equals("background")) {
+                run("serial", modelFile, false, true);
+            }
+            if (!mode.equals("serial")) {
+                run("background", modelFile, true, false);
+            }
+        } finally {
+            Files.deleteIfExists(modelFile);
+        }
+    }
+
+    private static void run(String name, Path modelFile, boolean background, boolean coreNlpPipeline) {
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.setModelPath(modelFile.toString());
+        settings.setLoadInBackground(background);
+        settings.setCoreNlpPipeline(coreNlpPipeline);
+        settings.getCache().setEnabled(false);
+
+        long start = System.nanoTime();
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+        long constructed = BenchmarkSupport.millisSince(start);
+        service.generateEmbedding("w1 w2 w3 w4");
+        long firstEmbedding = BenchmarkSupport.millisSince(start);
+        System.out.printf("%12s %16d %20d%n", name, constructed, firstEmbedding);
+    }
+}
@@ -0,0 +1,115 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.IndexStats;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures search throughput for a workload that repeats queries, with the query cache off and on. Queries are
+ * drawn from a fixed pool with a Zipf-like skew, as dashboards and retries produce; the {@code writes} run also
+ * inserts one vector after every {@code writeEvery} searches, which invalidates everything cached before it.
+ *
+ * <p>Properties: {@code vectors} (default 50000), {@code dim} (default 256), {@code searches} (default 20000),
+ * {@code distinct} (default 500), {@code threads} (default 4), {@code k} (default 10),
+ * {@code writeEvery} (default 200).
+ */
+public class QueryCacheBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 50000);
+        int dimension = BenchmarkSupport.intProperty("dim", 256);
+        int searchCount = BenchmarkSupport.intProperty("searches", 20000);
+        int distinct = BenchmarkSupport.intProperty("distinct", 500);
+        int threads = BenchmarkSupport.intProperty("threads", 4);
+        int k = BenchmarkSupport.intProperty("k", 10);
+        int writeEvery = BenchmarkSupport.intProperty("writeEvery", 200);
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+        }
+        List<double[]> pool = new ArrayList<>(distinct);
+        for (int i = 0; i < distinct; i++) {
+            pool.add(BenchmarkSupport.randomVector(random, null, dimension).getEmbedding());
+        }
+        // Rank r is drawn with probability proportional to 1 / r
+        double[] cumulative = new double[distinct];
+        for (int i = 0; i < distinct; i++) {
+            cumulative[i] = (i == 0 ? 0 : cumulative[i - 1]) + 1.0 / (i + 1);
+        }
+        int[] order = new int[searchCount];
+        for (int i = 0; i < searchCount; i++) {
+            double u = random.nextDouble() * cumulative[distinct - 1];
+            int rank = 0;
+            while (cumulative[rank] < u) {
+                rank++;
+            }
+            order[i] = rank;
+        }
+
+        System.out.printf("%d vectors, %d dims, %d searches over %d distinct queries, %d threads, k=%d%n",
+            vectorCount, dimension, searchCount, distinct, threads, k);
+        System.out.printf("%8s %14s %10s %10s %10s %12s%n", "mode", "searches/sec", "hit rate", "coalesced",
+            "evictions", "cache bytes");
+        run("off", vectors, pool, order, threads, k, false, 0);
+        run("on", vectors, pool, order, threads, k, true, 0);
+        run("writes", vectors, pool, order, threads, k, true, writeEvery);
+    }
+
+    private static void run(String mode, List<Vector> vectors, List<double[]> pool, int[] order, int threads, int k,
+                            boolean cached, int writeEvery) throws Exception {
+        IndexSettings settings = new IndexSettings();
+        settings.getMerge().setCompactionIntervalMs(0);
+        settings.getQueryCache().setEnabled(cached);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+            storage.storeAll(vectors);
+            int dimension = vectors.get(0).getDimension();
+            Random random = new Random(7);
+
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < order.length; i += threads) {
+                        storage.findNearest(pool.get(order[i]), k);
+                        if (writeEvery > 0 && i % writeEvery == 0) {
+                            synchronized (random) {
+                                storage.store(BenchmarkSupport.randomVector(random, "w" + i, dimension));
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long millis = Math.max(1, BenchmarkSupport.millisSince(start));
+
+            Map<String, Object> stats = indexManager.getStats();
+            System.out.printf("%8s %14d %10.3f %10s %10s %12s%n", mode, order.length * 1000L / millis,
+                stats.getOrDefault(IndexStats.QUERY_CACHE_HIT_RATE, 0.0),
+                stats.getOrDefault(IndexStats.QUERY_CACHE_COALESCED, "-"),
+                stats.getOrDefault(IndexStats.QUERY_CACHE_EVICTIONS, "-"),
+                stats.getOrDefault(IndexStats.QUERY_CACHE_BYTES, "-"));
+        } finally {
+            executor.shutdown();
+            indexManager.cleanup();
+        }
+    }
+}
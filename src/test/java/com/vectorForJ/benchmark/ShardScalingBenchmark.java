@@ -0,0 +1,98 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures batch ingest throughput, single-query latency and concurrent query throughput
+ * of the in-memory index for increasing shard counts.
+ *
+ * <p>Properties: {@code vectors} (default 100000), {@code dim} (default 128), {@code queries} (default 500),
+ * {@code k} (default 10), {@code numCandidates} (default 100), {@code clients} (default 8),
+ * {@code shards} (default {@code 1,2,4,8,16}).
+ */
+public class ShardScalingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 100000);
+        int dimension = BenchmarkSupport.intProperty("dim", 128);
+        int queryCount = BenchmarkSupport.intProperty("queries", 500);
+        int k = BenchmarkSupport.intProperty("k", 10);
+        int numCandidates = BenchmarkSupport.intProperty("numCandidates", 100);
+        int clients = BenchmarkSupport.intProperty("clients", 8);
+        int[] shardCounts = BenchmarkSupport.intListProperty("shards", "1,2,4,8,16");
+
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>(vectorCount);
+        for (int i = 0; i < vectorCount; i++) {
+            vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+        }
+        List<double[]> queries = new ArrayList<>(queryCount);
+        for (int q = 0; q < queryCount; q++) {
+            queries.add(BenchmarkSupport.randomVector(random, null, dimension).getEmbedding());
+        }
+        SearchOptions options = new SearchOptions(k, numCandidates);
+
+        System.out.printf("cores: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s %16s%n", "shards", "ingest vec/s", "us/query", "queries/s (" + clients + ")");
+        for (int shards : shardCounts) {
+            IndexSettings settings = new IndexSettings();
+            settings.setShards(shards);
+            VectorIndexManager indexManager = new VectorIndexManager(settings);
+            indexManager.init();
+            try {
+                long start = System.nanoTime();
+                for (int from = 0; from < vectorCount; from += 1000) {
+                    indexManager.addVectors(vectors.subList(from, Math.min(vectorCount, from + 1000)));
+                }
+                long ingestMillis = Math.max(1, BenchmarkSupport.millisSince(start));
+
+                for (double[] query : queries) {
+                    indexManager.findNearestNeighbors(query, options); // Warm-up
+                }
+                start = System.nanoTime();
+                for (double[] query : queries) {
+                    indexManager.findNearestNeighbors(query, options);
+                }
+                long latencyMicros = (System.nanoTime() - start) / 1000 / queryCount;
+
+                long concurrentMillis = Math.max(1, runConcurrently(indexManager, queries, options, clients));
+                System.out.printf("%8d %14d %14d %16d%n", shards, vectorCount * 1000L / ingestMillis, latencyMicros,
+                    (long) queryCount * clients * 1000L / concurrentMillis);
+            } finally {
+                indexManager.cleanup();
+            }
+        }
+    }
+
+    private static long runConcurrently(VectorIndexManager indexManager, List<double[]> queries,
+                                        SearchOptions options, int clients) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    for (double[] query : queries) {
+                        indexManager.findNearestNeighbors(query, options);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return BenchmarkSupport.millisSince(start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.similarity.VectorKernels;
+import org.apache.lucene.index.VectorSimilarityFunction;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Measures the cost of one query-to-vector comparison when both norms are computed per call (cosine)
+ * versus a plain dot product over vectors normalized at ingest.
+ *
+ * <p>Properties: {@code dim} (default 1536), {@code vectors} (default 2000), {@code rounds} (default 200).
+ */
+public class SimilarityComparisonBenchmark {
+
+    public static void main(String[] args) {
+        int dimension = BenchmarkSupport.intProperty("dim", 1536);
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 2000);
+        int rounds = BenchmarkSupport.intProperty("rounds", 200);
+
+        Random random = new Random(42);
+        double[][] doubles = new double[vectorCount][];
+        float[][] floats = new float[vectorCount][];
+        float[][] normalized = new float[vectorCount][];
+        for (int i = 0; i < vectorCount; i++) {
+            doubles[i] = random.doubles(dimension).map(v -> v - 0.5).toArray();
+            floats[i] = VectorKernels.toFloats(doubles[i]);
+            normalized[i] = floats[i].clone();
+            float norm = VectorKernels.norm(normalized[i], 0, dimension);
+            for (int d = 0; d < dimension; d++) normalized[i][d] /= norm;
+        }
+        double[] queryDoubles = doubles[0];
+        float[] query = floats[0];
+        float[] normalizedQuery = normalized[0];
+
+        System.out.printf("dim=%d, SIMD kernels: %s%n", dimension, VectorKernels.isSimdEnabled());
+        System.out.printf("%-40s %12s%n", "comparison", "ns/compare");
+        run("double cosine, norms per call", vectorCount, rounds, i -> doubleCosine(queryDoubles, doubles[i]));
+        run("lucene COSINE, norms per call", vectorCount, rounds,
+            i -> VectorSimilarityFunction.COSINE.compare(query, floats[i]));
+        run("lucene DOT_PRODUCT, pre-normalized", vectorCount, rounds,
+            i -> VectorSimilarityFunction.DOT_PRODUCT.compare(normalizedQuery, normalized[i]));
+        run("kernel cosine, norms per call", vectorCount, rounds, i -> VectorKernels.cosine(query, floats[i]));
+        run("kernel dot, pre-normalized", vectorCount, rounds, i -> VectorKernels.dot(normalizedQuery, normalized[i]));
+    }
+
+    private static void run(String name, int vectorCount, int rounds, IntToDoubleFunction compare) {
+        double sink = 0;
+        for (int r = 0; r < rounds / 4 + 1; r++) {
+            for (int i = 0; i < vectorCount; i++) sink += compare.applyAsDouble(i); // Warm-up
+        }
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < vectorCount; i++) sink += compare.applyAsDouble(i);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-40s %12.1f   (checksum %.3f)%n", name, (double) nanos / ((long) rounds * vectorCount), sink);
+    }
+
+    private static double doubleCosine(double[] a, double[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+}
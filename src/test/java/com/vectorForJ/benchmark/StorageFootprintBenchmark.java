@@ -0,0 +1,81 @@
+package com.vectorForJ.benchmark;
+
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.storage.IdOrdinalMap;
+import com.vectorForJ.storage.OffHeapVectorArena;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the memory footprint of keeping vectors as heap {@link Vector} objects in a map
+ * (the layout of the in-memory store) with the off-heap float32 arena plus open-addressing id map.
+ * Reports retained heap after a full GC, off-heap bytes, and GC count and time spent while loading.
+ *
+ * <p>Properties: {@code vectors} (default 1000000), {@code dim} (default 1536).
+ * The heap layout needs roughly {@code vectors * dim * 8} bytes of heap, so size {@code -Xmx} accordingly.
+ */
+public class StorageFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 1_000_000);
+        int dimension = BenchmarkSupport.intProperty("dim", 1536);
+
+        System.out.printf("%10s %12s %14s %14s %10s %10s%n",
+            "layout", "vectors", "heap MB", "off-heap MB", "gc count", "gc ms");
+
+        long baseline = usedHeapAfterGc();
+        long[] gcBefore = gcTotals();
+        Map<String, Vector> vectors = new ConcurrentHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < vectorCount; i++) {
+            Vector vector = BenchmarkSupport.randomVector(random, "v" + i, dimension);
+            vectors.put(vector.getId(), vector);
+        }
+        report("heap", vectorCount, usedHeapAfterGc() - baseline, 0, gcBefore);
+        vectors.clear();
+        vectors = null;
+
+        baseline = usedHeapAfterGc();
+        gcBefore = gcTotals();
+        OffHeapVectorArena arena = new OffHeapVectorArena(dimension);
+        IdOrdinalMap ordinals = new IdOrdinalMap();
+        random = new Random(42);
+        for (int i = 0; i < vectorCount; i++) {
+            Vector vector = BenchmarkSupport.randomVector(random, "v" + i, dimension);
+            int ordinal = arena.allocate();
+            arena.write(ordinal, vector.getEmbedding());
+            ordinals.put(vector.getId(), ordinal);
+        }
+        report("off-heap", vectorCount, usedHeapAfterGc() - baseline, arena.offHeapBytes(), gcBefore);
+        // Keep the arena reachable until it has been measured
+        System.out.println("stored " + ordinals.size() + " ids in " + arena.ordinalLimit() + " ordinals");
+    }
+
+    private static void report(String layout, int vectorCount, long heapBytes, long offHeapBytes, long[] gcBefore) {
+        long[] gcAfter = gcTotals();
+        System.out.printf("%10s %12d %14.1f %14.1f %10d %10d%n", layout, vectorCount,
+            heapBytes / 1048576.0, offHeapBytes / 1048576.0, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+}
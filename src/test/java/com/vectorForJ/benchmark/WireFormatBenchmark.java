@@ -0,0 +1,127 @@
+package com.vectorForJ.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.api.Float32VectorCodec;
+import com.vectorForJ.api.Float32VectorMessageConverter;
+import com.vectorForJ.api.VectorController;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.service.impl.VectorServiceImpl;
+import com.vectorForJ.storage.InMemoryVectorStorage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Compares request latency of JSON and float32 bodies through the full Spring MVC stack: message conversion,
+ * validation, the service and an HNSW index. Requests go through {@link MockMvc}, so socket I/O is left out
+ * and what remains is the server-side cost of a request. Ingest requests create one vector each; search
+ * requests ask for {@code k} results with their embeddings.
+ *
+ * <p>Properties: {@code vectors} (default 10000), {@code dim} (default 1536), {@code requests} (default 500),
+ * {@code k} (default 10).
+ */
+public class WireFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vectorCount = BenchmarkSupport.intProperty("vectors", 10000);
+        int dimension = BenchmarkSupport.intProperty("dim", 1536);
+        int requestCount = BenchmarkSupport.intProperty("requests", 500);
+        int k = BenchmarkSupport.intProperty("k", 10);
+
+        IndexSettings settings = new IndexSettings();
+        settings.getMerge().setCompactionIntervalMs(0);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        try {
+            Random random = new Random(42);
+            InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+            List<Vector> vectors = new ArrayList<>(vectorCount);
+            for (int i = 0; i < vectorCount; i++) {
+                vectors.add(BenchmarkSupport.randomVector(random, "v" + i, dimension));
+            }
+            storage.storeAll(vectors);
+
+            DedupeSettings dedupe = new DedupeSettings();
+            dedupe.setMode(DedupeSettings.Mode.NONE);
+            ObjectMapper objectMapper = new ObjectMapper();
+            MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new VectorController(
+                    new VectorServiceImpl(storage, dimension, 0.95, dedupe), null, objectMapper))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                    new Float32VectorMessageConverter())
+                .build();
+
+            System.out.printf("%d vectors, %d dims, %d requests per row, k=%d%n", vectorCount, dimension, requestCount, k);
+            System.out.printf("%8s %16s %12s %12s %12s %12s%n", "request", "format", "req bytes", "resp bytes",
+                "mean us", "p99 us");
+            MediaType json = MediaType.APPLICATION_JSON;
+            MediaType float32 = Float32VectorMessageConverter.FLOAT32_VECTORS;
+            for (MediaType format : List.of(json, float32)) {
+                report(mockMvc, "ingest", format, requestCount, i -> {
+                    Vector vector = BenchmarkSupport.randomVector(random, null, dimension);
+                    vector.setMetadata(null);
+                    return post("/api/vectors").contentType(format).accept(format)
+                        .content(format == json ? toJson(objectMapper, vector) : Float32VectorCodec.encodeVectors(List.of(vector)));
+                });
+            }
+            for (MediaType format : List.of(json, float32)) {
+                report(mockMvc, "search", format, requestCount, i -> {
+                    double[] query = BenchmarkSupport.randomVector(random, null, dimension).getEmbedding();
+                    return post("/api/vectors/search").param("k", String.valueOf(k)).contentType(format).accept(format)
+                        .content(format == json ? toJson(objectMapper, query) : Float32VectorCodec.encodeQuery(query));
+                });
+            }
+        } finally {
+            indexManager.cleanup();
+        }
+    }
+
+    /**
+     * Sends warm-up requests, then times {@code count} requests; request bodies are built outside the timing.
+     */
+    private static void report(MockMvc mockMvc, String name, MediaType format, int count,
+                               IntFunction<RequestBuilder> request) throws Exception {
+        for (int i = 0; i < count / 5; i++) {
+            mockMvc.perform(request.apply(i));
+        }
+        long[] nanos = new long[count];
+        long requestBytes = 0;
+        long responseBytes = 0;
+        for (int i = 0; i < count; i++) {
+            RequestBuilder builder = request.apply(i);
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(builder).andReturn();
+            nanos[i] = System.nanoTime() - start;
+            if (result.getResponse().getStatus() != 200) {
+                throw new IllegalStateException(name + " failed with status " + result.getResponse().getStatus());
+            }
+            requestBytes += result.getRequest().getContentLength();
+            responseBytes += result.getResponse().getContentAsByteArray().length;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%8s %16s %12d %12d %12d %12d%n", name, format.getSubtype(), requestBytes / count,
+            responseBytes / count, Arrays.stream(nanos).sum() / count / 1000, nanos[count * 99 / 100] / 1000);
+    }
+
+    private static byte[] toJson(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
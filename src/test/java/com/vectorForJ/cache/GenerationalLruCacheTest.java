@@ -0,0 +1,71 @@
+package com.vectorForJ.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationalLruCacheTest {
+
+    @Test
+    void testEntriesAreOnlyServedAtTheirGeneration() {
+        // Given
+        GenerationalLruCache<String, String> cache = new GenerationalLruCache<>(10, 1000, "test");
+        cache.put("a", 1, "first", 10);
+
+        // When
+        String current = cache.get("a", 1);
+        String stale = cache.get("a", 2);
+
+        // Then: the stale lookup dropped the entry
+        assertEquals("first", current);
+        assertNull(stale);
+        assertNull(cache.get("a", 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getStaleDrops());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void testOlderGenerationNeverReplacesANewerEntry() {
+        // Given
+        GenerationalLruCache<String, String> cache = new GenerationalLruCache<>(10, 1000, "test");
+        cache.put("a", 2, "newer", 10);
+
+        // When
+        cache.put("a", 1, "older", 20);
+
+        // Then
+        assertEquals("newer", cache.get("a", 2));
+        assertEquals(10, cache.getBytes());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvictedBeyondEitherLimit() {
+        // Given
+        GenerationalLruCache<String, String> cache = new GenerationalLruCache<>(3, 100, "test");
+        cache.put("a", 1, "a", 30);
+        cache.put("b", 1, "b", 30);
+        cache.put("c", 1, "c", 30);
+        cache.get("a", 1);
+
+        // When: a fourth entry exceeds the entry limit, a large one the byte limit
+        cache.put("d", 1, "d", 10);
+        cache.put("e", 1, "e", 60);
+
+        // Then
+        assertNull(cache.get("b", 1));
+        assertNull(cache.get("c", 1));
+        assertEquals("a", cache.get("a", 1));
+        assertEquals(3, cache.size());
+        assertEquals(100, cache.getBytes());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    void testLimitsMustBePositive() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> new GenerationalLruCache<String, String>(0, 100, "vector.test"));
+        assertEquals("vector.test limits must be positive", e.getMessage());
+    }
+}
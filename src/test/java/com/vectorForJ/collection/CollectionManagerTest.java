@@ -0,0 +1,204 @@
+package com.vectorForJ.collection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorForJ.config.DedupeSettings;
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.exception.CollectionNotFoundException;
+import com.vectorForJ.exception.VectorDBException;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.CollectionConfig;
+import com.vectorForJ.model.CollectionInfo;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.Vector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectionManagerTest {
+
+    @TempDir
+    Path basePath;
+
+    private CollectionManager newManager() {
+        IndexSettings defaults = new IndexSettings();
+        defaults.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+        defaults.getMerge().setCompactionIntervalMs(0);
+        return new CollectionManager(defaults, new DedupeSettings(), new ObjectMapper(), basePath.toString(), 0.99);
+    }
+
+    @Test
+    void testCollectionsAreIsolatedAndEnforceTheirDimension() {
+        // Given
+        CollectionManager manager = newManager();
+        manager.create(new CollectionConfig("small", 2));
+        CollectionConfig exact = new CollectionConfig("wide", 3);
+        exact.setEngine(CollectionConfig.Engine.EXACT);
+        exact.setSimilarity(IndexSettings.Similarity.EUCLIDEAN);
+        CollectionInfo wide = manager.create(exact);
+
+        // When
+        manager.get("small").getService().createVector(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+        manager.get("wide").getService().createVector(new Vector("b", new double[]{0.0, 0.0, 1.0}, null, 3));
+
+        // Then
+        assertNull(wide.getConfig().getDirectoryType());
+        assertEquals(1, manager.get("small").getService().getVectorCount());
+        assertTrue(manager.get("wide").getService().getVector("a").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> manager.get("small").getService()
+            .createVector(new Vector("c", new double[]{1.0, 0.0, 0.0}, null, 3)));
+        assertThrows(IllegalArgumentException.class, () -> manager.get("wide").getService()
+            .findSimilarVectors(new double[]{1.0, 0.0}, 1));
+        List<ScoredVector> hits = manager.get("wide").getService().findSimilarVectors(new double[]{0.0, 0.0, 1.0}, 1);
+        assertEquals(1.0, hits.get(0).getScore(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> manager.create(new CollectionConfig("small", 2)));
+        assertThrows(IllegalArgumentException.class, () -> manager.create(new CollectionConfig("../escape", 2)));
+        manager.close();
+    }
+
+    @Test
+    void testOnDiskCollectionsSurviveRestartAndDropDeletesThem() {
+        // Given
+        CollectionManager manager = newManager();
+        CollectionConfig config = new CollectionConfig("docs", 2);
+        config.setSimilarity(IndexSettings.Similarity.DOT_PRODUCT);
+        config.setShards(2);
+        manager.create(config);
+        manager.get("docs").getService().createVector(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+        manager.close();
+
+        // When
+        CollectionManager reopened = newManager();
+        reopened.load();
+
+        // Then
+        CollectionInfo info = reopened.get("docs").getInfo();
+        assertEquals(1, info.getVectors());
+        assertEquals(IndexSettings.Similarity.DOT_PRODUCT, info.getConfig().getSimilarity());
+        assertEquals(2, info.getConfig().getShards());
+        reopened.drop("docs");
+        assertFalse(Files.exists(basePath.resolve("docs")));
+        assertThrows(CollectionNotFoundException.class, () -> reopened.get("docs"));
+        reopened.close();
+    }
+
+    @Test
+    void testDedupeModeIsPerCollectionAndLshIsRebuiltOnReopen() {
+        // Given
+        CollectionManager manager = newManager();
+        CollectionConfig lsh = new CollectionConfig("lsh", 3);
+        lsh.setDedupe(DedupeSettings.Mode.LSH);
+        manager.create(lsh);
+        CollectionConfig open = new CollectionConfig("open", 3);
+        open.setDedupe(DedupeSettings.Mode.NONE);
+        manager.create(open);
+        manager.get("lsh").getService().createVector(new Vector("a", new double[]{1.0, 0.2, 0.0}, null, 3));
+        manager.get("open").getService().createVector(new Vector("a", new double[]{1.0, 0.2, 0.0}, null, 3));
+        manager.close();
+
+        // When
+        CollectionManager reopened = newManager();
+        reopened.load();
+
+        // Then
+        assertEquals(DedupeSettings.Mode.LSH, reopened.get("lsh").getInfo().getConfig().getDedupe());
+        assertThrows(VectorDBException.class, () -> reopened.get("lsh").getService()
+            .createVector(new Vector("b", new double[]{1.0, 0.21, 0.0}, null, 3)));
+        reopened.get("lsh").getService().createVector(new Vector("c", new double[]{0.0, 0.0, 1.0}, null, 3));
+        reopened.get("open").getService().createVector(new Vector("b", new double[]{1.0, 0.2, 0.0}, null, 3));
+        assertEquals(2, reopened.get("open").getService().getVectorCount());
+        CollectionConfig euclidean = new CollectionConfig("euclidean", 3);
+        euclidean.setSimilarity(IndexSettings.Similarity.EUCLIDEAN);
+        euclidean.setDedupe(DedupeSettings.Mode.LSH);
+        assertThrows(IllegalArgumentException.class, () -> reopened.create(euclidean));
+        reopened.close();
+    }
+
+    @Test
+    void testDropWaitsForARunningSearch() throws Exception {
+        // Given
+        CollectionManager manager = newManager();
+        manager.create(new CollectionConfig("docs", 2));
+        manager.get("docs").getService().createVector(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<List<ScoredVector>> search = executor.submit(() -> manager.use("docs", collection -> {
+            searching.countDown();
+            try {
+                resume.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return collection.getService().findSimilarVectors(new double[]{1.0, 0.0}, 1);
+        }));
+        assertTrue(searching.await(5, TimeUnit.SECONDS));
+
+        // When
+        Future<?> drop = executor.submit(() -> manager.drop("docs"));
+        Thread.sleep(200);
+        boolean droppedDuringSearch = drop.isDone();
+        assertThrows(CollectionNotFoundException.class, () -> manager.use("docs", VectorCollection::getInfo));
+        // Other collections can be created meanwhile; the dropped name cannot be reused yet
+        manager.create(new CollectionConfig("other", 2));
+        assertThrows(IllegalArgumentException.class, () -> manager.create(new CollectionConfig("docs", 2)));
+        resume.countDown();
+
+        // Then
+        assertFalse(droppedDuringSearch);
+        assertEquals("a", search.get(5, TimeUnit.SECONDS).get(0).getVector().getId());
+        drop.get(5, TimeUnit.SECONDS);
+        assertFalse(Files.exists(basePath.resolve("docs")));
+        executor.shutdown();
+        manager.close();
+    }
+
+    @Test
+    void testDropReleasesTheStorage() {
+        // Given
+        CollectionManager manager = newManager();
+        CollectionConfig exact = new CollectionConfig("exact", 3);
+        exact.setEngine(CollectionConfig.Engine.EXACT);
+        manager.create(exact);
+        VectorCollection collection = manager.get("exact");
+        collection.getService().createVector(new Vector("a", new double[]{1.0, 0.0, 0.0}, null, 3));
+
+        // When
+        manager.drop("exact");
+
+        // Then
+        assertEquals(0, collection.getInfo().getVectors());
+        manager.close();
+    }
+
+    @Test
+    void testInvalidIndexSettingsAreRejected() {
+        // Given
+        CollectionManager manager = newManager();
+        CollectionConfig noShards = new CollectionConfig("none", 2);
+        noShards.setShards(0);
+        CollectionConfig tooWide = new CollectionConfig("wide", VectorIndexManager.MAX_DIMENSIONS + 1);
+        CollectionConfig exact = new CollectionConfig("exact", VectorIndexManager.MAX_DIMENSIONS + 1);
+        exact.setEngine(CollectionConfig.Engine.EXACT);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> manager.create(noShards));
+        assertThrows(IllegalArgumentException.class, () -> manager.create(tooWide));
+        CollectionInfo created = manager.create(exact);
+
+        // Then: only index-backed collections are bounded
+        assertFalse(Files.exists(basePath.resolve("none")));
+        assertFalse(Files.exists(basePath.resolve("wide")));
+        assertEquals(VectorIndexManager.MAX_DIMENSIONS + 1, created.getConfig().getDimension());
+        manager.close();
+    }
+}
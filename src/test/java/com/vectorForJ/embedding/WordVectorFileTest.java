@@ -0,0 +1,126 @@
+package com.vectorForJ.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordVectorFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testMappedTableMatchesTheWrittenOne() throws IOException {
+        // Given
+        int count = 500;
+        int dimension = 7;
+        String[] words = new String[count];
+        float[] weights = new float[count * dimension];
+        for (int i = 0; i < count; i++) {
+            words[i] = (i % 3 == 0 ? "straße" : "word") + i;
+            for (int d = 0; d < dimension; d++) {
+                weights[i * dimension + d] = i * 0.5f - d;
+            }
+        }
+        WordVectorTable written = new WordVectorTable(words, weights, dimension);
+        Path file = tempDir.resolve("table" + WordVectorFile.EXTENSION);
+
+        // When
+        WordVectorFile.write(written, file);
+        WordVectorTable mapped = WordVectorFile.read(file);
+
+        // Then
+        assertEquals(count, mapped.size());
+        assertEquals(dimension, mapped.dimension());
+        float[] expected = new float[dimension];
+        float[] actual = new float[dimension];
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, mapped.row(words[i]));
+            written.copyRow(i, expected);
+            mapped.copyRow(i, actual);
+            assertArrayEquals(expected, actual);
+        }
+        assertEquals(-1, mapped.row("missing"));
+    }
+
+    @Test
+    void testWeightsSpanSeveralMappings() throws IOException {
+        // Given
+        int count = 500;
+        int dimension = 7;
+        String[] words = new String[count];
+        float[] weights = new float[count * dimension];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            words[i] = "word" + i;
+        }
+        Path file = tempDir.resolve("chunked" + WordVectorFile.EXTENSION);
+        WordVectorFile.write(new WordVectorTable(words, weights, dimension), file);
+
+        // When: 64 rows and a few spare bytes per mapping, so the last of 8 chunks is partly filled
+        WordVectorTable mapped = WordVectorFile.read(file, 64L * dimension * Float.BYTES + 5);
+
+        // Then
+        float[] actual = new float[dimension];
+        double[] sum = new double[dimension];
+        for (int i = 0; i < count; i++) {
+            mapped.copyRow(i, actual);
+            assertArrayEquals(Arrays.copyOfRange(weights, i * dimension, (i + 1) * dimension), actual);
+            mapped.addRow(i, 1.0, sum);
+        }
+        assertEquals(count * (count - 1) / 2.0 * dimension, sum[0], 1e-6);
+        assertThrows(IOException.class, () -> WordVectorFile.read(file, dimension * Float.BYTES - 1));
+    }
+
+    @Test
+    void testConvertsTheTextModel() throws IOException {
+        // Given
+        Path file = tempDir.resolve("test-model" + WordVectorFile.EXTENSION);
+
+        // When
+        WordVectorTable converted = WordVectorFile.convert(Paths.get("src/test/resources/test-model.txt"), file);
+        WordVectorTable mapped = WordVectorFile.read(file);
+
+        // Then
+        assertEquals(converted.size(), mapped.size());
+        double[] expected = new double[converted.dimension()];
+        double[] actual = new double[mapped.dimension()];
+        for (int row = 0; row < converted.size(); row++) {
+            assertEquals(row, mapped.row(converted.word(row)));
+            converted.addRow(row, 1.0, expected);
+            mapped.addRow(row, 1.0, actual);
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testRejectsFilesInAnotherFormat() throws IOException {
+        // Given
+        Path textModel = tempDir.resolve("model" + WordVectorFile.EXTENSION);
+        Files.writeString(textModel, "2 3\nfox 1 2 3\ndog 4 5 6\n");
+
+        // When/Then
+        assertThrows(IOException.class, () -> WordVectorFile.read(textModel));
+    }
+
+    @Test
+    void testRejectsTruncatedFiles() throws IOException {
+        // Given
+        Path file = tempDir.resolve("table" + WordVectorFile.EXTENSION);
+        WordVectorFile.write(new WordVectorTable(new String[]{"fox", "dog"}, new float[]{1, 2, 3, 4, 5, 6}, 3), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        // When/Then
+        assertThrows(IOException.class, () -> WordVectorFile.read(file));
+    }
+}
@@ -0,0 +1,74 @@
+package com.vectorForJ.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordVectorTableTest {
+
+    @Test
+    void testFindsEveryWordAndRejectsOthers() {
+        // Given
+        int count = 1000;
+        String[] words = new String[count];
+        float[] weights = new float[count * 2];
+        for (int i = 0; i < count; i++) {
+            words[i] = "word" + i;
+            weights[i * 2] = i;
+            weights[i * 2 + 1] = -i;
+        }
+
+        // When
+        WordVectorTable table = new WordVectorTable(words, weights, 2);
+
+        // Then
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, table.row("word" + i));
+        }
+        assertEquals(-1, table.row("word" + count));
+        assertEquals(-1, table.row(""));
+        assertEquals(count, table.size());
+    }
+
+    @Test
+    void testAddsWeightedRowsIntoTheTarget() {
+        // Given
+        WordVectorTable table = new WordVectorTable(new String[]{"fox", "dog"}, new float[]{1, 2, 3, 4, 5, 6}, 3);
+        double[] target = {1, 1, 1};
+
+        // When
+        table.addRow(table.row("dog"), 2.0, target);
+
+        // Then
+        assertArrayEquals(new double[]{9, 11, 13}, target);
+    }
+
+    @Test
+    void testHashedVectorsDependOnlyOnTheWord() {
+        // Given
+        WordVectorTable table = new WordVectorTable(new String[]{"fox"}, new float[64], 64);
+        double[] first = new double[64];
+        double[] again = new double[64];
+        double[] other = new double[64];
+
+        // When
+        table.addHashed("unseen", 1.0, first);
+        table.addHashed("unseen", 1.0, again);
+        table.addHashed("different", 1.0, other);
+
+        // Then
+        assertArrayEquals(first, again);
+        assertFalse(Arrays.equals(first, other));
+        for (double value : first) {
+            assertTrue(value >= -1.0 && value < 1.0);
+        }
+    }
+
+    @Test
+    void testRejectsTooFewWeights() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new WordVectorTable(new String[]{"fox", "dog"}, new float[3], 2));
+    }
+}
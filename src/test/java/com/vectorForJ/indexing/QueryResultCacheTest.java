@@ -0,0 +1,108 @@
+package com.vectorForJ.indexing;
+
+import com.vectorForJ.model.SearchOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+    private static final double[] QUERY = {1.0, 0.0, 0.0};
+
+    @Test
+    void testServesHitsUntilTheGenerationChanges() {
+        // Given
+        QueryResultCache cache = new QueryResultCache(100, 1 << 20);
+        AtomicInteger searches = new AtomicInteger();
+
+        // When
+        cache.get(QUERY, SearchOptions.of(5), 0, () -> hits(searches, "a"));
+        cache.get(new double[]{0.0, 1.0, 0.0}, SearchOptions.of(5), 0, () -> hits(searches, "b"));
+        List<SearchHit> cached = cache.get(QUERY.clone(), SearchOptions.of(5), 0, () -> hits(searches, "x"));
+        List<SearchHit> otherK = cache.get(QUERY, SearchOptions.of(6), 0, () -> hits(searches, "c"));
+        List<SearchHit> afterWrite = cache.get(QUERY, SearchOptions.of(5), 1, () -> hits(searches, "d"));
+
+        // Then
+        assertEquals("a", cached.get(0).getId());
+        assertEquals("c", otherK.get(0).getId());
+        assertEquals("d", afterWrite.get(0).getId());
+        assertEquals(4, searches.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(1, cache.getStaleDrops());
+        // Entries of the old generation are only dropped when looked up, not flushed
+        assertEquals(3, cache.size());
+        assertTrue(cache.getBytes() > 0);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntries() {
+        // Given
+        QueryResultCache cache = new QueryResultCache(2, 1 << 20);
+        AtomicInteger searches = new AtomicInteger();
+        double[] first = {1.0, 0.0};
+        double[] second = {0.0, 1.0};
+        double[] third = {1.0, 1.0};
+
+        // When
+        cache.get(first, SearchOptions.of(1), 0, () -> hits(searches, "a"));
+        cache.get(second, SearchOptions.of(1), 0, () -> hits(searches, "b"));
+        cache.get(first, SearchOptions.of(1), 0, () -> hits(searches, "a"));
+        cache.get(third, SearchOptions.of(1), 0, () -> hits(searches, "c"));
+        cache.get(first, SearchOptions.of(1), 0, () -> hits(searches, "a"));
+        cache.get(second, SearchOptions.of(1), 0, () -> hits(searches, "b"));
+
+        // Then
+        assertEquals(4, searches.get());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testIdenticalConcurrentSearchesShareOneExecution() throws Exception {
+        // Given
+        QueryResultCache cache = new QueryResultCache(100, 1 << 20);
+        AtomicInteger searches = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<SearchHit>> first = CompletableFuture.supplyAsync(() ->
+            cache.get(QUERY, SearchOptions.of(3), 0, () -> {
+                started.countDown();
+                await(release);
+                return hits(searches, "a");
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<List<SearchHit>> second = CompletableFuture.supplyAsync(() ->
+            cache.get(QUERY, SearchOptions.of(3), 0, () -> hits(searches, "b")));
+        while (cache.getCoalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertEquals("a", first.get(5, TimeUnit.SECONDS).get(0).getId());
+        assertEquals("a", second.get(5, TimeUnit.SECONDS).get(0).getId());
+        assertEquals(1, searches.get());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    private static List<SearchHit> hits(AtomicInteger searches, String id) {
+        searches.incrementAndGet();
+        return List.of(new SearchHit(id, 0.9));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
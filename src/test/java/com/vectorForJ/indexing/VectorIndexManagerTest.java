@@ -0,0 +1,349 @@
+package com.vectorForJ.indexing;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.constants.ApplicationConstants.IndexStats;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorIndexManagerTest {
+
+    @TempDir
+    Path indexPath;
+
+    @Test
+    void testReopenOnDiskIndexWithoutRebuild() {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+        settings.setPath(indexPath.toString());
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        indexManager.addVector(new Vector("a", new double[]{1.0, 0.0, 0.0}, "first", 3, Map.of("source", "arxiv")));
+        indexManager.addVector(new Vector("b", new double[]{0.0, 1.0, 0.0}, "second", 3));
+        indexManager.cleanup();
+
+        // When
+        VectorIndexManager reopened = new VectorIndexManager(settings);
+        reopened.init();
+        List<Vector> loaded = new ArrayList<>();
+        reopened.forEachVector(loaded::add);
+
+        // Then
+        assertEquals(2, reopened.getIndexSize());
+        assertTrue(reopened.containsVector("a"));
+        assertEquals(2, loaded.size());
+        List<SearchHit> hits = reopened.findNearestNeighbors(new double[]{0.9, 0.1, 0.0}, 1);
+        assertEquals("a", hits.get(0).getId());
+        assertEquals(0.9 / Math.sqrt(0.82), hits.get(0).getScore(), 1e-5);
+        Vector first = loaded.stream().filter(v -> "a".equals(v.getId())).findFirst().orElseThrow();
+        assertEquals("first", first.getMetadata());
+        assertEquals(Map.of("source", "arxiv"), first.getAttributes());
+        assertArrayEquals(new double[]{1.0, 0.0, 0.0}, first.getEmbedding(), 1e-6);
+        reopened.cleanup();
+    }
+
+    @Test
+    void testSearchesShareOneReaderBetweenWrites() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        indexManager.addVector(new Vector("a", new double[]{1.0, 0.0, 0.0}, "first", 3));
+        long readerOpens = (long) indexManager.getStats().get(IndexStats.READER_OPENS);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            assertEquals("a", indexManager.findNearestNeighbors(new double[]{1.0, 0.1, 0.0}, 1).get(0).getId());
+        }
+
+        // Then
+        assertEquals(readerOpens, indexManager.getStats().get(IndexStats.READER_OPENS));
+        indexManager.removeVector("a");
+        assertFalse(indexManager.containsVector("a"));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testIntervalDurabilityDefersCommitUntilFlush() throws Exception {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.getCommit().setDurability(IndexSettings.Durability.INTERVAL);
+        settings.getCommit().setIntervalMs(60_000);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+
+        // When
+        CompletableFuture<Void> commit = indexManager.addVector(new Vector("a", new double[]{1.0, 0.0, 0.0}, "first", 3));
+
+        // Then
+        assertTrue(indexManager.containsVector("a"));
+        assertFalse(commit.isDone());
+        indexManager.flush().get(5, TimeUnit.SECONDS);
+        assertTrue(commit.isDone());
+        assertEquals(1L, indexManager.getStats().get(IndexStats.COMMITS));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testFilteredSearchOnlyReturnsMatchingVectors() {
+        for (int exactSearchThreshold : new int[]{0, 1000}) {
+            // Given
+            IndexSettings settings = new IndexSettings();
+            settings.setExactSearchThreshold(exactSearchThreshold);
+            VectorIndexManager indexManager = new VectorIndexManager(settings);
+            indexManager.init();
+            indexManager.addVectors(List.of(
+                new Vector("a", new double[]{1.0, 0.0, 0.0}, null, 3, Map.of("source", "arxiv", "year", 2019)),
+                new Vector("b", new double[]{0.9, 0.1, 0.0}, null, 3, Map.of("source", "arxiv", "year", 2021)),
+                new Vector("c", new double[]{0.8, 0.2, 0.0}, null, 3, Map.of("source", "web", "year", 2022))));
+            double[] query = new double[]{1.0, 0.0, 0.0};
+
+            // When / Then
+            assertEquals(List.of("b", "c"), ids(indexManager, query, "year >= 2020"));
+            assertEquals(List.of("a", "b"), ids(indexManager, query, "source = 'arxiv'"));
+            assertEquals(List.of("b"), ids(indexManager, query, "source = arxiv AND NOT year < 2020"));
+            assertEquals(List.of("a", "c"), ids(indexManager, query, "(year = 2019 OR source != \"arxiv\")"));
+            assertThrows(IllegalArgumentException.class, () -> ids(indexManager, query, "year >="));
+            indexManager.cleanup();
+        }
+    }
+
+    @Test
+    void testShardedIndexMergesTopKAcrossShards() {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+        settings.setPath(indexPath.toString());
+        settings.setShards(4);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            double angle = i * Math.PI / 80;
+            vectors.add(new Vector("v" + i, new double[]{Math.cos(angle), Math.sin(angle), 0.0}, null, 3));
+        }
+        indexManager.addVectors(vectors);
+        indexManager.addVector(new Vector("extra", new double[]{0.0, 0.0, 1.0}, null, 3));
+
+        // When
+        List<SearchHit> hits = indexManager.findNearestNeighbors(new double[]{1.0, 0.0, 0.0}, 5);
+
+        // Then
+        assertEquals(List.of("v0", "v1", "v2", "v3", "v4"), hits.stream().map(SearchHit::getId).toList());
+        assertEquals(41, indexManager.getIndexSize());
+        assertEquals(4, indexManager.getStats().get(IndexStats.SHARDS));
+        assertTrue(indexManager.containsVector("extra"));
+        indexManager.cleanup();
+
+        settings.setShards(2);
+        assertThrows(IllegalStateException.class, () -> new VectorIndexManager(settings).init());
+    }
+
+    @Test
+    void testCachedSearchesSeeLaterWrites() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        indexManager.addVector(new Vector("far", new double[]{0.0, 1.0, 0.0}, null, 3));
+        double[] query = {1.0, 0.1, 0.0};
+        indexManager.findNearestNeighbors(query, 1);
+        List<SearchHit> cached = indexManager.findNearestNeighbors(query, 1);
+
+        // When
+        indexManager.addVector(new Vector("near", new double[]{1.0, 0.0, 0.0}, null, 3));
+        List<SearchHit> afterWrite = indexManager.findNearestNeighbors(query, 1);
+
+        // Then
+        assertEquals("far", cached.get(0).getId());
+        assertEquals("near", afterWrite.get(0).getId());
+        Map<String, Object> stats = indexManager.getStats();
+        assertEquals(1L, stats.get(IndexStats.QUERY_CACHE_HITS));
+        assertEquals(2L, stats.get(IndexStats.QUERY_CACHE_MISSES));
+        assertEquals(1L, stats.get(IndexStats.QUERY_CACHE_STALE_DROPS));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testBatchSearchMatchesIndividualSearchesInQueryOrder() {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.setShards(3);
+        settings.setSearchThreads(2);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            double angle = i * Math.PI / 120;
+            vectors.add(new Vector("v" + i, new double[]{Math.cos(angle), Math.sin(angle), 0.0}, null, 3,
+                Map.of("parity", i % 2 == 0 ? "even" : "odd")));
+        }
+        indexManager.addVectors(vectors);
+        List<double[]> queries = List.of(new double[]{1.0, 0.0, 0.0}, new double[]{0.0, 1.0, 0.0},
+            new double[]{1.0, 1.0, 0.0});
+        List<SearchOptions> options = List.of(SearchOptions.of(3), new SearchOptions(1, 10),
+            new SearchOptions(4, null, "parity = \"odd\""));
+
+        // When
+        List<List<SearchHit>> results = indexManager.findNearestNeighbors(queries, options);
+
+        // Then
+        assertEquals(3, results.size());
+        for (int i = 0; i < queries.size(); i++) {
+            assertEquals(indexManager.findNearestNeighbors(queries.get(i), options.get(i)).stream().map(SearchHit::getId).toList(),
+                results.get(i).stream().map(SearchHit::getId).toList());
+        }
+        assertEquals(List.of("v0", "v1", "v2"), results.get(0).stream().map(SearchHit::getId).toList());
+        assertEquals(1, results.get(1).size());
+        assertTrue(results.get(2).stream().allMatch(hit -> Integer.parseInt(hit.getId().substring(1)) % 2 == 1));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testCompactionExpungesDeletesAndMergesSmallSegments() {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.getMerge().setCompactionIntervalMs(0);
+        settings.getMerge().setCompactMaxSegments(4);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        for (int i = 0; i < 20; i++) {
+            indexManager.addVector(new Vector("v" + (i % 5), new double[]{1.0, i, 0.0}, null, 3));
+        }
+        Map<String, Object> before = indexManager.getStats();
+        assertTrue((int) before.get(IndexStats.SEGMENTS) > 4);
+
+        // When
+        int compacted = indexManager.compact();
+
+        // Then
+        Map<String, Object> after = indexManager.getStats();
+        assertEquals(1, compacted);
+        assertTrue((int) after.get(IndexStats.SEGMENTS) <= 2);
+        assertEquals(0.0, (double) after.get(IndexStats.DELETED_DOCS_RATIO), 1e-9);
+        assertEquals(1L, after.get(IndexStats.COMPACTIONS));
+        assertEquals(5, indexManager.getIndexSize());
+        assertEquals(0, indexManager.compact());
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testExpungingDeletesIsRateLimited() {
+        // Given: a segment 30% deleted, which the automatic merges leave alone, and a 64 KB/s compaction rate
+        IndexSettings settings = new IndexSettings();
+        settings.getMerge().setCompactionIntervalMs(0);
+        settings.getMerge().setDeletesPctAllowed(50);
+        settings.getMerge().setCompactDeletesPct(20);
+        settings.getMerge().setCompactionMbPerSec(1.0 / 16);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            double[] embedding = new double[64];
+            for (int d = 0; d < embedding.length; d++) {
+                embedding[d] = random.nextGaussian();
+            }
+            vectors.add(new Vector("v" + i, embedding, null, 64));
+        }
+        indexManager.addVectors(vectors);
+        for (int i = 0; i < 120; i++) {
+            indexManager.removeVector("v" + i);
+        }
+
+        // When: the 280 remaining vectors alone are 70 KB of floats
+        long start = System.nanoTime();
+        int compacted = indexManager.compact();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(1, compacted);
+        assertEquals(0.0, (double) indexManager.getStats().get(IndexStats.DELETED_DOCS_RATIO), 1e-9);
+        assertTrue(millis >= 1000, "expunge took " + millis + " ms");
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testSimilarityFunctionsScoreHigherForCloserVectors() {
+        double[] query = new double[]{3.0, 4.0, 0.0};
+        for (IndexSettings.Similarity similarity : IndexSettings.Similarity.values()) {
+            // Given
+            IndexSettings settings = new IndexSettings();
+            settings.setSimilarity(similarity);
+            VectorIndexManager indexManager = new VectorIndexManager(settings);
+            indexManager.init();
+            indexManager.addVectors(List.of(
+                new Vector("near", new double[]{6.0, 8.0, 0.0}, null, 3),
+                new Vector("far", new double[]{0.0, 0.0, 2.0}, null, 3)));
+
+            // When
+            List<SearchHit> hits = indexManager.findNearestNeighbors(query, 2);
+            List<Vector> stored = new ArrayList<>();
+            indexManager.forEachVector(stored::add);
+
+            // Then
+            assertEquals("near", hits.get(0).getId(), similarity.name());
+            assertTrue(hits.get(0).getScore() > hits.get(1).getScore(), similarity.name());
+            double[] near = stored.stream().filter(v -> "near".equals(v.getId())).findFirst().orElseThrow().getEmbedding();
+            switch (similarity) {
+                case COSINE, DOT_PRODUCT -> {
+                    assertEquals(1.0, hits.get(0).getScore(), 1e-5);
+                    assertArrayEquals(new double[]{6.0, 8.0, 0.0}, near, 1e-5);
+                }
+                case EUCLIDEAN -> assertEquals(1.0 / (1.0 + 25.0), hits.get(0).getScore(), 1e-6);
+            }
+            indexManager.cleanup();
+        }
+    }
+
+    @Test
+    void testLegacyCosineIndexStaysSearchable() throws Exception {
+        // Given an index written with Lucene's raw cosine field
+        try (Directory directory = new MMapDirectory(indexPath);
+             IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            Document doc = new Document();
+            doc.add(new StringField("id", "legacy", Field.Store.YES));
+            doc.add(new KnnFloatVectorField("embedding", new float[]{2.0f, 0.0f, 0.0f}, VectorSimilarityFunction.COSINE));
+            writer.addDocument(doc);
+        }
+        IndexSettings settings = new IndexSettings();
+        settings.setDirectoryType(IndexSettings.DirectoryType.MMAP);
+        settings.setPath(indexPath.toString());
+
+        // When
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        indexManager.addVector(new Vector("new", new double[]{0.0, 3.0, 0.0}, null, 3));
+
+        // Then
+        List<SearchHit> hits = indexManager.findNearestNeighbors(new double[]{1.0, 0.1, 0.0}, 2);
+        assertEquals(List.of("legacy", "new"), hits.stream().map(SearchHit::getId).toList());
+        indexManager.cleanup();
+        settings.setSimilarity(IndexSettings.Similarity.EUCLIDEAN);
+        assertThrows(RuntimeException.class, () -> new VectorIndexManager(settings).init());
+    }
+
+    private static List<String> ids(VectorIndexManager indexManager, double[] query, String filter) {
+        return indexManager.findNearestNeighbors(query, new SearchOptions(3, null, filter))
+            .stream().map(SearchHit::getId).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package com.vectorForJ.integration;
 
+import com.vectorForJ.model.ScoredVector;
 import com.vectorForJ.model.Vector;
 import com.vectorForJ.service.DocumentProcessingService;
 import com.vectorForJ.service.VectorService;
@@ -53,15 +54,15 @@ class VectorSearchIntegrationTest {
         assertNotNull(queryVector);
 
         // Test similarity search
-        List<Vector> neighbors = vectorService.findSimilarVectors(queryEmbedding, 2);
+        List<ScoredVector> neighbors = vectorService.findSimilarVectors(queryEmbedding, 2);
         assertNotNull(neighbors);
         assertFalse(neighbors.isEmpty());
         
         // The first result should be more similar to text1 than text2
         // since queryText is more similar to text1
         boolean foundText1Vector = false;
-        for (Vector neighbor : neighbors) {
-            if (vector1.getId().equals(neighbor.getId())) {
+        for (ScoredVector neighbor : neighbors) {
+            if (vector1.getId().equals(neighbor.getVector().getId())) {
                 foundText1Vector = true;
                 break;
             }
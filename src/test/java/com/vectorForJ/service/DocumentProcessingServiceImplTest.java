@@ -1,14 +1,28 @@
 package com.vectorForJ.service;
 
+import com.vectorForJ.config.EmbeddingSettings;
+import com.vectorForJ.constants.ApplicationConstants.EmbeddingStats;
+import com.vectorForJ.embedding.WordVectorFile;
+import com.vectorForJ.exception.DocumentProcessingException;
 import com.vectorForJ.model.Vector;
 import com.vectorForJ.service.impl.DocumentProcessingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -67,6 +81,121 @@ class DocumentProcessingServiceImplTest {
         assertTrue(embedding.length > 0);
     }
 
+    @Test
+    void testRepeatedTextIsServedFromTheEmbeddingCache() {
+        // Given
+        double[] first = documentProcessingService.generateEmbedding("The quick brown fox");
+        long hitsBefore = (Long) documentProcessingService.getStats().get(EmbeddingStats.CACHE_HITS);
+
+        // When
+        double[] repeated = documentProcessingService.generateEmbedding("  the QUICK\tbrown   fox ");
+
+        // Then
+        assertArrayEquals(first, repeated);
+        Map<String, Object> stats = documentProcessingService.getStats();
+        assertEquals(hitsBefore + 1, stats.get(EmbeddingStats.CACHE_HITS));
+        assertTrue((Long) stats.get(EmbeddingStats.CACHE_BYTES) > 0);
+    }
+
+    @Test
+    void testConcurrentEmbeddingsMatchSingleThreadedResults() throws Exception {
+        // Given: a service without the cache, so every call runs the full pipeline
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.getCache().setEnabled(false);
+        settings.setTaggerPoolSize(2);
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+        String[] words = {"the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "works", "in", "unknownword"};
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            StringBuilder text = new StringBuilder("the");
+            for (int w = 0; w < 3 + i % 7; w++) {
+                text.append(' ').append(words[(i * 7 + w * 3) % words.length]);
+            }
+            texts.add(text.toString());
+        }
+        List<double[]> expected = new ArrayList<>();
+        for (String text : texts) {
+            expected.add(service.generateEmbedding(text));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<double[]>> futures = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            for (String text : texts) {
+                futures.add(executor.submit(() -> service.generateEmbedding(text)));
+            }
+        }
+
+        // Then
+        for (int i = 0; i < futures.size(); i++) {
+            assertArrayEquals(expected.get(i % texts.size()), futures.get(i).get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void testRequestsWaitForModelsLoadingInTheBackground() {
+        // Given
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.setLoadInBackground(true);
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+
+        // When
+        double[] embedding = service.generateEmbedding("The quick brown fox");
+
+        // Then
+        assertArrayEquals(documentProcessingService.generateEmbedding("The quick brown fox"), embedding);
+        assertTrue(service.isReady());
+        assertEquals(true, service.getStats().get(EmbeddingStats.READY));
+    }
+
+    @Test
+    void testFailedModelLoadLeavesTheServiceNotReady() {
+        // Given
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.setModelPath("does/not/exist.txt");
+
+        // When
+        DocumentProcessingServiceImpl service = new DocumentProcessingServiceImpl(settings);
+
+        // Then
+        assertThrows(DocumentProcessingException.class, () -> service.generateEmbedding("The quick brown fox"));
+        assertFalse(service.isReady());
+    }
+
+    @Test
+    void testFailedModelLoadFailsStartupWhenNotLoadingInTheBackground() {
+        // Given
+        EmbeddingSettings settings = new EmbeddingSettings();
+        settings.setModelPath("does/not/exist.txt");
+        settings.setLoadInBackground(false);
+
+        // When/Then
+        assertThrows(DocumentProcessingException.class, () -> new DocumentProcessingServiceImpl(settings));
+    }
+
+    @Test
+    void testBinaryModelFileGivesTheSameEmbeddingsAsTheTextModel(@TempDir Path tempDir) throws Exception {
+        // Given
+        EmbeddingSettings textSettings = new EmbeddingSettings();
+        Path binaryModel = tempDir.resolve("test-model" + WordVectorFile.EXTENSION);
+        WordVectorFile.convert(Paths.get(textSettings.getModelPath()), binaryModel);
+        EmbeddingSettings binarySettings = new EmbeddingSettings();
+        binarySettings.setModelPath(binaryModel.toString());
+        DocumentProcessingServiceImpl textService = new DocumentProcessingServiceImpl(textSettings);
+        DocumentProcessingServiceImpl binaryService = new DocumentProcessingServiceImpl(binarySettings);
+
+        // When/Then
+        for (String text : List.of("The quick brown fox", "John works at Microsoft", "the lazy dog sleeps here")) {
+            assertArrayEquals(textService.generateEmbedding(text), binaryService.generateEmbedding(text));
+        }
+        assertThrows(DocumentProcessingException.class, () -> textService.generateEmbedding("unseen words only"));
+        assertThrows(DocumentProcessingException.class, () -> binaryService.generateEmbedding("unseen words only"));
+        assertEquals(textService.getStats().get(EmbeddingStats.VOCABULARY),
+            binaryService.getStats().get(EmbeddingStats.VOCABULARY));
+    }
+
     @Test
     void testProcessTextWithEmptyInput() {
         // Given
@@ -1,6 +1,13 @@
 package com.vectorForJ.service;
 
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.exception.VectorDBException;
+import com.vectorForJ.model.BatchItemResult;
+import com.vectorForJ.model.BatchResult;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
 import com.vectorForJ.model.Vector;
+import com.vectorForJ.similarity.VectorKernels;
 import com.vectorForJ.storage.VectorStorage;
 import com.vectorForJ.service.impl.VectorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +18,12 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +39,8 @@ class VectorServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(vectorStorage.prepare(any(double[].class))).thenAnswer(invocation ->
+            VectorKernels.prepare(IndexSettings.Similarity.COSINE, invocation.getArgument(0)));
         vectorService = new VectorServiceImpl(vectorStorage);
         ReflectionTestUtils.setField(vectorService, "similarityThreshold", SIMILARITY_THRESHOLD);
     }
@@ -35,7 +50,7 @@ class VectorServiceImplTest {
         // Given
         double[] embedding = new double[]{0.1, 0.2, 0.3};
         Vector vector = new Vector(null, embedding, "test", embedding.length);
-        when(vectorStorage.findNearest(embedding, 1)).thenReturn(List.of());
+        when(vectorStorage.nearestScore(eq(embedding), any(SearchOptions.class))).thenReturn(Double.NaN);
         doNothing().when(vectorStorage).store(any(Vector.class));
 
         // When
@@ -52,16 +67,33 @@ class VectorServiceImplTest {
         // Given
         double[] queryEmbedding = new double[]{0.1, 0.2, 0.3};
         Vector similarVector = new Vector("1", new double[]{0.11, 0.21, 0.31}, "test", 3);
-        when(vectorStorage.findNearest(queryEmbedding, 5)).thenReturn(List.of(similarVector));
+        when(vectorStorage.findNearest(queryEmbedding, 5)).thenReturn(List.of(new ScoredVector(similarVector, 0.99)));
 
         // When
-        List<Vector> results = vectorService.findSimilarVectors(queryEmbedding, 5);
+        List<ScoredVector> results = vectorService.findSimilarVectors(queryEmbedding, 5);
 
         // Then
         assertNotNull(results);
         assertFalse(results.isEmpty());
         assertEquals(1, results.size());
-        assertEquals(similarVector.getId(), results.get(0).getId());
+        assertEquals(similarVector.getId(), results.get(0).getVector().getId());
+        assertEquals(0.99, results.get(0).getScore());
+    }
+
+    @Test
+    void testFindSimilarVectorsWithCandidates() {
+        // Given
+        double[] queryEmbedding = new double[]{0.1, 0.2, 0.3};
+        SearchOptions options = new SearchOptions(5, 50);
+        when(vectorStorage.findNearest(queryEmbedding, options)).thenReturn(List.of());
+
+        // When
+        vectorService.findSimilarVectors(queryEmbedding, options);
+
+        // Then
+        verify(vectorStorage).findNearest(queryEmbedding, options);
+        assertThrows(IllegalArgumentException.class,
+            () -> vectorService.findSimilarVectors(queryEmbedding, new SearchOptions(5, 2)));
     }
 
     @Test
@@ -82,10 +114,160 @@ class VectorServiceImplTest {
         // Given
         double[] embedding = new double[]{0.1, 0.2, 0.3};
         Vector vector = new Vector(null, embedding, "test", embedding.length);
-        Vector existingVector = new Vector("1", embedding, "test", embedding.length);
-        when(vectorStorage.findNearest(embedding, 1)).thenReturn(List.of(existingVector));
+        when(vectorStorage.nearestScore(eq(embedding), any(SearchOptions.class))).thenReturn(1.0);
 
         // When/Then
         assertThrows(RuntimeException.class, () -> vectorService.createVector(vector));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testDuplicateCheckWidensTheCandidateList() {
+        // Given
+        double[] embedding = new double[]{0.1, 0.2, 0.3};
+        Vector vector = new Vector(null, embedding, "test", embedding.length);
+        when(vectorStorage.nearestScore(eq(embedding), any(SearchOptions.class))).thenReturn(Double.NaN);
+
+        // When
+        vectorService.createVector(vector);
+
+        // Then: one result, but collected from the configured candidate list rather than a greedy ef=1 walk
+        verify(vectorStorage).nearestScore(embedding, new SearchOptions(1, 100));
+    }
+
+    @Test
+    void testDuplicateDetectionUsesIndexScore() {
+        // Given
+        double[] embedding = new double[]{0.1, 0.2, 0.3};
+        Vector vector = new Vector(null, embedding, "test", embedding.length);
+        when(vectorStorage.nearestScore(eq(embedding), any(SearchOptions.class))).thenReturn(0.5);
+
+        // When
+        Vector result = vectorService.createVector(vector);
+
+        // Then
+        assertNotNull(result.getId());
+        verify(vectorStorage).store(vector);
+    }
+
+    @Test
+    void testCreateVectorsReportsStatusPerItem() {
+        // Given
+        double[] fresh = new double[]{0.1, 0.2, 0.3};
+        double[] duplicate = new double[]{0.3, 0.2, 0.1};
+        when(vectorStorage.nearestScore(any(double[].class), any(SearchOptions.class))).thenReturn(Double.NaN);
+        when(vectorStorage.nearestScore(eq(duplicate), any(SearchOptions.class))).thenReturn(0.97);
+        List<Vector> batch = List.of(
+            new Vector(null, fresh, "fresh", fresh.length),
+            new Vector(null, new double[]{0.1, 0.2}, "invalid", 3),
+            new Vector(null, duplicate, "duplicate", duplicate.length));
+
+        // When
+        BatchResult result = vectorService.createVectors(batch);
+
+        // Then
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(BatchItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertNotNull(result.getItems().get(0).getId());
+        assertEquals(BatchItemResult.Status.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(BatchItemResult.Status.DUPLICATE, result.getItems().get(2).getStatus());
+        verify(vectorStorage).storeAll(List.of(batch.get(0)));
+    }
+
+    @Test
+    void testCreateVectorsReportsAFailedStoreForEveryAcceptedItem() {
+        // Given
+        when(vectorStorage.nearestScore(any(double[].class), any(SearchOptions.class))).thenReturn(Double.NaN);
+        doThrow(new IllegalStateException("index unavailable")).when(vectorStorage).storeAll(anyList());
+        List<Vector> batch = List.of(
+            new Vector(null, new double[]{0.1, 0.2, 0.3}, "first", 3),
+            new Vector(null, new double[]{0.3, 0.2, 0.1}, "second", 3));
+
+        // When
+        BatchResult result = vectorService.createVectors(batch);
+
+        // Then
+        assertEquals(0, result.getCreated());
+        assertEquals(2, result.getRejected());
+        for (BatchItemResult item : result.getItems()) {
+            assertEquals(BatchItemResult.Status.FAILED, item.getStatus());
+            assertEquals("index unavailable", item.getMessage());
+        }
+    }
+
+    @Test
+    void testConcurrentNearDuplicateIsDetected() throws Exception {
+        // Given: the first insert is stuck in store, so the storage search cannot see it yet
+        double[] first = new double[]{0.1, 0.2, 0.3};
+        double[] second = new double[]{0.1, 0.2, 0.31};
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch compared = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vectorStorage.nearestScore(any(double[].class), any(SearchOptions.class))).thenReturn(Double.NaN);
+        when(vectorStorage.prepare(any(double[].class))).thenAnswer(invocation ->
+            VectorKernels.prepare(IndexSettings.Similarity.COSINE, invocation.getArgument(0)));
+        when(vectorStorage.similarity(any(float[].class), any(float[].class))).thenAnswer(invocation -> {
+            compared.countDown();
+            return (double) VectorKernels.dot(invocation.<float[]>getArgument(0), invocation.<float[]>getArgument(1));
+        });
+        doAnswer(invocation -> {
+            storing.countDown();
+            release.await();
+            return null;
+        }).when(vectorStorage).store(any(Vector.class));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Vector> firstInsert = executor.submit(() -> vectorService.createVector(new Vector(null, first, "a", 3)));
+            assertTrue(storing.await(5, TimeUnit.SECONDS));
+            Future<Vector> secondInsert = executor.submit(() -> vectorService.createVector(new Vector(null, second, "b", 3)));
+            assertTrue(compared.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            // Then
+            assertNotNull(firstInsert.get(5, TimeUnit.SECONDS).getId());
+            ExecutionException error = assertThrows(ExecutionException.class, () -> secondInsert.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(VectorDBException.class, error.getCause());
+            verify(vectorStorage, times(1)).store(any(Vector.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentDistinctInsertsDoNotWait() throws Exception {
+        // Given: the first insert is stuck in store
+        double[] first = new double[]{1.0, 0.0, 0.0};
+        double[] second = new double[]{0.0, 1.0, 0.0};
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vectorStorage.nearestScore(any(double[].class), any(SearchOptions.class))).thenReturn(Double.NaN);
+        when(vectorStorage.prepare(any(double[].class))).thenAnswer(invocation ->
+            VectorKernels.prepare(IndexSettings.Similarity.COSINE, invocation.getArgument(0)));
+        when(vectorStorage.similarity(any(float[].class), any(float[].class))).thenReturn(0.0);
+        doAnswer(invocation -> {
+            if (((Vector) invocation.getArgument(0)).getEmbedding() == first) {
+                storing.countDown();
+                release.await();
+            }
+            return null;
+        }).when(vectorStorage).store(any(Vector.class));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<Vector> firstInsert = executor.submit(() -> vectorService.createVector(new Vector(null, first, "a", 3)));
+            assertTrue(storing.await(5, TimeUnit.SECONDS));
+            Vector result = vectorService.createVector(new Vector(null, second, "b", 3));
+
+            // Then
+            assertNotNull(result.getId());
+            release.countDown();
+            assertNotNull(firstInsert.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.vectorForJ.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingCacheTest {
+
+    @Test
+    void testServesEmbeddingsUntilTheModelChanges() {
+        // Given
+        EmbeddingCache cache = new EmbeddingCache(100, 1 << 20);
+        AtomicInteger embeds = new AtomicInteger();
+
+        // When
+        double[] computed = cache.get("quick brown fox", 1, () -> embed(embeds, 0.1));
+        cache.get("lazy dog", 1, () -> embed(embeds, 0.2));
+        double[] cached = cache.get("quick brown fox", 1, () -> embed(embeds, 0.9));
+        double[] afterReload = cache.get("quick brown fox", 2, () -> embed(embeds, 0.3));
+
+        // Then
+        assertArrayEquals(computed, cached);
+        assertNotSame(computed, cached);
+        assertEquals((float) 0.3, afterReload[0]);
+        assertEquals(3, embeds.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getStaleDrops());
+        assertEquals(0.25, cache.getHitRate());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testReturnsFloatPrecisionOnMissesAndHits() {
+        // Given
+        EmbeddingCache cache = new EmbeddingCache(100, 1 << 20);
+        AtomicInteger embeds = new AtomicInteger();
+
+        // When
+        double[] computed = cache.get("text", 1, () -> embed(embeds, 0.1));
+        computed[0] = 42;
+        double[] cached = cache.get("text", 1, () -> embed(embeds, 0.1));
+
+        // Then
+        assertEquals((float) 0.1, cached[0]);
+        assertEquals((float) 0.1, cached[1]);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedWithinTheMemoryBound() {
+        // Given: room for two 100-dimensional entries
+        EmbeddingCache cache = new EmbeddingCache(100, 2 * (128 + 4 * 100));
+        AtomicInteger embeds = new AtomicInteger();
+
+        // When
+        cache.get("a", 1, () -> embed(embeds, 0.1));
+        cache.get("b", 1, () -> embed(embeds, 0.2));
+        cache.get("a", 1, () -> embed(embeds, 0.1));
+        cache.get("c", 1, () -> embed(embeds, 0.3));
+        cache.get("a", 1, () -> embed(embeds, 0.1));
+        cache.get("b", 1, () -> embed(embeds, 0.2));
+
+        // Then
+        assertEquals(4, embeds.get());
+        assertEquals(2, cache.getEvictions());
+        assertEquals(2, cache.size());
+        assertEquals(2 * (128 + 4 * 100), cache.getBytes());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        // Given
+        EmbeddingCache cache = new EmbeddingCache(100, 1 << 20);
+        AtomicInteger embeds = new AtomicInteger();
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> cache.get("text", 1, () -> {
+            throw new IllegalArgumentException("no known words");
+        }));
+        cache.get("text", 1, () -> embed(embeds, 0.1));
+
+        // Then
+        assertEquals(1, embeds.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    private static double[] embed(AtomicInteger embeds, double value) {
+        embeds.incrementAndGet();
+        double[] embedding = new double[100];
+        Arrays.fill(embedding, value);
+        return embedding;
+    }
+}
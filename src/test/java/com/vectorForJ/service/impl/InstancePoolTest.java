@@ -0,0 +1,85 @@
+package com.vectorForJ.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstancePoolTest {
+
+    @Test
+    void testReusesIdleInstances() {
+        // Given
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Integer> pool = new InstancePool<>(created::incrementAndGet, 4);
+
+        // When
+        int first = pool.apply(instance -> instance);
+        int second = pool.apply(instance -> instance);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, pool.getCreated());
+        assertEquals(0, pool.getWaits());
+    }
+
+    @Test
+    void testNeverHandsAnInstanceToTwoThreadsOrExceedsItsSize() throws Exception {
+        // Given
+        int size = 3;
+        InstancePool<AtomicInteger> pool = new InstancePool<>(AtomicInteger::new, size);
+        AtomicInteger concurrentUsers = new AtomicInteger();
+        AtomicInteger maxConcurrentUsers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(executor.submit(() -> pool.apply(users -> {
+                int inUse = concurrentUsers.incrementAndGet();
+                maxConcurrentUsers.accumulateAndGet(inUse, Math::max);
+                boolean exclusive = users.incrementAndGet() == 1;
+                Thread.yield();
+                users.decrementAndGet();
+                concurrentUsers.decrementAndGet();
+                return exclusive;
+            })));
+        }
+        boolean allExclusive = true;
+        for (Future<Boolean> future : futures) {
+            allExclusive &= future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(allExclusive);
+        assertTrue(maxConcurrentUsers.get() <= size);
+        assertTrue(pool.getCreated() <= size);
+    }
+
+    @Test
+    void testFailedCreationDoesNotUseUpTheBound() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        InstancePool<Integer> pool = new InstancePool<>(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("model not ready");
+            }
+            return 7;
+        }, 1);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> pool.apply(instance -> instance));
+        int instance = pool.apply(value -> value);
+
+        // Then
+        assertEquals(7, instance);
+        assertEquals(1, pool.getCreated());
+    }
+}
@@ -0,0 +1,87 @@
+package com.vectorForJ.service.impl;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.similarity.VectorKernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingInsertsTest {
+
+    @Test
+    void testOnlyEarlierEntriesOutsideTheBatchAreCandidates() {
+        // Given
+        PendingInserts pending = new PendingInserts(16, 12, 42);
+        PendingInserts.Entry first = entry(1.0, 0.0, 0.0);
+        PendingInserts.Entry sameBatch = entry(1.0, 0.0, 0.01);
+        PendingInserts.Entry later = entry(1.0, 0.01, 0.0);
+
+        // When
+        pending.register(List.of(first, sameBatch));
+        pending.register(List.of(later));
+
+        // Then
+        assertTrue(pending.earlierCandidates(first).isEmpty());
+        assertTrue(pending.earlierCandidates(sameBatch).isEmpty());
+        List<PendingInserts.Entry> candidates = pending.earlierCandidates(later);
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.contains(first) && candidates.contains(sameBatch));
+    }
+
+    @Test
+    void testDistantEntriesAreRarelyCandidates() {
+        // Given
+        PendingInserts pending = new PendingInserts(16, 12, 42);
+        Random random = new Random(7);
+        List<PendingInserts.Entry> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            double[] embedding = new double[64];
+            for (int d = 0; d < embedding.length; d++) {
+                embedding[d] = random.nextGaussian();
+            }
+            batch.add(entry(embedding));
+        }
+        pending.register(batch);
+        PendingInserts.Entry probe = entry(batch.get(0).prepared);
+        pending.register(List.of(probe));
+
+        // When
+        List<PendingInserts.Entry> candidates = pending.earlierCandidates(probe);
+
+        // Then: the copy of the first entry is found among a handful of random ones
+        assertTrue(candidates.contains(batch.get(0)));
+        assertTrue(candidates.size() < 50, "candidates: " + candidates.size());
+    }
+
+    @Test
+    void testCompleteRemovesTheBatchAndReportsEachOutcome() {
+        // Given
+        PendingInserts pending = new PendingInserts(16, 12, 42);
+        PendingInserts.Entry stored = entry(1.0, 0.0, 0.0);
+        PendingInserts.Entry rejected = entry(0.0, 1.0, 0.0);
+        pending.register(List.of(stored, rejected));
+        PendingInserts.Entry later = entry(1.0, 0.0, 0.0);
+
+        // When
+        pending.complete(List.of(stored, rejected), new boolean[]{true, false});
+        pending.register(List.of(later));
+
+        // Then
+        assertEquals(1, pending.size());
+        assertTrue(pending.earlierCandidates(later).isEmpty());
+        assertTrue(stored.stored.join());
+        assertFalse(rejected.stored.join());
+    }
+
+    private static PendingInserts.Entry entry(double... embedding) {
+        return new PendingInserts.Entry(VectorKernels.prepare(IndexSettings.Similarity.COSINE, embedding));
+    }
+
+    private static PendingInserts.Entry entry(float[] prepared) {
+        return new PendingInserts.Entry(prepared.clone());
+    }
+}
@@ -0,0 +1,69 @@
+package com.vectorForJ.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LshDuplicateIndexTest {
+
+    @Test
+    void testNearDuplicatesAreCandidatesAndUnrelatedVectorsRarelyAre() {
+        // Given
+        Random random = new Random(11);
+        LshDuplicateIndex index = new LshDuplicateIndex(16, 12, 42);
+        double[][] stored = new double[2000][];
+        for (int i = 0; i < stored.length; i++) {
+            stored[i] = gaussian(random, 64);
+            index.add("v" + i, stored[i]);
+        }
+
+        // When
+        int found = 0;
+        for (int i = 0; i < 200; i++) {
+            double[] nearDuplicate = stored[i].clone();
+            for (int d = 0; d < nearDuplicate.length; d++) {
+                nearDuplicate[d] += 0.1 * random.nextGaussian();
+            }
+            if (index.candidates(nearDuplicate, 0.95).contains("v" + i)) {
+                found++;
+            }
+        }
+        List<String> unrelated = index.candidates(gaussian(random, 64), 0.95);
+
+        // Then
+        assertTrue(found >= 195, "found " + found + " of 200 near-duplicates");
+        assertTrue(unrelated.isEmpty(), "unrelated query produced " + unrelated.size() + " candidates");
+    }
+
+    @Test
+    void testRemoveAndReplaceUnlinkOldBuckets() {
+        // Given
+        LshDuplicateIndex index = new LshDuplicateIndex(4, 8, 42);
+        double[] a = {1.0, 0.0, 0.0};
+        double[] b = {0.0, 0.0, -1.0};
+        index.add("x", a);
+        index.add("y", a);
+
+        // When
+        index.add("x", b);
+        index.remove("y");
+
+        // Then
+        assertEquals(1, index.size());
+        assertFalse(index.candidates(a, 0.95).contains("x"));
+        assertFalse(index.candidates(a, 0.95).contains("y"));
+        assertEquals(List.of("x"), index.candidates(b, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> index.add("z", new double[]{1.0, 0.0}));
+    }
+
+    private static double[] gaussian(Random random, int dimension) {
+        double[] values = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = random.nextGaussian();
+        }
+        return values;
+    }
+}
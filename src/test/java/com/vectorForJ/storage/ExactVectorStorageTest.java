@@ -0,0 +1,237 @@
+package com.vectorForJ.storage;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import com.vectorForJ.similarity.VectorKernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactVectorStorageTest {
+
+    @Test
+    void testKernelsMatchScalarMath() {
+        // Given
+        Random random = new Random(7);
+        float[] a = new float[37];
+        float[] b = new float[37];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (float) random.nextGaussian();
+            b[i] = (float) random.nextGaussian();
+        }
+        double dot = 0, normA = 0, normB = 0, l2 = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+            l2 += (a[i] - b[i]) * (a[i] - b[i]);
+        }
+
+        // Then
+        assertEquals(dot, VectorKernels.dot(a, b), 1e-4);
+        assertEquals(dot / Math.sqrt(normA * normB), VectorKernels.cosine(a, b), 1e-5);
+        assertEquals(l2, VectorKernels.squaredDistance(a, b), 1e-4);
+    }
+
+    @Test
+    void testFindNearestReturnsExactTopKAcrossSlices() {
+        // Given
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        Random random = new Random(42);
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < ExactVectorStorage.SLICE_SIZE * 3 + 17; i++) {
+            double[] embedding = random.doubles(24).map(v -> v - 0.5).toArray();
+            vectors.add(new Vector("v" + i, embedding, null, embedding.length));
+        }
+        storage.storeAll(vectors);
+        double[] query = random.doubles(24).map(v -> v - 0.5).toArray();
+
+        // When
+        List<ScoredVector> hits = storage.findNearest(query, 10);
+
+        // Then
+        List<String> expected = vectors.stream()
+            .sorted(Comparator.comparingDouble((Vector v) -> -cosine(query, v.getEmbedding())))
+            .limit(10)
+            .map(Vector::getId)
+            .collect(Collectors.toList());
+        assertEquals(expected, hits.stream().map(hit -> hit.getVector().getId()).collect(Collectors.toList()));
+        assertEquals(cosine(query, hits.get(0).getVector().getEmbedding()), hits.get(0).getScore(), 1e-5);
+    }
+
+    @Test
+    void testRemoveKeepsRemainingVectorsSearchable() {
+        // Given
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        storage.store(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+        storage.store(new Vector("b", new double[]{0.0, 1.0}, null, 2));
+        storage.store(new Vector("c", new double[]{0.7, 0.7}, null, 2));
+
+        // When
+        storage.remove("a");
+        storage.store(new Vector("b", new double[]{0.6, 0.8}, null, 2));
+
+        // Then
+        assertEquals(2, storage.size());
+        assertTrue(storage.retrieve("a").isEmpty());
+        List<ScoredVector> hits = storage.findNearest(new double[]{1.0, 0.0}, 5);
+        assertEquals(List.of("c", "b"), hits.stream().map(hit -> hit.getVector().getId()).collect(Collectors.toList()));
+        assertEquals(0.6, hits.get(1).getScore(), 1e-6);
+    }
+
+    @Test
+    void testHugeKOnlyAllocatesForTheStoredVectors() {
+        // Given: enough vectors to fork several leaf tasks
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        for (int i = 0; i < ExactVectorStorage.SLICE_SIZE * 2 + 1; i++) {
+            storage.store(new Vector("v" + i, new double[]{1.0, i}, null, 2));
+        }
+
+        // When: a k-sized heap per leaf would need gigabytes
+        List<ScoredVector> hits = storage.findNearest(new double[]{1.0, 0.0}, Integer.MAX_VALUE);
+
+        // Then
+        assertEquals(storage.size(), hits.size());
+        assertEquals("v0", hits.get(0).getVector().getId());
+    }
+
+    @Test
+    void testSimilarityFunctionsMatchIndexScoring() {
+        double[] query = new double[]{3.0, 4.0};
+        for (IndexSettings.Similarity similarity : IndexSettings.Similarity.values()) {
+            ExactVectorStorage storage = new ExactVectorStorage(similarity);
+            storage.store(new Vector("near", new double[]{6.0, 8.0}, null, 2));
+            storage.store(new Vector("far", new double[]{-1.0, 0.0}, null, 2));
+
+            List<ScoredVector> hits = storage.findNearest(query, 2);
+
+            assertEquals("near", hits.get(0).getVector().getId(), similarity.name());
+            double expected = similarity == IndexSettings.Similarity.EUCLIDEAN ? 1.0 / 26.0 : 1.0;
+            assertEquals(expected, hits.get(0).getScore(), 1e-5, similarity.name());
+        }
+    }
+
+    @Test
+    void testSimilarityByIdMatchesSearchScores() {
+        double[] query = new double[]{3.0, 4.0};
+        for (IndexSettings.Similarity similarity : IndexSettings.Similarity.values()) {
+            ExactVectorStorage storage = new ExactVectorStorage(similarity);
+            storage.store(new Vector("near", new double[]{6.0, 8.0}, null, 2));
+            storage.store(new Vector("far", new double[]{-1.0, 2.0}, null, 2));
+            float[] prepared = storage.prepare(query);
+
+            for (ScoredVector hit : storage.findNearest(query, 2)) {
+                assertEquals(hit.getScore(), storage.similarity(prepared, hit.getVector().getId()), 1e-5,
+                    similarity.name());
+            }
+            assertTrue(Double.isNaN(storage.similarity(prepared, "missing")), similarity.name());
+        }
+    }
+
+    @Test
+    void testInsertsPastTheArenaLimitAreRejected() {
+        // Given an arena limited to three 3-dimensional vectors
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE, 10);
+        for (int i = 0; i < 3; i++) {
+            storage.store(new Vector("v" + i, new double[]{i, 1.0, 0.0}, null, 3));
+        }
+
+        // When
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> storage.store(new Vector("v3", new double[]{3.0, 1.0, 0.0}, null, 3)));
+
+        // Then
+        assertTrue(error.getMessage().contains("at most 3 vectors"));
+        assertEquals(3, storage.size());
+        assertTrue(storage.retrieve("v3").isEmpty());
+        storage.store(new Vector("v1", new double[]{0.0, 0.0, 1.0}, null, 3));
+        assertEquals("v1", storage.findNearest(new double[]{0.0, 0.0, 1.0}, 1).get(0).getVector().getId());
+        assertEquals(3, storage.findNearest(new double[]{1.0, 1.0, 1.0}, 5).size());
+    }
+
+    @Test
+    void testBatchWithAWrongDimensionStoresNothing() {
+        // Given
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        storage.store(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> storage.storeAll(List.of(
+            new Vector("b", new double[]{0.0, 1.0}, null, 2),
+            new Vector("a", new double[]{0.5, 0.5}, null, 2),
+            new Vector("c", new double[]{1.0, 1.0, 1.0}, null, 3))));
+
+        // Then
+        assertEquals(1, storage.size());
+        assertTrue(storage.retrieve("b").isEmpty());
+        assertArrayEquals(new double[]{1.0, 0.0}, storage.retrieve("a").orElseThrow().getEmbedding());
+    }
+
+    @Test
+    void testBatchPastTheArenaLimitStoresNothing() {
+        // Given an arena limited to three 2-dimensional vectors
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE, 6);
+        storage.store(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> storage.storeAll(List.of(
+            new Vector("b", new double[]{0.0, 1.0}, null, 2),
+            new Vector("c", new double[]{1.0, 1.0}, null, 2),
+            new Vector("d", new double[]{1.0, 2.0}, null, 2))));
+
+        // Then
+        assertEquals(1, storage.size());
+        assertTrue(storage.retrieve("b").isEmpty());
+    }
+
+    @Test
+    void testFilterIsRejected() {
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        storage.store(new Vector("a", new double[]{1.0, 0.0}, null, 2));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> storage.findNearest(new double[]{1.0, 0.0}, new SearchOptions(1, null, "year > 2020")));
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+
+    @Test
+    void testPagesAreStableWhenDeletesMoveVectors() {
+        // Given
+        ExactVectorStorage storage = new ExactVectorStorage(IndexSettings.Similarity.COSINE);
+        for (int i = 0; i < 10; i++) {
+            storage.store(new Vector("v" + i, new double[]{i, 1.0}, null, 2));
+        }
+
+        // When: removing v1 moves the last vector, v9, into its ordinal
+        VectorPage first = storage.page(null, 3);
+        storage.remove("v1");
+        List<String> rest = new ArrayList<>();
+        for (String cursor = first.getNextCursor(); cursor != null; ) {
+            VectorPage page = storage.page(cursor, 3);
+            page.getVectors().forEach(vector -> rest.add(vector.getId()));
+            cursor = page.getNextCursor();
+        }
+
+        // Then
+        assertEquals(List.of("v0", "v1", "v2"), first.getVectors().stream().map(Vector::getId).toList());
+        assertEquals(List.of("v3", "v4", "v5", "v6", "v7", "v8", "v9"), rest);
+    }
+}
@@ -0,0 +1,81 @@
+package com.vectorForJ.storage;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.Vector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class InMemoryVectorStorageTest {
+
+    @Test
+    void testStoresAndRemovesThroughTheIndex() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+
+        // When
+        storage.storeAll(List.of(
+            new Vector("a", new double[]{1.0, 0.0}, "first", 2),
+            new Vector("b", new double[]{0.0, 1.0}, "second", 2)));
+        storage.store(new Vector("a", new double[]{0.6, 0.8}, "replaced", 2));
+        storage.remove("b");
+        storage.remove("missing");
+
+        // Then
+        assertEquals(1, storage.size());
+        assertEquals("replaced", storage.retrieve("a").orElseThrow().getMetadata());
+        assertEquals(List.of("a"), storage.findNearest(new double[]{0.0, 1.0}, 2).stream()
+            .map(hit -> hit.getVector().getId()).toList());
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testDotProductEmbeddingsReadBackTheSameAfterARestart() {
+        // Given
+        IndexSettings settings = new IndexSettings();
+        settings.setSimilarity(IndexSettings.Similarity.DOT_PRODUCT);
+        VectorIndexManager indexManager = new VectorIndexManager(settings);
+        indexManager.init();
+        InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+        storage.store(new Vector("a", new double[]{3.0, 4.0}, null, 2));
+
+        // When
+        InMemoryVectorStorage restarted = new InMemoryVectorStorage(indexManager);
+        restarted.load();
+
+        // Then
+        assertArrayEquals(storage.retrieve("a").orElseThrow().getEmbedding(),
+            restarted.retrieve("a").orElseThrow().getEmbedding(), 1e-6);
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testFailedIndexWriteLeavesTheMapAndIndexAsTheyWere() {
+        // Given
+        VectorIndexManager indexManager = mock(VectorIndexManager.class);
+        InMemoryVectorStorage storage = new InMemoryVectorStorage(indexManager);
+        Vector existing = new Vector("a", new double[]{1.0, 0.0}, "first", 2);
+        storage.store(existing);
+        when(indexManager.addVectors(anyList())).thenThrow(new RuntimeException("disk full"));
+
+        // When
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> storage.storeAll(List.of(
+            new Vector("a", new double[]{0.0, 1.0}, "replaced", 2),
+            new Vector("b", new double[]{1.0, 1.0}, "new", 2))));
+
+        // Then
+        assertEquals("disk full", failure.getMessage());
+        assertEquals(1, storage.size());
+        assertSame(existing, storage.retrieve("a").orElseThrow());
+        assertTrue(storage.retrieve("b").isEmpty());
+        verify(indexManager, times(2)).addVector(existing);
+        verify(indexManager).removeVector("b");
+    }
+}
@@ -0,0 +1,196 @@
+package com.vectorForJ.storage;
+
+import com.vectorForJ.config.IndexSettings;
+import com.vectorForJ.indexing.SearchHit;
+import com.vectorForJ.indexing.VectorIndexManager;
+import com.vectorForJ.model.ScoredVector;
+import com.vectorForJ.model.SearchOptions;
+import com.vectorForJ.model.Vector;
+import com.vectorForJ.model.VectorPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OffHeapVectorStorageTest {
+
+    @Test
+    void testIdOrdinalMapMatchesHashMap() {
+        // Given
+        IdOrdinalMap map = new IdOrdinalMap();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            String key = "id-" + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? IdOrdinalMap.MISSING : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? IdOrdinalMap.MISSING : previous, map.put(key, i));
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(expected.getOrDefault("id-" + i, IdOrdinalMap.MISSING), map.get("id-" + i));
+        }
+    }
+
+    @Test
+    void testArenaReusesReleasedOrdinalsAcrossSlabs() {
+        // Given a slab that holds two 3-dimensional vectors
+        OffHeapVectorArena arena = new OffHeapVectorArena(3, 24);
+        int first = arena.allocate();
+        int second = arena.allocate();
+        int third = arena.allocate();
+        arena.write(third, new double[]{7.0, 8.0, 9.0});
+
+        // When
+        arena.release(second);
+        int reused = arena.allocate();
+
+        // Then
+        assertEquals(List.of(0, 1, 2), List.of(first, second, third));
+        assertEquals(second, reused);
+        assertEquals(3, arena.ordinalLimit());
+        assertEquals(2L * 24, arena.offHeapBytes());
+        assertArrayEquals(new double[]{7.0, 8.0, 9.0}, arena.read(third));
+        assertThrows(IllegalArgumentException.class, () -> arena.write(first, new double[]{1.0}));
+    }
+
+    @Test
+    void testStoresViewsAndRehydratesFromIndex() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        OffHeapVectorStorage storage = new OffHeapVectorStorage(indexManager);
+        storage.storeAll(List.of(
+            new Vector("a", new double[]{1.0, 0.0}, "first", 2, Map.of("year", 2020)),
+            new Vector("b", new double[]{0.0, 1.0}, "second", 2)));
+
+        // When
+        storage.remove("a");
+        storage.store(new Vector("c", new double[]{0.5, 0.5}, "third", 2));
+        OffHeapVectorStorage reloaded = new OffHeapVectorStorage(indexManager);
+        reloaded.load();
+
+        // Then
+        assertEquals(2, storage.size());
+        assertTrue(storage.retrieve("a").isEmpty());
+        Vector c = storage.retrieve("c").orElseThrow();
+        assertEquals("third", c.getMetadata());
+        assertArrayEquals(new double[]{0.5, 0.5}, c.getEmbedding(), 1e-7);
+        assertEquals(2, storage.retrieveAll().size());
+        List<ScoredVector> hits = storage.findNearest(new double[]{0.0, 1.0}, 1);
+        assertEquals("b", hits.get(0).getVector().getId());
+        assertEquals(2, reloaded.size());
+        assertEquals("third", reloaded.retrieve("c").orElseThrow().getMetadata());
+        assertThrows(IllegalArgumentException.class, () -> storage.store(new Vector("d", new double[]{1.0}, null, 1)));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testSimilarityByIdMatchesSearchScores() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        OffHeapVectorStorage storage = new OffHeapVectorStorage(indexManager);
+        storage.storeAll(List.of(
+            new Vector("near", new double[]{6.0, 8.0}, null, 2),
+            new Vector("far", new double[]{-1.0, 2.0}, null, 2)));
+        double[] query = new double[]{3.0, 4.0};
+
+        // When
+        float[] prepared = storage.prepare(query);
+        List<ScoredVector> hits = storage.findNearest(query, 2);
+
+        // Then
+        for (ScoredVector hit : hits) {
+            assertEquals(hit.getScore(), storage.similarity(prepared, hit.getVector().getId()), 1e-5);
+        }
+        assertTrue(Double.isNaN(storage.similarity(prepared, "missing")));
+        indexManager.cleanup();
+    }
+
+    @Test
+    void testNearestScoreSkipsHitsRemovedSinceTheSearch() {
+        // Given: an index that still returns a vector the arena no longer holds
+        VectorIndexManager indexManager = mock(VectorIndexManager.class);
+        OffHeapVectorStorage storage = new OffHeapVectorStorage(indexManager);
+        storage.store(new Vector("kept", new double[]{1.0, 0.0}, null, 2));
+        SearchOptions options = new SearchOptions(1, 100);
+        double[] query = new double[]{1.0, 0.0};
+        when(indexManager.findNearestNeighbors(query, options))
+            .thenReturn(List.of(new SearchHit("gone", 0.99), new SearchHit("kept", 0.9)))
+            .thenReturn(List.of());
+
+        // When/Then
+        assertEquals(0.9, storage.nearestScore(query, options), 1e-9);
+        assertTrue(Double.isNaN(storage.nearestScore(query, options)));
+    }
+
+    @Test
+    void testFailedIndexWriteLeavesTheArenaAndIndexAsTheyWere() {
+        // Given
+        VectorIndexManager indexManager = mock(VectorIndexManager.class);
+        OffHeapVectorStorage storage = new OffHeapVectorStorage(indexManager);
+        Vector existing = new Vector("a", new double[]{1.0, 0.0}, "first", 2);
+        storage.store(existing);
+        when(indexManager.addVectors(anyList())).thenThrow(new RuntimeException("disk full"));
+
+        // When
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> storage.storeAll(List.of(
+            new Vector("a", new double[]{0.0, 1.0}, "replaced", 2),
+            new Vector("b", new double[]{1.0, 1.0}, "new", 2))));
+
+        // Then
+        assertEquals("disk full", failure.getMessage());
+        assertEquals(1, storage.size());
+        assertArrayEquals(existing.getEmbedding(), storage.retrieve("a").orElseThrow().getEmbedding());
+        assertTrue(storage.retrieve("b").isEmpty());
+        verify(indexManager, times(2)).addVector(argThat(vector -> vector.getId().equals("a")));
+        verify(indexManager).removeVector("b");
+    }
+
+    @Test
+    void testPagesSkipReleasedOrdinalsAndSurviveDeletes() {
+        // Given
+        VectorIndexManager indexManager = new VectorIndexManager(new IndexSettings());
+        indexManager.init();
+        OffHeapVectorStorage storage = new OffHeapVectorStorage(indexManager);
+        List<Vector> vectors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vectors.add(new Vector("v" + i, new double[]{i, 1.0}, null, 2));
+        }
+        storage.storeAll(vectors);
+        storage.remove("v2");
+
+        // When
+        VectorPage first = storage.page(null, 4);
+        storage.remove("v0");
+        storage.remove("v8");
+        VectorPage second = storage.page(first.getNextCursor(), 4);
+
+        // Then
+        assertEquals(List.of("v0", "v1", "v3", "v4"), ids(first));
+        assertEquals(List.of("v5", "v6", "v7", "v9"), ids(second));
+        assertNull(second.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> storage.page("not-an-ordinal", 4));
+        indexManager.cleanup();
+    }
+
+    private static List<String> ids(VectorPage page) {
+        return page.getVectors().stream().map(Vector::getId).toList();
+    }
+}